@@ -0,0 +1,56 @@
+package com.corebank.bench;
+
+import com.corebank.dao.impl.UserDAOImpl;
+import com.corebank.model.User;
+import com.corebank.security.CredentialCache;
+import com.corebank.security.PasswordHasher;
+import com.corebank.service.impl.UserServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UserServiceImpl.authenticate with a warm credential cache (username lookup only) versus the
+ * BCrypt verification it skips, at the default and a raised work factor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.AverageTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AuthenticationBenchmark {
+
+    private static final String USERNAME = "bench.teller";
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"10", "12"})
+    public int cost;
+
+    private PasswordHasher passwordHasher;
+    private UserServiceImpl userService;
+    private String storedHash;
+
+    @Setup(Level.Trial)
+    public void seed() throws Exception {
+        BenchmarkDatabase.start();
+        passwordHasher = new PasswordHasher(cost, Runtime.getRuntime().availableProcessors(), 1024);
+        userService = new UserServiceImpl(new UserDAOImpl(), passwordHasher,
+                new CredentialCache(1000, 5, TimeUnit.MINUTES));
+        storedHash = userService.createUser(new User(0, USERNAME, PASSWORD, User.Role.TELLER, null)).getPassword();
+    }
+
+    @TearDown(Level.Trial)
+    public void shutDown() {
+        passwordHasher.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public User authenticateCached() throws Exception {
+        return userService.authenticate(USERNAME, PASSWORD);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean bcryptVerify() {
+        return passwordHasher.verify(PASSWORD, storedHash);
+    }
+}
@@ -0,0 +1,77 @@
+package com.corebank.bench;
+
+import com.corebank.dao.impl.AccountDAOImpl;
+import com.corebank.dao.impl.TransactionDAOImpl;
+import com.corebank.db.DBConnectionManager;
+import com.corebank.engine.BalanceEngine;
+import com.corebank.model.Account;
+import com.corebank.model.Transaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Eight threads posting deposits: one JDBC transaction per deposit (transaction row plus balance
+ * update) versus the BalanceEngine, where a deposit is acknowledged once its group is in the
+ * memory-mapped journal and forced to disk, and the database writes happen behind it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+public class BalanceEngineBenchmark {
+
+    private final AccountDAOImpl accountDAO = new AccountDAOImpl();
+    private final TransactionDAOImpl transactionDAO = new TransactionDAOImpl();
+    private Account account;
+    private Path journalDirectory;
+    private BalanceEngine engine;
+
+    @Setup(Level.Trial)
+    public void seed() throws Exception {
+        BenchmarkDatabase.start();
+        account = BenchmarkDatabase.account(BenchmarkDatabase.customer(1), new BigDecimal("0.00"));
+        journalDirectory = Files.createTempDirectory("balance-engine-bench");
+        engine = new BalanceEngine("bench", journalDirectory);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws Exception {
+        engine.close();
+        try (DirectoryStream<Path> segments = Files.newDirectoryStream(journalDirectory)) {
+            for (Path segment : segments) {
+                Files.delete(segment);
+            }
+        }
+        Files.delete(journalDirectory);
+    }
+
+    @Benchmark
+    public void jdbc() throws Exception {
+        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                transactionDAO.createTransaction(new Transaction(account, Transaction.Type.DEPOSIT, BigDecimal.ONE,
+                        LocalDateTime.now()), connection);
+                accountDAO.adjustBalance(account.getAccountId(), BigDecimal.ONE, connection);
+                connection.commit();
+            } catch (Exception e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    @Benchmark
+    public long engine() {
+        return engine.deposit(account.getAccountId(), 100).join();
+    }
+}
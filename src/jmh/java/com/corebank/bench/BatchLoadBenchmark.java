@@ -0,0 +1,77 @@
+package com.corebank.bench;
+
+import com.corebank.dao.async.BatchLoader;
+import com.corebank.dao.impl.AccountDAOImpl;
+import com.corebank.model.Account;
+import com.corebank.model.Customer;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading `count` accounts: one getAccountById call (connection, query, customer lookup) per id,
+ * versus one getAccountsByIds IN-list query, versus the same ids coalesced by a unit-of-work BatchLoader.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BatchLoadBenchmark {
+
+    @Param({"10", "100"})
+    public int count;
+
+    private final AccountDAOImpl accountDAO = new AccountDAOImpl();
+    private final List<Long> accountIds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void seed() throws Exception {
+        BenchmarkDatabase.start();
+        // Ten accounts per customer, so the customer lookups repeat as they do in practice.
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 0; i < (count + 9) / 10; i++) {
+            customers.add(BenchmarkDatabase.customer(i));
+        }
+        for (int i = 0; i < count; i++) {
+            accountIds.add(BenchmarkDatabase.account(customers.get(i / 10), new BigDecimal("100.00")).getAccountId());
+        }
+    }
+
+    @Benchmark
+    public int singleLookups() throws Exception {
+        int found = 0;
+        for (long accountId : accountIds) {
+            if (accountDAO.getAccountById(accountId).isPresent()) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int batchLookup() throws Exception {
+        return accountDAO.getAccountsByIds(accountIds).size();
+    }
+
+    @Benchmark
+    public Map<Long, Account> coalescedLookups() {
+        try (BatchLoader<Account> loader = BatchLoader.forUnitOfWork(accountDAO::getAccountsByIds)) {
+            List<CompletableFuture<Optional<Account>>> futures = new ArrayList<>(count);
+            for (long accountId : accountIds) {
+                futures.add(loader.load(accountId));
+            }
+            loader.dispatch();
+            Map<Long, Account> accounts = new HashMap<>();
+            for (CompletableFuture<Optional<Account>> future : futures) {
+                future.join().ifPresent(account -> accounts.put(account.getAccountId(), account));
+            }
+            return accounts;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.corebank.bench;
+
+import com.corebank.dao.impl.AccountDAOImpl;
+import com.corebank.dao.impl.CustomerDAOImpl;
+import com.corebank.db.DBConnectionManager;
+import com.corebank.model.Account;
+import com.corebank.model.Customer;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Points DBConnectionManager at an in-memory H2 database in MySQL mode (through the db.* system
+ * property overrides) and provides seed helpers. Every JMH fork gets a fresh database, and the
+ * schema comes from the regular db/migration scripts.
+ */
+final class BenchmarkDatabase {
+
+    private static boolean started;
+
+    private BenchmarkDatabase() {
+    }
+
+    static synchronized DBConnectionManager start() {
+        if (!started) {
+            System.setProperty("db.url", "jdbc:h2:mem:corebank_bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+            System.setProperty("db.username", "sa");
+            System.setProperty("db.password", "");
+            System.setProperty("db.minimumIdle", "10");
+            started = true;
+        }
+        return DBConnectionManager.getInstance();
+    }
+
+    static void truncate(String... tables) throws SQLException {
+        try (Connection connection = DBConnectionManager.getInstance().getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+            for (String table : tables) {
+                statement.execute("TRUNCATE TABLE " + table);
+            }
+            statement.execute("SET REFERENTIAL_INTEGRITY TRUE");
+        }
+    }
+
+    static Customer customer(int n) {
+        Customer customer = new Customer("First" + n, "Last" + n, LocalDate.of(1980, 1, 1).plusDays(n),
+                "customer" + n + "@bench.local", "+100000" + n, n + " Bench Street", LocalDateTime.now());
+        return new CustomerDAOImpl().registerCustomer(customer);
+    }
+
+    static Account account(Customer customer, BigDecimal balance) throws SQLException {
+        Account account = new Account(customer, Account.AccountType.CHECKING, balance, Account.Status.ACTIVE, LocalDateTime.now());
+        new AccountDAOImpl().addAccount(account);
+        return account;
+    }
+}
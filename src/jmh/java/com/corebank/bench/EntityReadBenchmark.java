@@ -0,0 +1,80 @@
+package com.corebank.bench;
+
+import com.corebank.dao.impl.AccountDAOImpl;
+import com.corebank.dao.impl.AlertDAOImpl;
+import com.corebank.dao.impl.LoanDAOImpl;
+import com.corebank.dao.impl.TransactionDAOImpl;
+import com.corebank.dao.impl.TransferDAOImpl;
+import com.corebank.model.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-row read + mapRowTo* cost per entity, including the parent lookups each mapper performs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EntityReadBenchmark {
+
+    private final AccountDAOImpl accountDAO = new AccountDAOImpl();
+    private final LoanDAOImpl loanDAO = new LoanDAOImpl();
+    private final AlertDAOImpl alertDAO = new AlertDAOImpl();
+    private final TransferDAOImpl transferDAO = new TransferDAOImpl();
+    private final TransactionDAOImpl transactionDAO = new TransactionDAOImpl();
+
+    private long accountId;
+    private long loanId;
+    private long alertId;
+    private long transferId;
+    private long transactionId;
+
+    @Setup(Level.Trial)
+    public void seed() throws Exception {
+        BenchmarkDatabase.start();
+        Customer customer = BenchmarkDatabase.customer(1);
+        Account from = BenchmarkDatabase.account(customer, new BigDecimal("1000.00"));
+        Account to = BenchmarkDatabase.account(BenchmarkDatabase.customer(2), new BigDecimal("1000.00"));
+        accountId = from.getAccountId();
+
+        Loan loan = new Loan(customer, new BigDecimal("5000.00"), new BigDecimal("4.5000"),
+                LocalDate.now(), LocalDate.now().plusYears(5), Loan.Status.PENDING);
+        loanDAO.addLoan(loan);
+        loanId = loan.getLoanId();
+
+        alertId = alertDAO.createAlert(new Alert(from, null, "LOW_BALANCE", "Balance below threshold",
+                Alert.Status.PENDING, LocalDateTime.now()));
+        transferId = transferDAO.createTransfer(new Transfer(from, to, new BigDecimal("10.00"), LocalDateTime.now()));
+        transactionId = transactionDAO.createTransaction(new Transaction(from, Transaction.Type.DEPOSIT,
+                new BigDecimal("10.00"), LocalDateTime.now()));
+    }
+
+    @Benchmark
+    public Object account() throws Exception {
+        return accountDAO.getAccountById(accountId);
+    }
+
+    @Benchmark
+    public Object loan() throws Exception {
+        return loanDAO.getLoanById(loanId);
+    }
+
+    @Benchmark
+    public Object alert() throws Exception {
+        return alertDAO.getAlertById(alertId);
+    }
+
+    @Benchmark
+    public Object transfer() throws Exception {
+        return transferDAO.getTransferById(transferId);
+    }
+
+    @Benchmark
+    public Object transaction() throws Exception {
+        return transactionDAO.getTransactionById(transactionId);
+    }
+}
@@ -0,0 +1,51 @@
+package com.corebank.bench;
+
+import com.corebank.dao.impl.LoanDAOImpl;
+import com.corebank.model.Customer;
+import com.corebank.model.Loan;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * getAllLoans (materialised list) versus streamAllLoans (one row at a time).
+ * Run with the gc profiler (enabled in build.gradle) to compare allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FullTableReadBenchmark {
+
+    @Param({"10000"})
+    public int loans;
+
+    private final LoanDAOImpl loanDAO = new LoanDAOImpl();
+
+    @Setup(Level.Trial)
+    public void seed() throws Exception {
+        BenchmarkDatabase.start();
+        Customer customer = BenchmarkDatabase.customer(1);
+        for (int i = 0; i < loans; i++) {
+            loanDAO.addLoan(new Loan(customer, new BigDecimal("1000.00"), new BigDecimal("3.2500"),
+                    LocalDate.now(), LocalDate.now().plusYears(1), Loan.Status.PENDING));
+        }
+    }
+
+    @Benchmark
+    public void list(Blackhole blackhole) throws Exception {
+        for (Loan loan : loanDAO.getAllLoans()) {
+            blackhole.consume(loan);
+        }
+    }
+
+    @Benchmark
+    public void stream(Blackhole blackhole) {
+        try (Stream<Loan> stream = loanDAO.streamAllLoans()) {
+            stream.forEach(blackhole::consume);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.corebank.bench;
+
+import com.corebank.dao.impl.AccountDAOImpl;
+import com.corebank.model.Account;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Eight threads depositing into the same account: every deposit updating the accounts row
+ * (stripes = 0) versus deposits spread over balance stripes. The read benchmark shows what
+ * getAccountById pays to fold the stripes back in. H2 has no shared row locks, so on it a striped
+ * deposit still takes the accounts row exclusively (see BalanceStripes.deposit): the gap between
+ * the two settings here understates what MySQL gets.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class HotAccountBenchmark {
+
+    @Param({"0", "8"})
+    public int stripes;
+
+    private final AccountDAOImpl accountDAO = new AccountDAOImpl();
+    private long accountId;
+
+    @Setup(Level.Trial)
+    public void seed() throws Exception {
+        BenchmarkDatabase.start();
+        Account account = BenchmarkDatabase.account(BenchmarkDatabase.customer(1), new BigDecimal("0.00"));
+        accountId = account.getAccountId();
+        accountDAO.setBalanceStripes(accountId, stripes);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void deposit() {
+        accountDAO.deposit(accountId, BigDecimal.ONE);
+    }
+
+    @Benchmark
+    public BigDecimal read() {
+        return accountDAO.getAccountById(accountId).orElseThrow().getBalance();
+    }
+}
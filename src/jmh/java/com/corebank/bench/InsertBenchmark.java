@@ -0,0 +1,79 @@
+package com.corebank.bench;
+
+import com.corebank.dao.impl.TransactionDAOImpl;
+import com.corebank.db.DBConnectionManager;
+import com.corebank.model.Account;
+import com.corebank.model.Transaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Posting throughput: one executeUpdate per row versus createTransactions batches.
+ * Each invocation posts `rows` transactions in one transaction and rolls back, so table size stays flat.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class InsertBenchmark {
+
+    @Param({"1000"})
+    public int rows;
+
+    @Param({"50", "500"})
+    public int batchSize;
+
+    private final TransactionDAOImpl transactionDAO = new TransactionDAOImpl();
+    private Account account;
+
+    @Setup(Level.Trial)
+    public void seed() throws Exception {
+        BenchmarkDatabase.start();
+        account = BenchmarkDatabase.account(BenchmarkDatabase.customer(1), new BigDecimal("0.00"));
+    }
+
+    private List<Transaction> postings() {
+        List<Transaction> postings = new ArrayList<>(rows);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < rows; i++) {
+            postings.add(new Transaction(account, Transaction.Type.DEPOSIT, new BigDecimal("1.00"), now));
+        }
+        return postings;
+    }
+
+    @Benchmark
+    public int singleInserts() throws Exception {
+        List<Transaction> postings = postings();
+        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                for (Transaction posting : postings) {
+                    transactionDAO.createTransaction(posting, connection);
+                }
+                return postings.size();
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    @Benchmark
+    public int batchInserts() throws Exception {
+        List<Transaction> postings = postings();
+        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                return transactionDAO.createTransactions(postings, batchSize, connection);
+            } finally {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+}
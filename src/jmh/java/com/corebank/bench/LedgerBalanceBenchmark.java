@@ -0,0 +1,51 @@
+package com.corebank.bench;
+
+import com.corebank.dao.impl.AccountDAOImpl;
+import com.corebank.dao.impl.LedgerDAOImpl;
+import com.corebank.dao.impl.TransactionDAOImpl;
+import com.corebank.model.Account;
+import com.corebank.service.impl.LedgerServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ledger balance read for an account with `entries` postings: summing every entry (no snapshot yet)
+ * versus the latest snapshot plus nothing after it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LedgerBalanceBenchmark {
+
+    @Param({"1000"})
+    public int entries;
+
+    @Param({"false", "true"})
+    public boolean snapshotted;
+
+    private final LedgerDAOImpl ledgerDAO = new LedgerDAOImpl();
+    private long accountId;
+
+    @Setup(Level.Trial)
+    public void seed() throws Exception {
+        BenchmarkDatabase.start();
+        LedgerServiceImpl ledgerService = new LedgerServiceImpl(new AccountDAOImpl(), new TransactionDAOImpl(), ledgerDAO);
+        Account account = ledgerService.openAccount(new Account(BenchmarkDatabase.customer(1),
+                Account.AccountType.CHECKING, BigDecimal.ZERO, Account.Status.ACTIVE, LocalDateTime.now()));
+        accountId = account.getAccountId();
+        for (int i = 0; i < entries; i++) {
+            ledgerService.deposit(accountId, BigDecimal.ONE);
+        }
+        if (snapshotted) {
+            ledgerDAO.takeSnapshot();
+        }
+    }
+
+    @Benchmark
+    public BigDecimal balance() {
+        return ledgerDAO.getBalance(accountId);
+    }
+}
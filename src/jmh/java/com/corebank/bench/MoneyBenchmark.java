@@ -0,0 +1,112 @@
+package com.corebank.bench;
+
+import com.corebank.model.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The balance math over `postings` amounts, as BigDecimal versus Money: posting them to a running
+ * balance, accruing a day's interest on each at 5.25% a year, and the credit/debit totals of a
+ * statement. Run with -prof gc to compare the allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MoneyBenchmark {
+
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final BigDecimal RATE = new BigDecimal("0.0525");
+    private static final BigDecimal DAYS = BigDecimal.valueOf(365);
+
+    @Param({"1000"})
+    public int postings;
+
+    private BigDecimal[] decimals;
+    private Money[] amounts;
+    private long rateNumerator;
+    private long rateDenominator;
+
+    @Setup(Level.Trial)
+    public void seed() {
+        SplittableRandom random = new SplittableRandom(42);
+        decimals = new BigDecimal[postings];
+        amounts = new Money[postings];
+        for (int i = 0; i < postings; i++) {
+            // Cents between -5,000.00 and 5,000.00, a third of them debits.
+            long cents = random.nextLong(1, 500_000) * (i % 3 == 0 ? -1 : 1);
+            decimals[i] = BigDecimal.valueOf(cents, 2);
+            amounts[i] = Money.ofMinor(cents, USD);
+        }
+        rateNumerator = Money.rateNumerator(RATE);
+        rateDenominator = Math.multiplyExact(Money.rateDenominator(RATE), 365);
+    }
+
+    @Benchmark
+    public BigDecimal postBigDecimal() {
+        BigDecimal balance = BigDecimal.ZERO.setScale(2);
+        for (BigDecimal amount : decimals) {
+            balance = balance.add(amount);
+        }
+        return balance;
+    }
+
+    @Benchmark
+    public Money postMoney() {
+        Money balance = Money.zero(USD);
+        for (Money amount : amounts) {
+            balance = balance.plus(amount);
+        }
+        return balance;
+    }
+
+    @Benchmark
+    public BigDecimal accrueBigDecimal() {
+        BigDecimal interest = BigDecimal.ZERO.setScale(2);
+        for (BigDecimal balance : decimals) {
+            interest = interest.add(balance.multiply(RATE).divide(DAYS, 2, RoundingMode.HALF_EVEN));
+        }
+        return interest;
+    }
+
+    @Benchmark
+    public long accrueMoney() {
+        long interest = 0;
+        for (Money balance : amounts) {
+            interest = Math.addExact(interest, Money.multiply(balance.minorUnits(), rateNumerator, rateDenominator));
+        }
+        return interest;
+    }
+
+    @Benchmark
+    public BigDecimal statementTotalsBigDecimal() {
+        BigDecimal credits = BigDecimal.ZERO;
+        BigDecimal debits = BigDecimal.ZERO;
+        for (BigDecimal amount : decimals) {
+            if (amount.signum() >= 0) {
+                credits = credits.add(amount);
+            } else {
+                debits = debits.add(amount);
+            }
+        }
+        return credits.add(debits);
+    }
+
+    @Benchmark
+    public long statementTotalsMoney() {
+        long credits = 0;
+        long debits = 0;
+        for (Money amount : amounts) {
+            if (amount.signum() >= 0) {
+                credits = Math.addExact(credits, amount.minorUnits());
+            } else {
+                debits = Math.addExact(debits, amount.minorUnits());
+            }
+        }
+        return credits + debits;
+    }
+}
@@ -0,0 +1,69 @@
+package com.corebank.bench;
+
+import com.corebank.dao.impl.AlertDAOImpl;
+import com.corebank.dao.impl.TransferDAOImpl;
+import com.corebank.model.Account;
+import com.corebank.model.Alert;
+import com.corebank.model.Transfer;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing `rows` alerts and transfers as full entities (parents resolved per row) versus as flat
+ * summary records. Run with -prof gc to compare allocation per listing as well as time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProjectionBenchmark {
+
+    @Param({"500"})
+    public int rows;
+
+    private final AlertDAOImpl alertDAO = new AlertDAOImpl();
+    private final TransferDAOImpl transferDAO = new TransferDAOImpl();
+    private long accountId;
+
+    @Setup(Level.Trial)
+    public void seed() throws Exception {
+        BenchmarkDatabase.start();
+        Account from = BenchmarkDatabase.account(BenchmarkDatabase.customer(1), new BigDecimal("1000.00"));
+        Account to = BenchmarkDatabase.account(BenchmarkDatabase.customer(2), new BigDecimal("1000.00"));
+        accountId = from.getAccountId();
+
+        List<Alert> alerts = new ArrayList<>(rows);
+        List<Transfer> transfers = new ArrayList<>(rows);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < rows; i++) {
+            alerts.add(new Alert(from, null, "LOW_BALANCE", "Balance below threshold", Alert.Status.PENDING, now));
+            transfers.add(new Transfer(from, to, BigDecimal.ONE, now.minusSeconds(i)));
+        }
+        alertDAO.createAlerts(alerts);
+        transferDAO.createTransfers(transfers);
+    }
+
+    @Benchmark
+    public Object alertEntities() throws Exception {
+        return alertDAO.getAlertsByAccountId(accountId);
+    }
+
+    @Benchmark
+    public Object alertSummaries() throws Exception {
+        return alertDAO.getAlertSummariesByAccountId(accountId);
+    }
+
+    @Benchmark
+    public Object transferEntities() throws Exception {
+        return transferDAO.getTransfersByAccountId(accountId);
+    }
+
+    @Benchmark
+    public Object transferSummaries() throws Exception {
+        return transferDAO.getTransferSummariesByAccountId(accountId);
+    }
+}
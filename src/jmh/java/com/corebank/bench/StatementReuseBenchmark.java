@@ -0,0 +1,70 @@
+package com.corebank.bench;
+
+import com.corebank.dao.StatementCache;
+import com.corebank.dao.impl.AccountDAOImpl;
+import com.corebank.dao.impl.TransactionDAOImpl;
+import com.corebank.db.DBConnectionManager;
+import com.corebank.model.Account;
+import com.corebank.model.Transaction;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prepare cost in a tight loop of Connection-accepting DAO calls: a fresh prepareStatement per
+ * call versus one StatementCache for the loop. Each invocation posts and reads back `calls`
+ * rows on one connection, then rolls back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StatementReuseBenchmark {
+
+    @Param({"100"})
+    public int calls;
+
+    private final AccountDAOImpl accountDAO = new AccountDAOImpl();
+    private final TransactionDAOImpl transactionDAO = new TransactionDAOImpl();
+    private Account account;
+
+    @Setup(Level.Trial)
+    public void seed() throws Exception {
+        BenchmarkDatabase.start();
+        account = BenchmarkDatabase.account(BenchmarkDatabase.customer(1), new BigDecimal("0.00"));
+    }
+
+    @Benchmark
+    public long prepareEachCall() throws Exception {
+        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+            return postAndRead(connection);
+        }
+    }
+
+    @Benchmark
+    public long statementCache() throws Exception {
+        try (Connection connection = DBConnectionManager.getInstance().getConnection();
+             StatementCache statements = StatementCache.open(connection)) {
+            return postAndRead(connection);
+        }
+    }
+
+    private long postAndRead(Connection connection) throws Exception {
+        connection.setAutoCommit(false);
+        try {
+            long last = 0;
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < calls; i++) {
+                last = transactionDAO.createTransaction(
+                        new Transaction(account, Transaction.Type.DEPOSIT, BigDecimal.ONE, now), connection);
+                accountDAO.adjustBalance(account.getAccountId(), BigDecimal.ONE, connection);
+            }
+            return last;
+        } finally {
+            connection.rollback();
+            connection.setAutoCommit(true);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.corebank.bench;
+
+import com.corebank.dao.FetchPlan;
+import com.corebank.dao.impl.TransferDAOImpl;
+import com.corebank.db.DBConnectionManager;
+import com.corebank.db.PoolMetrics;
+import com.corebank.model.Account;
+import com.corebank.model.Transfer;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * getTransfersByAccountId with per-row parent lookups (LAZY, the old N+1 path) versus one JOIN.
+ * The pooledLookups counter reports pool acquisitions per call: every LAZY parent lookup
+ * borrows its own connection, so it approximates the extra queries issued.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TransferLoadingBenchmark {
+
+    @Param({"100", "1000"})
+    public int transfers;
+
+    @Param({"LAZY", "JOINED"})
+    public FetchPlan fetchPlan;
+
+    private final TransferDAOImpl transferDAO = new TransferDAOImpl();
+    private DBConnectionManager connectionManager;
+    private long hubAccountId;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Queries {
+        public long pooledLookups;
+    }
+
+    @Setup(Level.Trial)
+    public void seed() throws Exception {
+        connectionManager = BenchmarkDatabase.start();
+        Account hub = BenchmarkDatabase.account(BenchmarkDatabase.customer(0), new BigDecimal("1000000.00"));
+        hubAccountId = hub.getAccountId();
+
+        List<Account> counterparties = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            counterparties.add(BenchmarkDatabase.account(BenchmarkDatabase.customer(i), new BigDecimal("1000.00")));
+        }
+
+        List<Transfer> rows = new ArrayList<>(transfers);
+        LocalDateTime start = LocalDateTime.now().minusDays(transfers);
+        for (int i = 0; i < transfers; i++) {
+            Account other = counterparties.get(i % counterparties.size());
+            Account from = (i % 2 == 0) ? hub : other;
+            Account to = (i % 2 == 0) ? other : hub;
+            rows.add(new Transfer(from, to, new BigDecimal("1.00"), start.plusMinutes(i)));
+        }
+        transferDAO.createTransfers(rows);
+    }
+
+    @Benchmark
+    public List<Transfer> getTransfersByAccountId(Queries queries) throws Exception {
+        PoolMetrics metrics = connectionManager.getPoolMetrics();
+        long before = metrics.getAcquisitionCount();
+        try (Connection connection = connectionManager.getConnection()) {
+            List<Transfer> result = transferDAO.getTransfersByAccountId(hubAccountId, fetchPlan, connection);
+            queries.pooledLookups += metrics.getAcquisitionCount() - before;
+            return result;
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package com.corebank.dao;
 
 import com.corebank.model.Account;
+import com.corebank.model.AccountSummary;
 
 import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface AccountDAO {
@@ -16,14 +19,42 @@ public interface AccountDAO {
     Optional<Account> getAccountById(long accountId) throws SQLException;
     Optional<Account> getAccountById(long accountId, Connection connection) throws SQLException;
 
+    // SELECT ... FOR UPDATE; only meaningful on a connection with auto-commit off.
+    Optional<Account> getAccountByIdForUpdate(long accountId, Connection connection) throws SQLException;
+
+    // One IN-list query per chunk of ids, customers joined in; ids that do not exist are absent from the map.
+    Map<Long, Account> getAccountsByIds(Collection<Long> accountIds) throws SQLException;
+    Map<Long, Account> getAccountsByIds(Collection<Long> accountIds, Connection connection) throws SQLException;
+
 
     List<Account> getAccountsByCustomerId(long customerId) throws SQLException;
     List<Account> getAccountsByCustomerId(long customerId, Connection connection) throws SQLException;
 
+    // Flat rows for listings; the customer is not loaded.
+    List<AccountSummary> getAccountSummariesByCustomerId(long customerId) throws SQLException;
+    List<AccountSummary> getAccountSummariesByCustomerId(long customerId, Connection connection) throws SQLException;
+
 
     void updateBalance(long accountId, BigDecimal newBalance) throws SQLException;
     void updateBalance(long accountId, BigDecimal newBalance, Connection connection) throws SQLException;
 
+    void adjustBalance(long accountId, BigDecimal delta, Connection connection) throws SQLException;
+
+    void deposit(long accountId, BigDecimal amount) throws SQLException;
+    void deposit(long accountId, BigDecimal amount, Connection connection) throws SQLException;
+
+    // Returns false instead of overdrawing; the balance check and the debit are a single UPDATE.
+    boolean withdraw(long accountId, BigDecimal amount) throws SQLException;
+    boolean withdraw(long accountId, BigDecimal amount, Connection connection) throws SQLException;
+
+    // Optimistic update: succeeds only if the row is still at expectedVersion.
+    boolean compareAndSetBalance(long accountId, long expectedVersion, BigDecimal newBalance) throws SQLException;
+    boolean compareAndSetBalance(long accountId, long expectedVersion, BigDecimal newBalance, Connection connection) throws SQLException;
+
+    // Hot accounts: spreads deposits over `stripes` sub-balance rows so concurrent deposits stop queueing on
+    // the account row. Reads and the balance APIs above fold the stripes in; 0 folds them back and turns it off.
+    void setBalanceStripes(long accountId, int stripes) throws SQLException;
+
 
     void deleteAccount(long accountId) throws SQLException;
     void deleteAccount(long accountId, Connection connection) throws SQLException;
@@ -1,16 +1,24 @@
 package com.corebank.dao;
 
 import com.corebank.model.Alert;
+import com.corebank.model.AlertSummary;
 
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface AlertDAO {
     long createAlert(Alert alert) throws SQLException;
     long createAlert(Alert alert, Connection connection) throws SQLException;
 
+    // Batched inserts; generated ids are assigned back to each element. Returns the number of rows inserted.
+    int createAlerts(List<Alert> alerts) throws SQLException;
+    int createAlerts(List<Alert> alerts, Connection connection) throws SQLException;
+    int createAlerts(List<Alert> alerts, int batchSize, Connection connection) throws SQLException;
+
     Optional<Alert> getAlertById(long alertId) throws SQLException;
     Optional<Alert> getAlertById(long alertId, Connection connection) throws SQLException;
 
@@ -23,6 +31,13 @@ public interface AlertDAO {
     List<Alert> getAlertsByStatus(Alert.Status status) throws SQLException;
     List<Alert> getAlertsByStatus(Alert.Status status, Connection connection) throws SQLException;
 
+    // Flat rows for dashboards; neither the account nor the user is loaded.
+    List<AlertSummary> getAlertSummariesByAccountId(long accountId) throws SQLException;
+    List<AlertSummary> getAlertSummariesByAccountId(long accountId, Connection connection) throws SQLException;
+
+    List<AlertSummary> getAlertSummariesByStatus(Alert.Status status) throws SQLException;
+    List<AlertSummary> getAlertSummariesByStatus(Alert.Status status, Connection connection) throws SQLException;
+
     void updateAlertStatus(long alertId, Alert.Status newStatus) throws SQLException;
     void updateAlertStatus(long alertId, Alert.Status newStatus, Connection connection) throws SQLException;
 
@@ -31,4 +46,8 @@ public interface AlertDAO {
 
     List<Alert> getAllAlerts() throws SQLException;
     List<Alert> getAllAlerts(Connection connection) throws SQLException;
+
+    // Streams hold one row at a time and own a pooled connection until closed; use try-with-resources.
+    Stream<Alert> streamAllAlerts();
+    void forEachAlert(Consumer<Alert> action);
 }
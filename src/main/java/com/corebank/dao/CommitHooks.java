@@ -0,0 +1,72 @@
+package com.corebank.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Work to run once the transaction open on a connection has ended, such as dropping a cache entry
+ * that readers must not reload before the new row is committed.
+ * <p>
+ * A DAO registers with {@link #afterCompletion(Connection, Runnable)}; on an auto-commit connection
+ * the action runs at once. Whoever owns the transaction calls {@link #completed(Connection)} right
+ * after commit or rollback:
+ * <pre>
+ * try {
+ *     ...
+ *     connection.commit();
+ * } catch (SQLException e) {
+ *     connection.rollback();
+ *     throw e;
+ * } finally {
+ *     CommitHooks.completed(connection);
+ * }
+ * </pre>
+ * Bound to the thread that registered the actions, like StatementCache.
+ */
+public final class CommitHooks {
+
+    private static final ThreadLocal<Map<Connection, List<Runnable>>> PENDING =
+            ThreadLocal.withInitial(IdentityHashMap::new);
+
+    private CommitHooks() {
+    }
+
+    public static void afterCompletion(Connection connection, Runnable action) throws SQLException {
+        if (connection.getAutoCommit()) {
+            action.run();
+            return;
+        }
+        PENDING.get().computeIfAbsent(connection, c -> new ArrayList<>()).add(action);
+    }
+
+    // Runs and forgets the actions registered for the connection; every action runs even if one throws.
+    public static void completed(Connection connection) {
+        Map<Connection, List<Runnable>> pending = PENDING.get();
+        List<Runnable> actions = pending.remove(connection);
+        if (pending.isEmpty()) {
+            PENDING.remove();
+        }
+        if (actions == null) {
+            return;
+        }
+        RuntimeException failure = null;
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
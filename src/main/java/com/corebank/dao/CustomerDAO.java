@@ -3,14 +3,23 @@ package com.corebank.dao;
 import com.corebank.model.Customer;
 
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface CustomerDAO {
 
     Customer registerCustomer(Customer customer);
     Optional<Customer> getCustomerById(long id);
+    // One IN-list query per chunk of ids; ids that do not exist are absent from the map.
+    Map<Long, Customer> getCustomersByIds(Collection<Long> ids);
     List<Customer> getAllCustomers();
+    // Streams hold one row at a time and own a pooled connection until closed; use try-with-resources.
+    Stream<Customer> streamAllCustomers();
+    void forEachCustomer(Consumer<Customer> action);
     void updateCustomer(Customer customer);
     void deleteCustomer(long customerId);
     List<Customer> getCustomerByName(String name);
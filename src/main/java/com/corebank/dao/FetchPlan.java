@@ -0,0 +1,13 @@
+package com.corebank.dao;
+
+/**
+ * How a DAO read resolves the parent entities of the rows it returns.
+ */
+public enum FetchPlan {
+
+    /** Parents are loaded one id at a time after the row is read (one extra query per parent). */
+    LAZY,
+
+    /** Parents are loaded in the same statement through a JOIN on the caller's connection. */
+    JOINED
+}
@@ -0,0 +1,106 @@
+package com.corebank.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Per unit-of-work cache of loaded entities, keyed by type and id.
+ * <p>
+ * Open one around a block of DAO calls that share a connection:
+ * <pre>
+ * try (Connection connection = DBConnectionManager.getInstance().getConnection();
+ *      IdentityMap identityMap = IdentityMap.open(connection)) {
+ *     transactionDAO.getTransactionsByAccountId(accountId, connection);
+ * }
+ * </pre>
+ * While it is open on the current thread, the DAO row mappers resolve parent
+ * Customer/Account/User references through it, so each id is loaded at most once
+ * and every row gets the same instance. Not thread-safe; it belongs to the thread that opened it.
+ */
+public final class IdentityMap implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface Loader<T> {
+        Optional<T> load(long id) throws SQLException;
+    }
+
+    private static final ThreadLocal<IdentityMap> CURRENT = new ThreadLocal<>();
+
+    private final Connection connection;
+    private final IdentityMap previous;
+    private final Map<Class<?>, Map<Long, Object>> entities = new HashMap<>();
+
+    private IdentityMap(Connection connection, IdentityMap previous) {
+        this.connection = connection;
+        this.previous = previous;
+    }
+
+    public static IdentityMap open(Connection connection) {
+        if (connection == null) {
+            throw new IllegalArgumentException("Connection cannot be null");
+        }
+        IdentityMap identityMap = new IdentityMap(connection, CURRENT.get());
+        CURRENT.set(identityMap);
+        return identityMap;
+    }
+
+    public static Optional<IdentityMap> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    // Only the map opened for this exact connection applies to the Connection-accepting overloads.
+    public static Optional<IdentityMap> current(Connection connection) {
+        IdentityMap identityMap = CURRENT.get();
+        return (identityMap != null && identityMap.connection == connection) ? Optional.of(identityMap) : Optional.empty();
+    }
+
+    public Connection getConnection() {
+        return connection;
+    }
+
+    public <T> Optional<T> get(Class<T> type, long id) {
+        Map<Long, Object> byId = entities.get(type);
+        return byId == null ? Optional.empty() : Optional.ofNullable(type.cast(byId.get(id)));
+    }
+
+    public <T> Optional<T> find(Class<T> type, long id, Loader<T> loader) throws SQLException {
+        Optional<T> cached = get(type, id);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        Optional<T> loaded = loader.load(id);
+        return loaded.map(entity -> register(type, id, entity));
+    }
+
+    // Returns the instance already mapped for this id if there is one, otherwise stores and returns the given one.
+    public <T> T register(Class<T> type, long id, T entity) {
+        Object existing = entities.computeIfAbsent(type, k -> new HashMap<>()).putIfAbsent(id, entity);
+        return existing != null ? type.cast(existing) : entity;
+    }
+
+    public void evict(Class<?> type, long id) {
+        Map<Long, Object> byId = entities.get(type);
+        if (byId != null) {
+            byId.remove(id);
+        }
+    }
+
+    public void clear() {
+        entities.clear();
+    }
+
+    @Override
+    public void close() {
+        entities.clear();
+        if (CURRENT.get() == this) {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.corebank.dao;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * How far a write-behind journal has been applied to the database. Advance the checkpoint on the
+ * connection that writes the journal's rows, so both commit or roll back together.
+ */
+public interface JournalCheckpointDAO {
+
+    // 0 if nothing from the journal has been applied yet.
+    long getLastSequence(String journal) throws SQLException;
+
+    void setLastSequence(String journal, long sequence, Connection connection) throws SQLException;
+}
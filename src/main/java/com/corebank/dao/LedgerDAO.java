@@ -0,0 +1,51 @@
+package com.corebank.dao;
+
+import com.corebank.model.Account;
+import com.corebank.model.LedgerDiscrepancy;
+import com.corebank.model.LedgerEntry;
+import com.corebank.model.Transaction;
+import com.corebank.model.Transfer;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Append-only double-entry ledger. Postings only ever insert rows, so popular accounts are not
+ * serialised on a row lock here; call the post* methods on the connection that writes the source
+ * row so both commit or roll back together. Balances are the latest snapshot plus the entries since.
+ */
+public interface LedgerDAO {
+
+    // Debit the from account, credit the to account. The transfer must already have its id.
+    void postTransfer(Transfer transfer, Connection connection) throws SQLException;
+
+    // Deposit: credit the account, debit the external account; withdrawal the other way round.
+    void postTransaction(Transaction transaction, Connection connection) throws SQLException;
+
+    // The same postings for many sources at once, sent in batches: for bulk writers such as BalanceEngine's flush.
+    void postTransfers(List<Transfer> transfers, Connection connection) throws SQLException;
+    void postTransactions(List<Transaction> transactions, Connection connection) throws SQLException;
+
+    // Opening balance of a newly created account against the external account; nothing for a zero balance.
+    void postOpeningBalance(Account account, Connection connection) throws SQLException;
+
+    BigDecimal getBalance(long accountId) throws SQLException;
+    BigDecimal getBalance(long accountId, Connection connection) throws SQLException;
+
+    // The entries a source event was posted as, in entry order; empty if it was never posted.
+    List<LedgerEntry> getEntries(LedgerEntry.Source source, long sourceId) throws SQLException;
+
+    /**
+     * Writes a snapshot for every account with entries since the previous run, covering entries up
+     * to just below the newest committed entry id, in windows of a bounded number of ids, each in
+     * its own transaction. Before summing a window, it waits for any transaction still inserting an
+     * entry in it, whose row was allocated but not yet visible, so no entry in the covered range is
+     * skipped. Returns the number of snapshots written.
+     */
+    int takeSnapshot() throws SQLException;
+
+    // Accounts whose accounts.balance disagrees with the ledger.
+    List<LedgerDiscrepancy> findDiscrepancies() throws SQLException;
+}
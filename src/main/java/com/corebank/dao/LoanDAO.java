@@ -7,6 +7,8 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface LoanDAO {
 
@@ -23,6 +25,10 @@ public interface LoanDAO {
     List<Loan> getAllLoans() throws SQLException;
     List<Loan> getAllLoans(Connection connection) throws SQLException;
 
+    // Streams hold one row at a time and own a pooled connection until closed; use try-with-resources.
+    Stream<Loan> streamAllLoans();
+    void forEachLoan(Consumer<Loan> action);
+
     List<Loan> getLoansByStatus(Loan.Status status) throws SQLException;
     List<Loan> getLoansByStatus(Loan.Status status, Connection connection) throws SQLException;
 
@@ -0,0 +1,61 @@
+package com.corebank.dao;
+
+import com.corebank.model.Money;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLDataException;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Currency;
+
+/**
+ * Reads and binds Money against the DECIMAL amount columns. The columns keep four decimal places,
+ * more than a minor unit: a value read with digits below the currency's minor unit throws
+ * SQLDataException rather than being rounded, so no amount is silently changed. One bound is
+ * written exactly.
+ */
+public final class MoneyColumns {
+
+    private MoneyColumns() {
+    }
+
+    // Null for SQL NULL.
+    public static Money get(ResultSet rs, int column) throws SQLException {
+        return get(rs, column, Money.DEFAULT_CURRENCY);
+    }
+
+    public static Money get(ResultSet rs, int column, Currency currency) throws SQLException {
+        BigDecimal amount = rs.getBigDecimal(column);
+        return amount == null ? null : Money.ofMinor(minorUnits(amount, column, currency), currency);
+    }
+
+    // For totals kept in a local long; SQL NULL reads as zero.
+    public static long getMinorUnits(ResultSet rs, int column, Currency currency) throws SQLException {
+        BigDecimal amount = rs.getBigDecimal(column);
+        return amount == null ? 0 : minorUnits(amount, column, currency);
+    }
+
+    private static long minorUnits(BigDecimal amount, int column, Currency currency) throws SQLDataException {
+        try {
+            return Money.toMinorUnitsExact(amount, currency);
+        } catch (ArithmeticException e) {
+            throw new SQLDataException("Amount " + amount.toPlainString() + " in column " + column
+                    + " is not a whole number of " + currency + " minor units", e);
+        }
+    }
+
+    public static void set(PreparedStatement statement, int index, Money money) throws SQLException {
+        if (money == null) {
+            statement.setNull(index, Types.DECIMAL);
+        } else {
+            statement.setBigDecimal(index, money.toBigDecimal());
+        }
+    }
+
+    public static void setMinorUnits(PreparedStatement statement, int index, long minorUnits, Currency currency)
+            throws SQLException {
+        statement.setBigDecimal(index, BigDecimal.valueOf(minorUnits, currency.getDefaultFractionDigits()));
+    }
+}
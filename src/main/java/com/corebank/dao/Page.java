@@ -0,0 +1,26 @@
+package com.corebank.dao;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated history read. nextCursor is null on the last page;
+ * otherwise pass it back to fetch the following page.
+ */
+public record Page<T>(List<T> items, String nextCursor) {
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    public static void checkPageSize(int pageSize) {
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+    }
+
+    public Page {
+        items = List.copyOf(items);
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,37 @@
+package com.corebank.dao;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Seek position for (timestamp, id) keyset pagination: the sort key of the last row on the
+ * previous page. Serialised as an opaque URL-safe token so callers don't depend on its layout.
+ */
+public record PageCursor(LocalDateTime timestamp, long id) {
+
+    public PageCursor {
+        if (timestamp == null) {
+            throw new IllegalArgumentException("Cursor timestamp cannot be null");
+        }
+    }
+
+    public String encode() {
+        String raw = timestamp + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed page cursor");
+            }
+            return new PageCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed page cursor", e);
+        }
+    }
+}
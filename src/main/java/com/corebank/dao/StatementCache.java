@@ -0,0 +1,129 @@
+package com.corebank.dao;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Keeps the PreparedStatements of one connection open for reuse across DAO calls.
+ * <p>
+ * Open one around a tight loop of Connection-accepting DAO calls:
+ * <pre>
+ * try (Connection connection = DBConnectionManager.getInstance().getConnection();
+ *      StatementCache statements = StatementCache.open(connection)) {
+ *     for (Transaction posting : postings) {
+ *         transactionDAO.createTransaction(posting, connection);
+ *     }
+ * }
+ * </pre>
+ * Each distinct SQL string is prepared once on the connection and rebound on every later call,
+ * which saves the client-side parse and, with server-side statements, the server round trip that
+ * driver caching alone still costs. Bound to the thread that opened it, like IdentityMap, and
+ * must be closed before the connection goes back to the pool.
+ */
+public final class StatementCache implements AutoCloseable {
+
+    private static final ThreadLocal<StatementCache> CURRENT = new ThreadLocal<>();
+
+    private final Connection connection;
+    private final StatementCache previous;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+    private final Map<String, PreparedStatement> keyedStatements = new HashMap<>();
+    private final Set<PreparedStatement> inUse = Collections.newSetFromMap(new IdentityHashMap<>());
+    private long hits;
+    private long misses;
+
+    private StatementCache(Connection connection, StatementCache previous) {
+        this.connection = connection;
+        this.previous = previous;
+    }
+
+    public static StatementCache open(Connection connection) {
+        if (connection == null) {
+            throw new IllegalArgumentException("Connection cannot be null");
+        }
+        StatementCache cache = new StatementCache(connection, CURRENT.get());
+        CURRENT.set(cache);
+        return cache;
+    }
+
+    // Only the cache opened for this exact connection applies.
+    public static Optional<StatementCache> current(Connection connection) {
+        StatementCache cache = CURRENT.get();
+        return (cache != null && cache.connection == connection) ? Optional.of(cache) : Optional.empty();
+    }
+
+    /**
+     * The cached statement for sql, prepared on first use, or null if it is still in use by an
+     * enclosing DAO call (e.g. a row mapper issuing the same query while the outer ResultSet is
+     * open); callers then fall back to a one-off statement. Hand it back with release().
+     */
+    public PreparedStatement borrow(String sql, boolean returnGeneratedKeys) throws SQLException {
+        Map<String, PreparedStatement> byKey = returnGeneratedKeys ? keyedStatements : statements;
+        PreparedStatement statement = byKey.get(sql);
+        if (statement != null && !statement.isClosed()) {
+            if (inUse.contains(statement)) {
+                return null;
+            }
+            hits++;
+            statement.clearParameters();
+        } else {
+            misses++;
+            statement = connection.prepareStatement(sql,
+                    returnGeneratedKeys ? Statement.RETURN_GENERATED_KEYS : Statement.NO_GENERATED_KEYS);
+            byKey.put(sql, statement);
+        }
+        inUse.add(statement);
+        return statement;
+    }
+
+    public void release(PreparedStatement statement) {
+        inUse.remove(statement);
+    }
+
+    public long getHitCount() {
+        return hits;
+    }
+
+    public long getMissCount() {
+        return misses;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        SQLException failure = null;
+        for (Map<String, PreparedStatement> byKey : List.of(statements, keyedStatements)) {
+            for (PreparedStatement statement : byKey.values()) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    if (failure == null) {
+                        failure = e;
+                    } else {
+                        failure.addSuppressed(e);
+                    }
+                }
+            }
+            byKey.clear();
+        }
+        inUse.clear();
+        if (CURRENT.get() == this) {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -12,12 +12,21 @@ public interface TransactionDAO {
     long createTransaction(Transaction transaction) throws SQLException;
     long createTransaction(Transaction transaction, Connection connection) throws SQLException;
 
+    // Batched inserts; generated ids are assigned back to each element. Returns the number of rows inserted.
+    int createTransactions(List<Transaction> transactions) throws SQLException;
+    int createTransactions(List<Transaction> transactions, Connection connection) throws SQLException;
+    int createTransactions(List<Transaction> transactions, int batchSize, Connection connection) throws SQLException;
+
     Optional<Transaction> getTransactionById(long transactionId) throws SQLException;
     Optional<Transaction> getTransactionById(long transactionId, Connection connection) throws SQLException;
 
     List<Transaction> getTransactionsByAccountId(long accountId) throws SQLException;
     List<Transaction> getTransactionsByAccountId(long accountId, Connection connection) throws SQLException;
 
+    // Newest first, keyset-paginated on (timestamp, transaction_id). Pass a null cursor for the first page.
+    Page<Transaction> getTransactionHistory(long accountId, String cursor, int pageSize) throws SQLException;
+    Page<Transaction> getTransactionHistory(long accountId, String cursor, int pageSize, Connection connection) throws SQLException;
+
     void updateTransaction(Transaction transaction) throws SQLException;
     void updateTransaction(Transaction transaction, Connection connection) throws SQLException;
 
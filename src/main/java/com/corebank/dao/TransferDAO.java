@@ -1,6 +1,7 @@
 package com.corebank.dao;
 
 import com.corebank.model.Transfer;
+import com.corebank.model.TransferSummary;
 
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -11,11 +12,28 @@ public interface TransferDAO {
     long createTransfer(Transfer transfer) throws SQLException;
     long createTransfer(Transfer transfer, Connection connection) throws SQLException;
 
+    // Batched inserts; generated ids are assigned back to each element. Returns the number of rows inserted.
+    int createTransfers(List<Transfer> transfers) throws SQLException;
+    int createTransfers(List<Transfer> transfers, Connection connection) throws SQLException;
+    int createTransfers(List<Transfer> transfers, int batchSize, Connection connection) throws SQLException;
+
     Optional<Transfer> getTransferById(long transferId) throws SQLException;
     Optional<Transfer> getTransferById(long transferId, Connection connection) throws SQLException;
+    Optional<Transfer> getTransferById(long transferId, FetchPlan fetchPlan, Connection connection) throws SQLException;
 
     List<Transfer> getTransfersByAccountId(long accountId) throws SQLException;
     List<Transfer> getTransfersByAccountId(long accountId, Connection connection) throws SQLException;
+    List<Transfer> getTransfersByAccountId(long accountId, FetchPlan fetchPlan, Connection connection) throws SQLException;
+
+    // Newest first, keyset-paginated on (timestamp, transfer_id), across both directions. Null cursor = first page.
+    Page<Transfer> getTransferHistory(long accountId, String cursor, int pageSize) throws SQLException;
+    Page<Transfer> getTransferHistory(long accountId, String cursor, int pageSize, Connection connection) throws SQLException;
+
+    // Flat rows for statements and reports; accounts and customers are not loaded. Same cursors as getTransferHistory.
+    List<TransferSummary> getTransferSummariesByAccountId(long accountId) throws SQLException;
+    List<TransferSummary> getTransferSummariesByAccountId(long accountId, Connection connection) throws SQLException;
+    Page<TransferSummary> getTransferSummaryHistory(long accountId, String cursor, int pageSize) throws SQLException;
+    Page<TransferSummary> getTransferSummaryHistory(long accountId, String cursor, int pageSize, Connection connection) throws SQLException;
 
     void updateTransfer(Transfer transfer) throws SQLException;
     void updateTransfer(Transfer transfer, Connection connection) throws SQLException;
@@ -4,16 +4,27 @@ import com.corebank.model.User;
 
 import javax.swing.text.html.Option;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface UserDAO {
 
     void createUser(User user);
     Optional<User> getUser(long id) throws SQLException;
+    // One IN-list query per chunk of ids; ids that do not exist are absent from the map.
+    Map<Long, User> getUsersByIds(Collection<Long> ids) throws SQLException;
     List<User> getAllUsers() throws SQLException;
+    // Streams hold one row at a time and own a pooled connection until closed; use try-with-resources.
+    Stream<User> streamAllUsers();
+    void forEachUser(Consumer<User> action);
     Optional<User> getUserByUsername(String username) throws SQLException;
     void updateUser(User user) throws SQLException;
+    // Writes only the non-null arguments; passwordHash must already be hashed. Returns false if no such user.
+    boolean patchUser(long userId, String userName, String passwordHash, User.Role role) throws SQLException;
     void deleteUser(User user);
 
 }
@@ -0,0 +1,24 @@
+package com.corebank.dao.async;
+
+import com.corebank.model.Account;
+import com.corebank.model.AccountSummary;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncAccountDAO {
+    CompletableFuture<Void> addAccount(Account account);
+    CompletableFuture<Optional<Account>> getAccountById(long accountId);
+    CompletableFuture<Map<Long, Account>> getAccountsByIds(Collection<Long> accountIds);
+    CompletableFuture<List<Account>> getAccountsByCustomerId(long customerId);
+    CompletableFuture<List<AccountSummary>> getAccountSummariesByCustomerId(long customerId);
+    CompletableFuture<Void> updateBalance(long accountId, BigDecimal newBalance);
+    CompletableFuture<Void> deposit(long accountId, BigDecimal amount);
+    CompletableFuture<Boolean> withdraw(long accountId, BigDecimal amount);
+    CompletableFuture<Boolean> compareAndSetBalance(long accountId, long expectedVersion, BigDecimal newBalance);
+    CompletableFuture<Void> deleteAccount(long accountId);
+}
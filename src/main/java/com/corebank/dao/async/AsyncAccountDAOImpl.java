@@ -0,0 +1,73 @@
+package com.corebank.dao.async;
+
+import com.corebank.dao.AccountDAO;
+import com.corebank.model.Account;
+import com.corebank.model.AccountSummary;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public class AsyncAccountDAOImpl implements AsyncAccountDAO {
+
+    private final AccountDAO delegate;
+    private final AsyncDAOExecutor executor;
+
+    public AsyncAccountDAOImpl(AccountDAO delegate, AsyncDAOExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Void> addAccount(Account account) {
+        return executor.run(() -> delegate.addAccount(account));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Account>> getAccountById(long accountId) {
+        return executor.submit(() -> delegate.getAccountById(accountId));
+    }
+
+    @Override
+    public CompletableFuture<Map<Long, Account>> getAccountsByIds(Collection<Long> accountIds) {
+        return executor.submit(() -> delegate.getAccountsByIds(accountIds));
+    }
+
+    @Override
+    public CompletableFuture<List<Account>> getAccountsByCustomerId(long customerId) {
+        return executor.submit(() -> delegate.getAccountsByCustomerId(customerId));
+    }
+
+    @Override
+    public CompletableFuture<List<AccountSummary>> getAccountSummariesByCustomerId(long customerId) {
+        return executor.submit(() -> delegate.getAccountSummariesByCustomerId(customerId));
+    }
+
+    @Override
+    public CompletableFuture<Void> updateBalance(long accountId, BigDecimal newBalance) {
+        return executor.run(() -> delegate.updateBalance(accountId, newBalance));
+    }
+
+    @Override
+    public CompletableFuture<Void> deposit(long accountId, BigDecimal amount) {
+        return executor.run(() -> delegate.deposit(accountId, amount));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> withdraw(long accountId, BigDecimal amount) {
+        return executor.submit(() -> delegate.withdraw(accountId, amount));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> compareAndSetBalance(long accountId, long expectedVersion, BigDecimal newBalance) {
+        return executor.submit(() -> delegate.compareAndSetBalance(accountId, expectedVersion, newBalance));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAccount(long accountId) {
+        return executor.run(() -> delegate.deleteAccount(accountId));
+    }
+}
@@ -0,0 +1,22 @@
+package com.corebank.dao.async;
+
+import com.corebank.model.Alert;
+import com.corebank.model.AlertSummary;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncAlertDAO {
+    CompletableFuture<Long> createAlert(Alert alert);
+    CompletableFuture<Integer> createAlerts(List<Alert> alerts);
+    CompletableFuture<Optional<Alert>> getAlertById(long alertId);
+    CompletableFuture<List<Alert>> getAlertsByAccountId(long accountId);
+    CompletableFuture<List<Alert>> getAlertsByUserId(long userId);
+    CompletableFuture<List<Alert>> getAlertsByStatus(Alert.Status status);
+    CompletableFuture<List<AlertSummary>> getAlertSummariesByAccountId(long accountId);
+    CompletableFuture<List<AlertSummary>> getAlertSummariesByStatus(Alert.Status status);
+    CompletableFuture<Void> updateAlertStatus(long alertId, Alert.Status newStatus);
+    CompletableFuture<Void> deleteAlert(long alertId);
+    CompletableFuture<List<Alert>> getAllAlerts();
+}
@@ -0,0 +1,75 @@
+package com.corebank.dao.async;
+
+import com.corebank.dao.AlertDAO;
+import com.corebank.model.Alert;
+import com.corebank.model.AlertSummary;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public class AsyncAlertDAOImpl implements AsyncAlertDAO {
+
+    private final AlertDAO delegate;
+    private final AsyncDAOExecutor executor;
+
+    public AsyncAlertDAOImpl(AlertDAO delegate, AsyncDAOExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Long> createAlert(Alert alert) {
+        return executor.submit(() -> delegate.createAlert(alert));
+    }
+
+    @Override
+    public CompletableFuture<Integer> createAlerts(List<Alert> alerts) {
+        return executor.submit(() -> delegate.createAlerts(alerts));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Alert>> getAlertById(long alertId) {
+        return executor.submit(() -> delegate.getAlertById(alertId));
+    }
+
+    @Override
+    public CompletableFuture<List<Alert>> getAlertsByAccountId(long accountId) {
+        return executor.submit(() -> delegate.getAlertsByAccountId(accountId));
+    }
+
+    @Override
+    public CompletableFuture<List<Alert>> getAlertsByUserId(long userId) {
+        return executor.submit(() -> delegate.getAlertsByUserId(userId));
+    }
+
+    @Override
+    public CompletableFuture<List<Alert>> getAlertsByStatus(Alert.Status status) {
+        return executor.submit(() -> delegate.getAlertsByStatus(status));
+    }
+
+    @Override
+    public CompletableFuture<List<AlertSummary>> getAlertSummariesByAccountId(long accountId) {
+        return executor.submit(() -> delegate.getAlertSummariesByAccountId(accountId));
+    }
+
+    @Override
+    public CompletableFuture<List<AlertSummary>> getAlertSummariesByStatus(Alert.Status status) {
+        return executor.submit(() -> delegate.getAlertSummariesByStatus(status));
+    }
+
+    @Override
+    public CompletableFuture<Void> updateAlertStatus(long alertId, Alert.Status newStatus) {
+        return executor.run(() -> delegate.updateAlertStatus(alertId, newStatus));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAlert(long alertId) {
+        return executor.run(() -> delegate.deleteAlert(alertId));
+    }
+
+    @Override
+    public CompletableFuture<List<Alert>> getAllAlerts() {
+        return executor.submit(delegate::getAllAlerts);
+    }
+}
@@ -0,0 +1,20 @@
+package com.corebank.dao.async;
+
+import com.corebank.model.Customer;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncCustomerDAO {
+    CompletableFuture<Customer> registerCustomer(Customer customer);
+    CompletableFuture<Optional<Customer>> getCustomerById(long id);
+    CompletableFuture<Map<Long, Customer>> getCustomersByIds(Collection<Long> ids);
+    CompletableFuture<List<Customer>> getAllCustomers();
+    CompletableFuture<Void> updateCustomer(Customer customer);
+    CompletableFuture<Void> deleteCustomer(long customerId);
+    CompletableFuture<List<Customer>> getCustomerByName(String name);
+    CompletableFuture<Optional<Customer>> getCustomerByEmail(String email);
+}
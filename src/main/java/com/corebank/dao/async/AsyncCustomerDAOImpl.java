@@ -0,0 +1,61 @@
+package com.corebank.dao.async;
+
+import com.corebank.dao.CustomerDAO;
+import com.corebank.model.Customer;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public class AsyncCustomerDAOImpl implements AsyncCustomerDAO {
+
+    private final CustomerDAO delegate;
+    private final AsyncDAOExecutor executor;
+
+    public AsyncCustomerDAOImpl(CustomerDAO delegate, AsyncDAOExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Customer> registerCustomer(Customer customer) {
+        return executor.submit(() -> delegate.registerCustomer(customer));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Customer>> getCustomerById(long id) {
+        return executor.submit(() -> delegate.getCustomerById(id));
+    }
+
+    @Override
+    public CompletableFuture<Map<Long, Customer>> getCustomersByIds(Collection<Long> ids) {
+        return executor.submit(() -> delegate.getCustomersByIds(ids));
+    }
+
+    @Override
+    public CompletableFuture<List<Customer>> getAllCustomers() {
+        return executor.submit(delegate::getAllCustomers);
+    }
+
+    @Override
+    public CompletableFuture<Void> updateCustomer(Customer customer) {
+        return executor.run(() -> delegate.updateCustomer(customer));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteCustomer(long customerId) {
+        return executor.run(() -> delegate.deleteCustomer(customerId));
+    }
+
+    @Override
+    public CompletableFuture<List<Customer>> getCustomerByName(String name) {
+        return executor.submit(() -> delegate.getCustomerByName(name));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Customer>> getCustomerByEmail(String email) {
+        return executor.submit(() -> delegate.getCustomerByEmail(email));
+    }
+}
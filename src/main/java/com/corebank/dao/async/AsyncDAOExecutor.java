@@ -0,0 +1,130 @@
+package com.corebank.dao.async;
+
+import com.corebank.db.DBConnectionManager;
+import com.corebank.exception.DataAccessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs blocking DAO calls on virtual threads, one per call. A fair semaphore sized to the
+ * connection pool caps how many calls run JDBC at once. Callers past that limit park on the
+ * semaphore, which costs only a few hundred bytes per virtual thread, instead of holding
+ * platform threads or timing out inside getConnection().
+ *
+ * Futures complete exceptionally with whatever the DAO threw (SQLException, DataAccessException, ...).
+ * The caller's read routing does carry over (see DBConnectionManager.ReadRouting), so an async call
+ * reads its request's earlier writes and pinToPrimary() scopes. Other thread-bound state does not:
+ * an IdentityMap opened by the caller is not visible to the async call.
+ */
+public class AsyncDAOExecutor implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface DAOCall<T> {
+        T call() throws SQLException;
+    }
+
+    @FunctionalInterface
+    public interface DAOAction {
+        void run() throws SQLException;
+    }
+
+    private final Logger logger = LoggerFactory.getLogger(AsyncDAOExecutor.class);
+
+    private final ExecutorService executor;
+    private final Semaphore permits;
+    private final int maxConcurrency;
+
+    // One permit per pooled primary connection. That is only safe because a DAO call runs on the one
+    // connection it borrows: row mappers read parents from joined rows or on that same connection.
+    // A call that held its connection while borrowing another could leave every permit holder waiting
+    // for a connection none of them will give back.
+    public AsyncDAOExecutor() {
+        this(DBConnectionManager.getInstance().getMaximumPoolSize());
+    }
+
+    public AsyncDAOExecutor(int maxConcurrency) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be greater than zero");
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    public <T> CompletableFuture<T> submit(DAOCall<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        DBConnectionManager.ReadRouting routing = DBConnectionManager.currentRouting();
+        try {
+            executor.execute(() -> {
+                try (DBConnectionManager.PrimaryScope ignored = DBConnectionManager.attach(routing)) {
+                    execute(call, future);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new DataAccessException("Async DAO executor is shut down", e));
+        }
+        return future;
+    }
+
+    public CompletableFuture<Void> run(DAOAction action) {
+        return submit(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private <T> void execute(DAOCall<T> call, CompletableFuture<T> future) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(new DataAccessException("Interrupted while waiting for a database permit", e));
+            return;
+        }
+        try {
+            // Cancelled while queued: give the permit straight back.
+            if (!future.isDone()) {
+                future.complete(call.call());
+            }
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        } finally {
+            permits.release();
+        }
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    // Calls parked waiting for a permit (an estimate, as reported by the semaphore).
+    public int getQueuedCount() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Async DAO calls still running after 30s, interrupting");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.corebank.dao.async;
+
+import com.corebank.model.Loan;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncLoanDAO {
+    CompletableFuture<Void> addLoan(Loan loan);
+    CompletableFuture<Optional<Loan>> getLoanById(long loanId);
+    CompletableFuture<List<Loan>> getLoansByCustomer(long customerId);
+    CompletableFuture<List<Loan>> getAllLoans();
+    CompletableFuture<List<Loan>> getLoansByStatus(Loan.Status status);
+    CompletableFuture<Void> updateLoan(Loan loan);
+    CompletableFuture<Void> approveLoan(long loanId);
+    CompletableFuture<Void> rejectLoan(long loanId);
+    CompletableFuture<Void> deleteLoan(long loanId);
+}
@@ -0,0 +1,64 @@
+package com.corebank.dao.async;
+
+import com.corebank.dao.LoanDAO;
+import com.corebank.model.Loan;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public class AsyncLoanDAOImpl implements AsyncLoanDAO {
+
+    private final LoanDAO delegate;
+    private final AsyncDAOExecutor executor;
+
+    public AsyncLoanDAOImpl(LoanDAO delegate, AsyncDAOExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Void> addLoan(Loan loan) {
+        return executor.run(() -> delegate.addLoan(loan));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Loan>> getLoanById(long loanId) {
+        return executor.submit(() -> delegate.getLoanById(loanId));
+    }
+
+    @Override
+    public CompletableFuture<List<Loan>> getLoansByCustomer(long customerId) {
+        return executor.submit(() -> delegate.getLoansByCustomer(customerId));
+    }
+
+    @Override
+    public CompletableFuture<List<Loan>> getAllLoans() {
+        return executor.submit(delegate::getAllLoans);
+    }
+
+    @Override
+    public CompletableFuture<List<Loan>> getLoansByStatus(Loan.Status status) {
+        return executor.submit(() -> delegate.getLoansByStatus(status));
+    }
+
+    @Override
+    public CompletableFuture<Void> updateLoan(Loan loan) {
+        return executor.run(() -> delegate.updateLoan(loan));
+    }
+
+    @Override
+    public CompletableFuture<Void> approveLoan(long loanId) {
+        return executor.run(() -> delegate.approveLoan(loanId));
+    }
+
+    @Override
+    public CompletableFuture<Void> rejectLoan(long loanId) {
+        return executor.run(() -> delegate.rejectLoan(loanId));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteLoan(long loanId) {
+        return executor.run(() -> delegate.deleteLoan(loanId));
+    }
+}
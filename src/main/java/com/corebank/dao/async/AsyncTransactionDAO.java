@@ -0,0 +1,18 @@
+package com.corebank.dao.async;
+
+import com.corebank.dao.Page;
+import com.corebank.model.Transaction;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncTransactionDAO {
+    CompletableFuture<Long> createTransaction(Transaction transaction);
+    CompletableFuture<Integer> createTransactions(List<Transaction> transactions);
+    CompletableFuture<Optional<Transaction>> getTransactionById(long transactionId);
+    CompletableFuture<List<Transaction>> getTransactionsByAccountId(long accountId);
+    CompletableFuture<Page<Transaction>> getTransactionHistory(long accountId, String cursor, int pageSize);
+    CompletableFuture<Void> updateTransaction(Transaction transaction);
+    CompletableFuture<Void> deleteTransaction(long transactionId);
+}
@@ -0,0 +1,55 @@
+package com.corebank.dao.async;
+
+import com.corebank.dao.Page;
+import com.corebank.dao.TransactionDAO;
+import com.corebank.model.Transaction;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public class AsyncTransactionDAOImpl implements AsyncTransactionDAO {
+
+    private final TransactionDAO delegate;
+    private final AsyncDAOExecutor executor;
+
+    public AsyncTransactionDAOImpl(TransactionDAO delegate, AsyncDAOExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Long> createTransaction(Transaction transaction) {
+        return executor.submit(() -> delegate.createTransaction(transaction));
+    }
+
+    @Override
+    public CompletableFuture<Integer> createTransactions(List<Transaction> transactions) {
+        return executor.submit(() -> delegate.createTransactions(transactions));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Transaction>> getTransactionById(long transactionId) {
+        return executor.submit(() -> delegate.getTransactionById(transactionId));
+    }
+
+    @Override
+    public CompletableFuture<List<Transaction>> getTransactionsByAccountId(long accountId) {
+        return executor.submit(() -> delegate.getTransactionsByAccountId(accountId));
+    }
+
+    @Override
+    public CompletableFuture<Page<Transaction>> getTransactionHistory(long accountId, String cursor, int pageSize) {
+        return executor.submit(() -> delegate.getTransactionHistory(accountId, cursor, pageSize));
+    }
+
+    @Override
+    public CompletableFuture<Void> updateTransaction(Transaction transaction) {
+        return executor.run(() -> delegate.updateTransaction(transaction));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteTransaction(long transactionId) {
+        return executor.run(() -> delegate.deleteTransaction(transactionId));
+    }
+}
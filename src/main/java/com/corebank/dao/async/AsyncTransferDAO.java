@@ -0,0 +1,21 @@
+package com.corebank.dao.async;
+
+import com.corebank.dao.Page;
+import com.corebank.model.Transfer;
+import com.corebank.model.TransferSummary;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncTransferDAO {
+    CompletableFuture<Long> createTransfer(Transfer transfer);
+    CompletableFuture<Integer> createTransfers(List<Transfer> transfers);
+    CompletableFuture<Optional<Transfer>> getTransferById(long transferId);
+    CompletableFuture<List<Transfer>> getTransfersByAccountId(long accountId);
+    CompletableFuture<Page<Transfer>> getTransferHistory(long accountId, String cursor, int pageSize);
+    CompletableFuture<List<TransferSummary>> getTransferSummariesByAccountId(long accountId);
+    CompletableFuture<Page<TransferSummary>> getTransferSummaryHistory(long accountId, String cursor, int pageSize);
+    CompletableFuture<Void> updateTransfer(Transfer transfer);
+    CompletableFuture<Void> deleteTransfer(long transferId);
+}
@@ -0,0 +1,66 @@
+package com.corebank.dao.async;
+
+import com.corebank.dao.Page;
+import com.corebank.dao.TransferDAO;
+import com.corebank.model.Transfer;
+import com.corebank.model.TransferSummary;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public class AsyncTransferDAOImpl implements AsyncTransferDAO {
+
+    private final TransferDAO delegate;
+    private final AsyncDAOExecutor executor;
+
+    public AsyncTransferDAOImpl(TransferDAO delegate, AsyncDAOExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Long> createTransfer(Transfer transfer) {
+        return executor.submit(() -> delegate.createTransfer(transfer));
+    }
+
+    @Override
+    public CompletableFuture<Integer> createTransfers(List<Transfer> transfers) {
+        return executor.submit(() -> delegate.createTransfers(transfers));
+    }
+
+    @Override
+    public CompletableFuture<Optional<Transfer>> getTransferById(long transferId) {
+        return executor.submit(() -> delegate.getTransferById(transferId));
+    }
+
+    @Override
+    public CompletableFuture<List<Transfer>> getTransfersByAccountId(long accountId) {
+        return executor.submit(() -> delegate.getTransfersByAccountId(accountId));
+    }
+
+    @Override
+    public CompletableFuture<Page<Transfer>> getTransferHistory(long accountId, String cursor, int pageSize) {
+        return executor.submit(() -> delegate.getTransferHistory(accountId, cursor, pageSize));
+    }
+
+    @Override
+    public CompletableFuture<List<TransferSummary>> getTransferSummariesByAccountId(long accountId) {
+        return executor.submit(() -> delegate.getTransferSummariesByAccountId(accountId));
+    }
+
+    @Override
+    public CompletableFuture<Page<TransferSummary>> getTransferSummaryHistory(long accountId, String cursor, int pageSize) {
+        return executor.submit(() -> delegate.getTransferSummaryHistory(accountId, cursor, pageSize));
+    }
+
+    @Override
+    public CompletableFuture<Void> updateTransfer(Transfer transfer) {
+        return executor.run(() -> delegate.updateTransfer(transfer));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteTransfer(long transferId) {
+        return executor.run(() -> delegate.deleteTransfer(transferId));
+    }
+}
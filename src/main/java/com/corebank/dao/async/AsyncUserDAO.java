@@ -0,0 +1,20 @@
+package com.corebank.dao.async;
+
+import com.corebank.model.User;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public interface AsyncUserDAO {
+    CompletableFuture<Void> createUser(User user);
+    CompletableFuture<Optional<User>> getUser(long id);
+    CompletableFuture<Map<Long, User>> getUsersByIds(Collection<Long> ids);
+    CompletableFuture<List<User>> getAllUsers();
+    CompletableFuture<Optional<User>> getUserByUsername(String username);
+    CompletableFuture<Void> updateUser(User user);
+    CompletableFuture<Boolean> patchUser(long userId, String userName, String passwordHash, User.Role role);
+    CompletableFuture<Void> deleteUser(User user);
+}
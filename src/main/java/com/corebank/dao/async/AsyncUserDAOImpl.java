@@ -0,0 +1,61 @@
+package com.corebank.dao.async;
+
+import com.corebank.dao.UserDAO;
+import com.corebank.model.User;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+public class AsyncUserDAOImpl implements AsyncUserDAO {
+
+    private final UserDAO delegate;
+    private final AsyncDAOExecutor executor;
+
+    public AsyncUserDAOImpl(UserDAO delegate, AsyncDAOExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public CompletableFuture<Void> createUser(User user) {
+        return executor.run(() -> delegate.createUser(user));
+    }
+
+    @Override
+    public CompletableFuture<Optional<User>> getUser(long id) {
+        return executor.submit(() -> delegate.getUser(id));
+    }
+
+    @Override
+    public CompletableFuture<Map<Long, User>> getUsersByIds(Collection<Long> ids) {
+        return executor.submit(() -> delegate.getUsersByIds(ids));
+    }
+
+    @Override
+    public CompletableFuture<List<User>> getAllUsers() {
+        return executor.submit(delegate::getAllUsers);
+    }
+
+    @Override
+    public CompletableFuture<Optional<User>> getUserByUsername(String username) {
+        return executor.submit(() -> delegate.getUserByUsername(username));
+    }
+
+    @Override
+    public CompletableFuture<Void> updateUser(User user) {
+        return executor.run(() -> delegate.updateUser(user));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> patchUser(long userId, String userName, String passwordHash, User.Role role) {
+        return executor.submit(() -> delegate.patchUser(userId, userName, passwordHash, role));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteUser(User user) {
+        return executor.run(() -> delegate.deleteUser(user));
+    }
+}
@@ -0,0 +1,228 @@
+package com.corebank.dao.async;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Coalesces single-id lookups into batched ones, DataLoader style: each load(id) returns a future,
+ * and the ids queued together are answered by one call to a batch function such as
+ * AccountDAO.getAccountsByIds, i.e. one connection and one IN-list query instead of one per id.
+ * <pre>
+ * BatchLoader&lt;Account&gt; accounts = BatchLoader.windowed(accountDAO::getAccountsByIds, executor,
+ *         Duration.ofMillis(2), 256);
+ * CompletableFuture&lt;Optional&lt;Account&gt;&gt; account = accounts.load(accountId);
+ * </pre>
+ * Two ways to decide when a batch goes out:
+ * <ul>
+ *   <li>{@link #windowed}: shared by concurrent callers. A batch is dispatched {@code window} after
+ *       its first id, or as soon as maxBatchSize ids are queued, and runs on the AsyncDAOExecutor.</li>
+ *   <li>{@link #forUnitOfWork}: one per request. Ids queue until {@link #dispatch()} (or close()),
+ *       and the batch runs on the calling thread. Results are kept for the loader's lifetime, so an
+ *       id loaded twice in the same unit of work is fetched once.</li>
+ * </ul>
+ * Repeated ids within a batch share one future. A failed batch fails every future in it with
+ * whatever the batch function threw, as AsyncDAOExecutor does.
+ */
+public final class BatchLoader<V> implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface BatchFunction<V> {
+        Map<Long, V> load(Collection<Long> ids) throws SQLException;
+    }
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+    private static final ScheduledExecutorService TIMER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dao-batch-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final BatchFunction<V> batchFunction;
+    private final int maxBatchSize;
+    // Windowed mode only: 0 and null for a unit-of-work loader.
+    private final long windowNanos;
+    private final AsyncDAOExecutor executor;
+    // Unit-of-work mode only: every id loaded so far.
+    private final Map<Long, CompletableFuture<Optional<V>>> loaded;
+
+    private final Object lock = new Object();
+    private Map<Long, CompletableFuture<Optional<V>>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduled;
+    private boolean closed;
+
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedIds = new LongAdder();
+
+    private BatchLoader(BatchFunction<V> batchFunction, int maxBatchSize, long windowNanos, AsyncDAOExecutor executor) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be greater than zero");
+        }
+        this.batchFunction = batchFunction;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = windowNanos;
+        this.executor = executor;
+        this.loaded = (executor == null) ? new HashMap<>() : null;
+    }
+
+    public static <V> BatchLoader<V> windowed(BatchFunction<V> batchFunction, AsyncDAOExecutor executor,
+                                              Duration window, int maxBatchSize) {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("window must be greater than zero");
+        }
+        return new BatchLoader<>(batchFunction, maxBatchSize, window.toNanos(), executor);
+    }
+
+    public static <V> BatchLoader<V> forUnitOfWork(BatchFunction<V> batchFunction) {
+        return forUnitOfWork(batchFunction, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public static <V> BatchLoader<V> forUnitOfWork(BatchFunction<V> batchFunction, int maxBatchSize) {
+        return new BatchLoader<>(batchFunction, maxBatchSize, 0, null);
+    }
+
+    public CompletableFuture<Optional<V>> load(long id) {
+        loads.increment();
+        if (id <= 0) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+        CompletableFuture<Optional<V>> future;
+        Map<Long, CompletableFuture<Optional<V>>> full = null;
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("BatchLoader is closed");
+            }
+            future = (loaded != null) ? loaded.get(id) : null;
+            if (future == null) {
+                future = pending.get(id);
+            }
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.put(id, future);
+            if (loaded != null) {
+                loaded.put(id, future);
+            }
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (executor != null && pending.size() == 1) {
+                scheduled = TIMER.schedule(this::dispatch, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            execute(full);
+        }
+        return future;
+    }
+
+    // Completes with the ids that exist; missing ids are absent from the map.
+    public CompletableFuture<Map<Long, V>> loadMany(Collection<Long> ids) {
+        List<Long> keys = new ArrayList<>(ids.size());
+        List<CompletableFuture<Optional<V>>> futures = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            if (id != null) {
+                keys.add(id);
+                futures.add(load(id));
+            }
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            Map<Long, V> values = new HashMap<>();
+            for (int i = 0; i < keys.size(); i++) {
+                long id = keys.get(i);
+                futures.get(i).join().ifPresent(value -> values.put(id, value));
+            }
+            return values;
+        });
+    }
+
+    // Sends whatever is queued now. A unit-of-work loader runs the batch before returning.
+    public void dispatch() {
+        Map<Long, CompletableFuture<Optional<V>>> batch;
+        synchronized (lock) {
+            batch = takePending();
+        }
+        if (batch != null) {
+            execute(batch);
+        }
+    }
+
+    private Map<Long, CompletableFuture<Optional<V>>> takePending() {
+        if (scheduled != null) {
+            scheduled.cancel(false);
+            scheduled = null;
+        }
+        if (pending.isEmpty()) {
+            return null;
+        }
+        Map<Long, CompletableFuture<Optional<V>>> batch = pending;
+        pending = new LinkedHashMap<>();
+        return batch;
+    }
+
+    private void execute(Map<Long, CompletableFuture<Optional<V>>> batch) {
+        batches.increment();
+        batchedIds.add(batch.size());
+        List<Long> ids = new ArrayList<>(batch.keySet());
+        if (executor != null) {
+            executor.submit(() -> batchFunction.load(ids)).whenComplete((values, error) -> complete(batch, values, error));
+            return;
+        }
+        try {
+            complete(batch, batchFunction.load(ids), null);
+        } catch (SQLException | RuntimeException e) {
+            complete(batch, null, e);
+        }
+    }
+
+    private void complete(Map<Long, CompletableFuture<Optional<V>>> batch, Map<Long, V> values, Throwable error) {
+        if (error != null) {
+            if (loaded != null) {
+                // Forget failed ids so a later load retries them.
+                synchronized (lock) {
+                    loaded.keySet().removeAll(batch.keySet());
+                }
+            }
+            batch.values().forEach(future -> future.completeExceptionally(error));
+            return;
+        }
+        batch.forEach((id, future) -> future.complete(Optional.ofNullable(values.get(id))));
+    }
+
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    // Average number of distinct ids answered per database call.
+    public double getMeanBatchSize() {
+        long count = batches.sum();
+        return count == 0 ? 0.0 : (double) batchedIds.sum() / count;
+    }
+
+    // Sends anything still queued; further load() calls are rejected.
+    @Override
+    public void close() {
+        dispatch();
+        synchronized (lock) {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.corebank.dao.cache;
+
+public record CacheStats(long hitCount, long missCount, long evictionCount, int size, int maximumSize) {
+
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+}
@@ -0,0 +1,272 @@
+package com.corebank.dao.cache;
+
+import com.corebank.dao.AccountDAO;
+import com.corebank.dao.CommitHooks;
+import com.corebank.exception.DataAccessException;
+import com.corebank.model.Account;
+import com.corebank.model.AccountSummary;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-through cache in front of an AccountDAO. getAccountById(long) and getAccountsByIds(Collection)
+ * are served from the cache. The Connection-accepting reads bypass it, because it usually runs inside a transaction
+ * that must see its own locks and writes. Every balance update and delete invalidates the entry.
+ * <p>
+ * A write through a Connection overload inside a transaction is not visible to other readers until
+ * the commit, so its entry is dropped again once the transaction owner calls
+ * {@link CommitHooks#completed(Connection)}, and until then reads of that account go to the delegate
+ * without being cached. Callers get their own copies; cached accounts are never handed out.
+ */
+public class CachingAccountDAO implements AccountDAO {
+
+    private final AccountDAO delegate;
+    private final LruCache<Long, Account> cache;
+    // accountId -> number of open transactions that have written it.
+    private final Map<Long, Integer> inFlight = new ConcurrentHashMap<>();
+
+    public CachingAccountDAO(AccountDAO delegate, int maximumSize, long ttl, TimeUnit unit) {
+        this.delegate = delegate;
+        this.cache = new LruCache<>(maximumSize, ttl, unit);
+    }
+
+    // Drops cached accounts whose embedded customer was changed through the given customer cache.
+    public CachingAccountDAO(AccountDAO delegate, CachingCustomerDAO customerCache, int maximumSize, long ttl, TimeUnit unit) {
+        this(delegate, maximumSize, ttl, unit);
+        customerCache.addInvalidationListener(customerId ->
+                cache.invalidateIf(account -> account.getCustomer() != null
+                        && account.getCustomer().getCustomerId() == customerId));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public void invalidate(long accountId) {
+        cache.invalidate(accountId);
+    }
+
+    @Override
+    public void addAccount(Account account) throws SQLException {
+        delegate.addAccount(account);
+    }
+
+    @Override
+    public void addAccount(Account account, Connection connection) throws SQLException {
+        delegate.addAccount(account, connection);
+    }
+
+    @Override
+    public Optional<Account> getAccountById(long accountId) {
+        if (accountId <= 0) {
+            return Optional.empty();
+        }
+        Optional<Account> cached = cache.getIfPresent(accountId);
+        if (cached.isPresent()) {
+            return Optional.of(new Account(cached.get()));
+        }
+        long loadedAt = cache.generation();
+        Optional<Account> loaded;
+        try {
+            loaded = delegate.getAccountById(accountId);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error fetching account with accountId " + accountId, e);
+        }
+        loaded.ifPresent(account -> cacheCopy(accountId, account, loadedAt));
+        return loaded;
+    }
+
+    @Override
+    public Optional<Account> getAccountById(long accountId, Connection connection) throws SQLException {
+        return delegate.getAccountById(accountId, connection);
+    }
+
+    @Override
+    public Optional<Account> getAccountByIdForUpdate(long accountId, Connection connection) throws SQLException {
+        return delegate.getAccountByIdForUpdate(accountId, connection);
+    }
+
+    // Cached ids are served from the cache; the rest go to the delegate in one batch and are cached.
+    @Override
+    public Map<Long, Account> getAccountsByIds(Collection<Long> accountIds) throws SQLException {
+        Map<Long, Account> accounts = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long accountId : accountIds) {
+            if (accountId == null || accountId <= 0) {
+                continue;
+            }
+            Optional<Account> cached = cache.getIfPresent(accountId);
+            if (cached.isPresent()) {
+                accounts.put(accountId, new Account(cached.get()));
+            } else {
+                missing.add(accountId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long loadedAt = cache.generation();
+            Map<Long, Account> loaded = delegate.getAccountsByIds(missing);
+            loaded.forEach((accountId, account) -> cacheCopy(accountId, account, loadedAt));
+            accounts.putAll(loaded);
+        }
+        return accounts;
+    }
+
+    @Override
+    public Map<Long, Account> getAccountsByIds(Collection<Long> accountIds, Connection connection) throws SQLException {
+        return delegate.getAccountsByIds(accountIds, connection);
+    }
+
+    @Override
+    public List<Account> getAccountsByCustomerId(long customerId) throws SQLException {
+        return delegate.getAccountsByCustomerId(customerId);
+    }
+
+    @Override
+    public List<Account> getAccountsByCustomerId(long customerId, Connection connection) throws SQLException {
+        return delegate.getAccountsByCustomerId(customerId, connection);
+    }
+
+    @Override
+    public List<AccountSummary> getAccountSummariesByCustomerId(long customerId) throws SQLException {
+        return delegate.getAccountSummariesByCustomerId(customerId);
+    }
+
+    @Override
+    public List<AccountSummary> getAccountSummariesByCustomerId(long customerId, Connection connection) throws SQLException {
+        return delegate.getAccountSummariesByCustomerId(customerId, connection);
+    }
+
+    @Override
+    public void updateBalance(long accountId, BigDecimal newBalance) throws SQLException {
+        try {
+            delegate.updateBalance(accountId, newBalance);
+        } finally {
+            cache.invalidate(accountId);
+        }
+    }
+
+    @Override
+    public void updateBalance(long accountId, BigDecimal newBalance, Connection connection) throws SQLException {
+        try {
+            delegate.updateBalance(accountId, newBalance, connection);
+        } finally {
+            invalidateAfterCompletion(accountId, connection);
+        }
+    }
+
+    @Override
+    public void adjustBalance(long accountId, BigDecimal delta, Connection connection) throws SQLException {
+        try {
+            delegate.adjustBalance(accountId, delta, connection);
+        } finally {
+            invalidateAfterCompletion(accountId, connection);
+        }
+    }
+
+    @Override
+    public void deposit(long accountId, BigDecimal amount) throws SQLException {
+        try {
+            delegate.deposit(accountId, amount);
+        } finally {
+            cache.invalidate(accountId);
+        }
+    }
+
+    @Override
+    public void deposit(long accountId, BigDecimal amount, Connection connection) throws SQLException {
+        try {
+            delegate.deposit(accountId, amount, connection);
+        } finally {
+            invalidateAfterCompletion(accountId, connection);
+        }
+    }
+
+    @Override
+    public boolean withdraw(long accountId, BigDecimal amount) throws SQLException {
+        try {
+            return delegate.withdraw(accountId, amount);
+        } finally {
+            cache.invalidate(accountId);
+        }
+    }
+
+    @Override
+    public boolean withdraw(long accountId, BigDecimal amount, Connection connection) throws SQLException {
+        try {
+            return delegate.withdraw(accountId, amount, connection);
+        } finally {
+            invalidateAfterCompletion(accountId, connection);
+        }
+    }
+
+    @Override
+    public boolean compareAndSetBalance(long accountId, long expectedVersion, BigDecimal newBalance) throws SQLException {
+        try {
+            return delegate.compareAndSetBalance(accountId, expectedVersion, newBalance);
+        } finally {
+            cache.invalidate(accountId);
+        }
+    }
+
+    @Override
+    public boolean compareAndSetBalance(long accountId, long expectedVersion, BigDecimal newBalance, Connection connection) throws SQLException {
+        try {
+            return delegate.compareAndSetBalance(accountId, expectedVersion, newBalance, connection);
+        } finally {
+            invalidateAfterCompletion(accountId, connection);
+        }
+    }
+
+    @Override
+    public void setBalanceStripes(long accountId, int stripes) throws SQLException {
+        try {
+            delegate.setBalanceStripes(accountId, stripes);
+        } finally {
+            cache.invalidate(accountId);
+        }
+    }
+
+    @Override
+    public void deleteAccount(long accountId) throws SQLException {
+        try {
+            delegate.deleteAccount(accountId);
+        } finally {
+            cache.invalidate(accountId);
+        }
+    }
+
+    @Override
+    public void deleteAccount(long accountId, Connection connection) throws SQLException {
+        try {
+            delegate.deleteAccount(accountId, connection);
+        } finally {
+            invalidateAfterCompletion(accountId, connection);
+        }
+    }
+
+    private void cacheCopy(long accountId, Account account, long loadedAt) {
+        if (!inFlight.containsKey(accountId)) {
+            cache.putIfUnchanged(accountId, new Account(account), loadedAt);
+        }
+    }
+
+    // Marks the account in flight before invalidating, so no load can slip in between and re-cache it.
+    private void invalidateAfterCompletion(long accountId, Connection connection) throws SQLException {
+        inFlight.merge(accountId, 1, Integer::sum);
+        cache.invalidate(accountId);
+        CommitHooks.afterCompletion(connection, () -> {
+            inFlight.computeIfPresent(accountId, (id, writers) -> writers == 1 ? null : writers - 1);
+            cache.invalidate(accountId);
+        });
+    }
+}
@@ -0,0 +1,137 @@
+package com.corebank.dao.cache;
+
+import com.corebank.dao.CustomerDAO;
+import com.corebank.model.Customer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Read-through cache in front of a CustomerDAO. Only getCustomerById and getCustomersByIds are cached;
+ * updateCustomer and deleteCustomer invalidate the entry and notify listeners
+ * (CachingAccountDAO uses this to drop accounts that embed the stale customer).
+ * Callers get their own copies; cached customers are never handed out.
+ */
+public class CachingCustomerDAO implements CustomerDAO {
+
+    private final CustomerDAO delegate;
+    private final LruCache<Long, Customer> cache;
+    private final List<LongConsumer> invalidationListeners = new CopyOnWriteArrayList<>();
+
+    public CachingCustomerDAO(CustomerDAO delegate, int maximumSize, long ttl, TimeUnit unit) {
+        this.delegate = delegate;
+        this.cache = new LruCache<>(maximumSize, ttl, unit);
+    }
+
+    public void addInvalidationListener(LongConsumer listener) {
+        invalidationListeners.add(listener);
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public void invalidate(long customerId) {
+        cache.invalidate(customerId);
+        for (LongConsumer listener : invalidationListeners) {
+            listener.accept(customerId);
+        }
+    }
+
+    @Override
+    public Customer registerCustomer(Customer customer) {
+        return delegate.registerCustomer(customer);
+    }
+
+    @Override
+    public Optional<Customer> getCustomerById(long id) {
+        if (id <= 0) {
+            return Optional.empty();
+        }
+        Optional<Customer> cached = cache.getIfPresent(id);
+        if (cached.isPresent()) {
+            return Optional.of(new Customer(cached.get()));
+        }
+        long loadedAt = cache.generation();
+        Optional<Customer> loaded = delegate.getCustomerById(id);
+        loaded.ifPresent(customer -> cache.putIfUnchanged(id, new Customer(customer), loadedAt));
+        return loaded;
+    }
+
+    // Cached ids are served from the cache; the rest go to the delegate in one batch and are cached.
+    @Override
+    public Map<Long, Customer> getCustomersByIds(Collection<Long> ids) {
+        Map<Long, Customer> customers = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Long id : ids) {
+            if (id == null || id <= 0) {
+                continue;
+            }
+            Optional<Customer> cached = cache.getIfPresent(id);
+            if (cached.isPresent()) {
+                customers.put(id, new Customer(cached.get()));
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            long loadedAt = cache.generation();
+            Map<Long, Customer> loaded = delegate.getCustomersByIds(missing);
+            loaded.forEach((id, customer) -> cache.putIfUnchanged(id, new Customer(customer), loadedAt));
+            customers.putAll(loaded);
+        }
+        return customers;
+    }
+
+    @Override
+    public List<Customer> getAllCustomers() {
+        return delegate.getAllCustomers();
+    }
+
+    @Override
+    public Stream<Customer> streamAllCustomers() {
+        return delegate.streamAllCustomers();
+    }
+
+    @Override
+    public void forEachCustomer(Consumer<Customer> action) {
+        delegate.forEachCustomer(action);
+    }
+
+    @Override
+    public void updateCustomer(Customer customer) {
+        try {
+            delegate.updateCustomer(customer);
+        } finally {
+            invalidate(customer.getCustomerId());
+        }
+    }
+
+    @Override
+    public void deleteCustomer(long customerId) {
+        try {
+            delegate.deleteCustomer(customerId);
+        } finally {
+            invalidate(customerId);
+        }
+    }
+
+    @Override
+    public List<Customer> getCustomerByName(String name) {
+        return delegate.getCustomerByName(name);
+    }
+
+    @Override
+    public Optional<Customer> getCustomerByEmail(String email) {
+        return delegate.getCustomerByEmail(email);
+    }
+}
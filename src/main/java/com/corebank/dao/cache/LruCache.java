@@ -0,0 +1,147 @@
+package com.corebank.dao.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Size-bounded, access-ordered cache with a time-to-live per entry.
+ * The least recently used entry is evicted once maximumSize is exceeded.
+ * Loads run outside the lock, so two threads missing on the same key may both load it. A load that
+ * overlaps an invalidation is returned but not cached, so it cannot put back the row the
+ * invalidation was meant to drop.
+ */
+public class LruCache<K, V> {
+
+    private static final class Entry<V> {
+        final V value;
+        final long expiresAtNanos;
+
+        Entry(V value, long expiresAtNanos) {
+            this.value = value;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    // Bumped by every invalidation, under the entries lock.
+    private long generation;
+
+    public LruCache(int maximumSize, long ttl, TimeUnit unit) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be greater than zero");
+        }
+        if (ttl <= 0) {
+            throw new IllegalArgumentException("ttl must be greater than zero");
+        }
+        this.maximumSize = maximumSize;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > LruCache.this.maximumSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public Optional<V> getIfPresent(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry != null) {
+                if (entry.expiresAtNanos - System.nanoTime() > 0) {
+                    hits.increment();
+                    return Optional.of(entry.value);
+                }
+                // Expiry is not an eviction: the entry was not pushed out by size.
+                entries.remove(key);
+            }
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    // Only present values are cached; an empty result is returned to the caller but not remembered.
+    public Optional<V> get(K key, Function<K, Optional<V>> loader) {
+        Optional<V> cached = getIfPresent(key);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        long startedAt = generation();
+        Optional<V> loaded = loader.apply(key);
+        loaded.ifPresent(value -> putIfUnchanged(key, value, startedAt));
+        return loaded;
+    }
+
+    public void put(K key, V value) {
+        synchronized (entries) {
+            entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    // Read before loading a value; pass to putIfUnchanged when caching it.
+    public long generation() {
+        synchronized (entries) {
+            return generation;
+        }
+    }
+
+    // Caches the value only if nothing was invalidated since the load began; returns whether it was.
+    public boolean putIfUnchanged(K key, V value, long loadedAt) {
+        synchronized (entries) {
+            if (generation != loadedAt) {
+                return false;
+            }
+            entries.put(key, new Entry<>(value, System.nanoTime() + ttlNanos));
+            return true;
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+            generation++;
+        }
+    }
+
+    public void invalidateIf(Predicate<V> predicate) {
+        synchronized (entries) {
+            Iterator<Entry<V>> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (predicate.test(iterator.next().value)) {
+                    iterator.remove();
+                }
+            }
+            generation++;
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            generation++;
+        }
+    }
+
+    public CacheStats stats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), size, maximumSize);
+    }
+}
@@ -1,45 +1,67 @@
 package com.corebank.dao.impl;
 
 import com.corebank.dao.AccountDAO;
-import com.corebank.dao.CustomerDAO;
+import com.corebank.dao.IdentityMap;
 import com.corebank.db.DBConnectionManager;
 import com.corebank.exception.DataAccessException;
 import com.corebank.model.Account;
+import com.corebank.model.AccountSummary;
 import com.corebank.model.Customer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.sql.*;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
 
 public class AccountDAOImpl implements AccountDAO {
 
 
-    CustomerDAO customerDAO = new CustomerDAOImpl();
     Logger logger = LoggerFactory.getLogger(AccountDAOImpl.class);
 
-    //helper function , because in the Account model we have A customer Object.
-    private Account mapRowToAccount(ResultSet resultSet) {
-        try {
-            long accountId = resultSet.getLong("account_id");
-            long customerId = resultSet.getLong("customer_id");
-            String accountTypeStr = resultSet.getString("account_type");
-            BigDecimal balance = resultSet.getBigDecimal("balance");
-            String statusStr = resultSet.getString("status");
-            Timestamp ts = resultSet.getTimestamp("created_at");
-            LocalDateTime createdAt = (ts != null) ? ts.toLocalDateTime() : null;
+    public static final int MAX_BALANCE_STRIPES = 64;
+
+    // Shared across instances: every DAO builds its own AccountDAOImpl.
+    private static final LongAdder optimisticConflicts = new LongAdder();
+    private static final LongAdder rejectedWithdrawals = new LongAdder();
 
-            Customer customer = customerDAO.getCustomerById(customerId)
-                    .orElseThrow(() -> new DataAccessException("Customer not found for id: " + customerId));
+    public static long getOptimisticConflictCount() {
+        return optimisticConflicts.sum();
+    }
 
-            Account.AccountType accountType = Account.AccountType.valueOf(accountTypeStr.trim().toUpperCase());
-            Account.Status status = Account.Status.valueOf(statusStr.trim().toUpperCase());
+    public static long getRejectedWithdrawalCount() {
+        return rejectedWithdrawals.sum();
+    }
 
-            return new Account(accountId, customer, accountType, balance, status, createdAt);
+    public AccountDAOImpl() {
+    }
+
+    // Row of an Accounts.JOINED_SELECT query, customer included, so mapping it needs no second connection.
+    // The query already summed the stripes in; a locked row (BY_ID_FOR_UPDATE) has them locked and folded
+    // in on the same connection instead.
+    private Account mapRowToAccount(ResultSet resultSet, Connection connection, boolean lock) {
+        try {
+            int customerAt = SqlRegistry.Accounts.JOINED_CUSTOMER;
+            long customerId = resultSet.getLong(customerAt + SqlRegistry.Customers.CUSTOMER_ID);
+            Customer mapped = EntityMappers.customer(resultSet, customerAt);
+
+            Optional<IdentityMap> identityMap = IdentityMap.current();
+            Customer customer = identityMap.map(map -> map.register(Customer.class, customerId, mapped)).orElse(mapped);
+
+            Account account = EntityMappers.account(resultSet, 1, customer);
+            if (lock) {
+                BalanceStripes.foldLocked(account, connection);
+            } else {
+                BalanceStripes.remember(account.getAccountId(), account.getBalanceStripes());
+            }
+            return identityMap.map(map -> map.register(Account.class, account.getAccountId(), account)).orElse(account);
 
         } catch (SQLException e) {
             throw new DataAccessException("Error mapping account from ResultSet", e);
@@ -53,7 +75,7 @@ public class AccountDAOImpl implements AccountDAO {
     @Override
     public void addAccount(Account account) throws SQLException {
 
-        String sql = "INSERT INTO accounts (customer_id, account_type, balance, status, created_at) VALUES (?,?,?,?,?)";
+        String sql = SqlRegistry.Accounts.INSERT;
 
         try (Connection connection = DBConnectionManager.getInstance().getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
@@ -83,8 +105,9 @@ public class AccountDAOImpl implements AccountDAO {
 
     @Override
     public void addAccount(Account account, Connection connection) throws SQLException {
-        String sql = "INSERT INTO accounts (customer_id, account_type, balance, status, created_at) VALUES (?,?,?,?,?)";
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        String sql = SqlRegistry.Accounts.INSERT;
+        try (Statements.Lease lease = Statements.prepareReturningKeys(connection, sql)) {
+            PreparedStatement preparedStatement = lease.statement();
 
             preparedStatement.setLong(1, account.getCustomer().getCustomerId());
             preparedStatement.setString(2, account.getAccountType().name());
@@ -116,7 +139,7 @@ public class AccountDAOImpl implements AccountDAO {
             return Optional.empty();
         }
 
-        String sql = "SELECT account_id, customer_id, account_type, balance, status, created_at FROM accounts WHERE account_id = ?";
+        String sql = SqlRegistry.Accounts.BY_ID;
 
         try (Connection connection = DBConnectionManager.getInstance().getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
@@ -125,7 +148,7 @@ public class AccountDAOImpl implements AccountDAO {
 
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 if (resultSet.next()) {
-                    Account account = mapRowToAccount(resultSet);
+                    Account account = mapRowToAccount(resultSet, connection, false);
                     return Optional.of(account);
                 }
             }
@@ -140,14 +163,23 @@ public class AccountDAOImpl implements AccountDAO {
 
     @Override
     public Optional<Account> getAccountById(long accountId, Connection connection) throws SQLException {
-        String sql = "SELECT account_id, customer_id, account_type, balance, status, created_at FROM accounts where account_id =?";
+        Optional<IdentityMap> identityMap = IdentityMap.current(connection);
+        if (identityMap.isPresent()) {
+            Optional<Account> cached = identityMap.get().get(Account.class, accountId);
+            if (cached.isPresent()) {
+                return cached;
+            }
+        }
 
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sql);) {
+        String sql = SqlRegistry.Accounts.BY_ID;
+
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement preparedStatement = lease.statement();
             preparedStatement.setLong(1, accountId);
 
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 if (resultSet.next()) {
-                    Account account = mapRowToAccount(resultSet);
+                    Account account = mapRowToAccount(resultSet, connection, false);
 
                     return Optional.of(account);
                 }
@@ -157,10 +189,103 @@ public class AccountDAOImpl implements AccountDAO {
         return Optional.empty();
     }
 
+    @Override
+    public Optional<Account> getAccountByIdForUpdate(long accountId, Connection connection) {
+        String sql = SqlRegistry.Accounts.BY_ID_FOR_UPDATE;
+
+        // The locked row is the authoritative copy; drop any instance the unit of work mapped earlier.
+        IdentityMap.current(connection).ifPresent(map -> map.evict(Account.class, accountId));
+
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement preparedStatement = lease.statement();
+            preparedStatement.setLong(1, accountId);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (resultSet.next()) {
+                    return Optional.of(mapRowToAccount(resultSet, connection, true));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error locking account with accountId " + accountId, e);
+        }
+
+        return Optional.empty();
+    }
+
+    @Override
+    public Map<Long, Account> getAccountsByIds(Collection<Long> accountIds) throws SQLException {
+        if (accountIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+            return getAccountsByIds(accountIds, connection);
+        }
+    }
+
+    @Override
+    public Map<Long, Account> getAccountsByIds(Collection<Long> accountIds, Connection connection) throws SQLException {
+        Optional<IdentityMap> identityMap = IdentityMap.current(connection);
+        Map<Long, Account> accounts = new HashMap<>();
+
+        // Ids the unit of work has already mapped are not queried again.
+        Collection<Long> missing = accountIds;
+        if (identityMap.isPresent()) {
+            missing = new ArrayList<>(accountIds.size());
+            for (Long accountId : accountIds) {
+                Optional<Account> cached = (accountId != null)
+                        ? identityMap.get().get(Account.class, accountId) : Optional.empty();
+                if (cached.isPresent()) {
+                    accounts.put(accountId, cached.get());
+                } else {
+                    missing.add(accountId);
+                }
+            }
+        }
+
+        InList inList = SqlRegistry.Accounts.JOINED_BY_IDS;
+        Map<Long, Customer> customers = new HashMap<>();
+        for (long[] chunk : inList.chunks(missing)) {
+            try (Statements.Lease lease = Statements.prepare(connection, inList.sql(chunk.length))) {
+                PreparedStatement preparedStatement = lease.statement();
+                inList.bind(preparedStatement, 1, chunk);
+
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        Account account = mapJoinedRowToAccount(resultSet, identityMap, customers);
+                        accounts.put(account.getAccountId(), account);
+                    }
+                }
+            }
+        }
+        return accounts;
+    }
+
+    // Row of Accounts.JOINED_BY_IDS, stripes already summed in; a customer shared by several accounts is mapped once.
+    private Account mapJoinedRowToAccount(ResultSet resultSet, Optional<IdentityMap> identityMap,
+                                          Map<Long, Customer> customers) throws SQLException {
+        try {
+            int customerAt = SqlRegistry.Accounts.JOINED_CUSTOMER;
+            long customerId = resultSet.getLong(customerAt + SqlRegistry.Customers.CUSTOMER_ID);
+            Customer customer = customers.get(customerId);
+            if (customer == null) {
+                Customer mapped = EntityMappers.customer(resultSet, customerAt);
+                customer = identityMap.map(map -> map.register(Customer.class, customerId, mapped)).orElse(mapped);
+                customers.put(customerId, customer);
+            }
+
+            Account account = EntityMappers.account(resultSet, 1, customer);
+            BalanceStripes.remember(account.getAccountId(), account.getBalanceStripes());
+            return identityMap.map(map -> map.register(Account.class, account.getAccountId(), account)).orElse(account);
+
+        } catch (IllegalArgumentException e) {
+            throw new DataAccessException("Invalid enum value in account table", e);
+        }
+    }
+
     @Override
     public List<Account> getAccountsByCustomerId(long customerId) throws SQLException {
 
-        String sql = "SELECT account_id, customer_id, account_type, balance, status, created_at FROM accounts where customer_id=? ";
+        String sql = SqlRegistry.Accounts.BY_CUSTOMER;
 
         List<Account> accounts = new ArrayList<>();
         try (Connection connection = DBConnectionManager.getInstance().getConnection();
@@ -170,7 +295,7 @@ public class AccountDAOImpl implements AccountDAO {
 
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 while (resultSet.next()) {
-                    Account account = mapRowToAccount(resultSet);
+                    Account account = mapRowToAccount(resultSet, connection, false);
                     accounts.add(account);
 
                 }
@@ -183,15 +308,16 @@ public class AccountDAOImpl implements AccountDAO {
 
     @Override
     public List<Account> getAccountsByCustomerId(long customerId, Connection connection) {
-        String sql = "SELECT account_id, customer_id, account_type, balance, status, created_at FROM accounts WHERE customer_id = ?";
+        String sql = SqlRegistry.Accounts.BY_CUSTOMER;
         List<Account> accounts = new ArrayList<>();
 
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement preparedStatement = lease.statement();
             preparedStatement.setLong(1, customerId);
 
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 while (resultSet.next()) {
-                    Account account = mapRowToAccount(resultSet);
+                    Account account = mapRowToAccount(resultSet, connection, false);
                     accounts.add(account);
                 }
             }
@@ -203,19 +329,67 @@ public class AccountDAOImpl implements AccountDAO {
         return accounts;
     }
 
+    @Override
+    public List<AccountSummary> getAccountSummariesByCustomerId(long customerId) throws SQLException {
+        try (Connection connection = DBConnectionManager.getInstance().getReadConnection()) {
+            return getAccountSummariesByCustomerId(customerId, connection);
+        }
+    }
+
+    @Override
+    public List<AccountSummary> getAccountSummariesByCustomerId(long customerId, Connection connection) {
+        String sql = SqlRegistry.Accounts.SUMMARY_BY_CUSTOMER;
+        List<AccountSummary> accounts = new ArrayList<>();
+
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement preparedStatement = lease.statement();
+            preparedStatement.setLong(1, customerId);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    accounts.add(EntityMappers.accountSummary(resultSet, 1));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Error fetching account summaries for customer_id " + customerId, e);
+        } catch (IllegalArgumentException e) {
+            throw new DataAccessException("Invalid enum value in account table", e);
+        }
+
+        return accounts;
+    }
+
 
     @Override
     public void updateBalance(long accountId, BigDecimal newBalance) {
-        String sql = "UPDATE accounts SET balance = ? WHERE account_id = ?";
-        try (Connection connection = DBConnectionManager.getInstance().getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+            updateBalance(accountId, newBalance, connection);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error updating balance for account_id " + accountId, e);
+        }
+    }
 
-            preparedStatement.setBigDecimal(1, newBalance);
-            preparedStatement.setLong(2, accountId);
+    // On a striped account the stripes are emptied in the same transaction, so the new balance is the whole balance.
+    @Override
+    public void updateBalance(long accountId, BigDecimal newBalance, Connection connection) {
+        try {
+            int rowsAffected;
+            if (BalanceStripes.count(accountId, connection) > 0) {
+                rowsAffected = BalanceStripes.inTransaction(connection, () -> {
+                    int rows = setBalance(accountId, newBalance, connection);
+                    BalanceStripes.clear(accountId, connection);
+                    return rows;
+                });
+            } else {
+                rowsAffected = setBalance(accountId, newBalance, connection);
+            }
 
-            int rowsAffected = preparedStatement.executeUpdate();
             if (rowsAffected > 0) {
                 logger.info("Updated balance successfully for account_id {}", accountId);
+                IdentityMap.current(connection)
+                        .flatMap(map -> map.get(Account.class, accountId))
+                        .ifPresent(account -> account.setBalance(newBalance));
             } else {
                 logger.warn("No account found with account_id {}", accountId);
             }
@@ -225,26 +399,287 @@ public class AccountDAOImpl implements AccountDAO {
         }
     }
 
+    private int setBalance(long accountId, BigDecimal newBalance, Connection connection) throws SQLException {
+        try (Statements.Lease lease = Statements.prepare(connection, SqlRegistry.Accounts.SET_BALANCE)) {
+            PreparedStatement preparedStatement = lease.statement();
+            preparedStatement.setBigDecimal(1, newBalance);
+            preparedStatement.setLong(2, accountId);
+            return preparedStatement.executeUpdate();
+        }
+    }
+
+
+    // Credits to a striped account go to one of its stripes. Debits go to the accounts row, pulling the
+    // stripes into it first if the row alone cannot cover them, as withdraw does.
     @Override
-    public void updateBalance(long accountId, BigDecimal newBalance, Connection connection) {
-        String sql = "UPDATE accounts SET balance = ? WHERE account_id = ?";
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+    public void adjustBalance(long accountId, BigDecimal delta, Connection connection) {
+        try {
+            if (delta.signum() != 0 && BalanceStripes.count(accountId, connection) > 0) {
+                boolean applied = BalanceStripes.inTransaction(connection, () -> delta.signum() > 0
+                        ? BalanceStripes.deposit(accountId, delta, connection)
+                        : debitStriped(accountId, delta.negate(), connection));
+                if (applied) {
+                    IdentityMap.current(connection).ifPresent(map -> map.evict(Account.class, accountId));
+                    return;
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error adjusting balance for account_id " + accountId, e);
+        }
 
-            preparedStatement.setBigDecimal(1, newBalance);
+        String sql = SqlRegistry.Accounts.ADD_TO_BALANCE;
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement preparedStatement = lease.statement();
+
+            preparedStatement.setBigDecimal(1, delta);
             preparedStatement.setLong(2, accountId);
 
             int rowsAffected = preparedStatement.executeUpdate();
-            if (rowsAffected > 0) {
-                logger.info("Updated balance successfully for account_id {}", accountId);
+            if (rowsAffected == 0) {
+                throw new DataAccessException("No account found with account_id " + accountId + ", balance adjustment failed");
+            }
+            IdentityMap.current(connection).ifPresent(map -> map.evict(Account.class, accountId));
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Error adjusting balance for account_id " + accountId, e);
+        }
+    }
+
+
+    @Override
+    public void deposit(long accountId, BigDecimal amount) {
+        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+            deposit(accountId, amount, connection);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error depositing to account_id " + accountId, e);
+        }
+    }
+
+    @Override
+    public void deposit(long accountId, BigDecimal amount, Connection connection) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("Deposit amount must be greater than zero");
+        }
+        adjustBalance(accountId, amount, connection);
+    }
+
+    @Override
+    public boolean withdraw(long accountId, BigDecimal amount) {
+        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+            return withdraw(accountId, amount, connection);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error withdrawing from account_id " + accountId, e);
+        }
+    }
+
+    @Override
+    public boolean withdraw(long accountId, BigDecimal amount, Connection connection) {
+        if (amount == null || amount.signum() <= 0) {
+            throw new IllegalArgumentException("Withdrawal amount must be greater than zero");
+        }
+
+        // The overdraft check and the debit happen in the same statement, so no row lock is held across round trips.
+        String sql = SqlRegistry.Accounts.WITHDRAW;
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement preparedStatement = lease.statement();
+
+            preparedStatement.setBigDecimal(1, amount);
+            preparedStatement.setLong(2, accountId);
+            preparedStatement.setBigDecimal(3, amount);
+
+            int rowsAffected = preparedStatement.executeUpdate();
+            if (rowsAffected == 0 && BalanceStripes.count(accountId, connection) > 0) {
+                // The accounts row alone is short; move the stripes into it and try once more.
+                rowsAffected = BalanceStripes.inTransaction(connection,
+                        () -> consolidateAndWithdraw(accountId, amount, connection));
+            }
+            IdentityMap.current(connection).ifPresent(map -> map.evict(Account.class, accountId));
+            if (rowsAffected == 0) {
+                rejectedWithdrawals.increment();
+                logger.warn("Withdrawal of {} rejected for account_id {}: insufficient funds or no such account", amount, accountId);
+                return false;
+            }
+            return true;
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Error withdrawing from account_id " + accountId, e);
+        }
+    }
+
+    private int consolidateAndWithdraw(long accountId, BigDecimal amount, Connection connection) throws SQLException {
+        if (!consolidate(accountId, connection)) {
+            return 0;
+        }
+        return withdrawFromRow(accountId, amount, connection);
+    }
+
+    // Unconditional debit of a striped account (the caller has checked the funds); false if there is no such account.
+    private boolean debitStriped(long accountId, BigDecimal amount, Connection connection) throws SQLException {
+        if (withdrawFromRow(accountId, amount, connection) > 0) {
+            return true;
+        }
+        if (!consolidate(accountId, connection)) {
+            return false;
+        }
+        addToRow(accountId, amount.negate(), connection);
+        return true;
+    }
+
+    // Locks the accounts row, then the stripes, and moves the stripes' balance into the row. False if there is no such account.
+    private boolean consolidate(long accountId, Connection connection) throws SQLException {
+        if (lockVersion(accountId, connection) < 0) {
+            return false;
+        }
+        BalanceStripes.Totals stripes = BalanceStripes.lockTotals(accountId, connection);
+        if (stripes.balance().signum() != 0) {
+            addToRow(accountId, stripes.balance(), connection);
+            BalanceStripes.clear(accountId, connection);
+        }
+        return true;
+    }
+
+    private int withdrawFromRow(long accountId, BigDecimal amount, Connection connection) throws SQLException {
+        try (Statements.Lease lease = Statements.prepare(connection, SqlRegistry.Accounts.WITHDRAW)) {
+            PreparedStatement preparedStatement = lease.statement();
+            preparedStatement.setBigDecimal(1, amount);
+            preparedStatement.setLong(2, accountId);
+            preparedStatement.setBigDecimal(3, amount);
+            return preparedStatement.executeUpdate();
+        }
+    }
+
+    private void addToRow(long accountId, BigDecimal delta, Connection connection) throws SQLException {
+        try (Statements.Lease lease = Statements.prepare(connection, SqlRegistry.Accounts.ADD_TO_BALANCE)) {
+            PreparedStatement preparedStatement = lease.statement();
+            preparedStatement.setBigDecimal(1, delta);
+            preparedStatement.setLong(2, accountId);
+            preparedStatement.executeUpdate();
+        }
+    }
+
+    // Locks the accounts row and returns its own version (stripes not included), or -1 if there is no such account.
+    private long lockVersion(long accountId, Connection connection) throws SQLException {
+        try (Statements.Lease lease = Statements.prepare(connection, SqlRegistry.BalanceStripes.VERSION_FOR_UPDATE)) {
+            PreparedStatement preparedStatement = lease.statement();
+            preparedStatement.setLong(1, accountId);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : -1;
+            }
+        }
+    }
+
+    @Override
+    public boolean compareAndSetBalance(long accountId, long expectedVersion, BigDecimal newBalance) {
+        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+            return compareAndSetBalance(accountId, expectedVersion, newBalance, connection);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error updating balance for account_id " + accountId, e);
+        }
+    }
+
+    // A striped account's version includes its stripes, so a deposit since the caller's read is a conflict too.
+    @Override
+    public boolean compareAndSetBalance(long accountId, long expectedVersion, BigDecimal newBalance, Connection connection) {
+        try {
+            int rowsAffected;
+            if (BalanceStripes.count(accountId, connection) > 0) {
+                rowsAffected = BalanceStripes.inTransaction(connection, () -> {
+                    long ownVersion = lockVersion(accountId, connection);
+                    BalanceStripes.Totals stripes = BalanceStripes.lockTotals(accountId, connection);
+                    if (ownVersion < 0 || ownVersion + stripes.version() != expectedVersion) {
+                        return 0;
+                    }
+                    int rows = setBalanceIfVersion(accountId, ownVersion, newBalance, connection);
+                    BalanceStripes.clear(accountId, connection);
+                    return rows;
+                });
             } else {
-                logger.warn("No account found with account_id {}", accountId);
+                rowsAffected = setBalanceIfVersion(accountId, expectedVersion, newBalance, connection);
+            }
+
+            IdentityMap.current(connection).ifPresent(map -> map.evict(Account.class, accountId));
+            if (rowsAffected == 0) {
+                optimisticConflicts.increment();
+                logger.debug("Version conflict updating account_id {} at version {}", accountId, expectedVersion);
+                return false;
             }
+            return true;
 
         } catch (SQLException e) {
             throw new DataAccessException("Error updating balance for account_id " + accountId, e);
         }
     }
 
+    private int setBalanceIfVersion(long accountId, long expectedVersion, BigDecimal newBalance,
+                                    Connection connection) throws SQLException {
+        try (Statements.Lease lease = Statements.prepare(connection, SqlRegistry.Accounts.COMPARE_AND_SET_BALANCE)) {
+            PreparedStatement preparedStatement = lease.statement();
+            preparedStatement.setBigDecimal(1, newBalance);
+            preparedStatement.setLong(2, accountId);
+            preparedStatement.setLong(3, expectedVersion);
+            return preparedStatement.executeUpdate();
+        }
+    }
+
+    @Override
+    public void setBalanceStripes(long accountId, int stripes) {
+        if (stripes < 0 || stripes > MAX_BALANCE_STRIPES) {
+            throw new IllegalArgumentException("stripes must be between 0 and " + MAX_BALANCE_STRIPES);
+        }
+        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+            boolean found = BalanceStripes.inTransaction(connection, () -> restripe(accountId, stripes, connection));
+            if (found) {
+                BalanceStripes.remember(accountId, stripes);
+                IdentityMap.current(connection).ifPresent(map -> map.evict(Account.class, accountId));
+                logger.info("Account with account_id {} now has {} balance stripe(s)", accountId, stripes);
+            } else {
+                logger.warn("No account found with account_id {}", accountId);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error striping balance of account_id " + accountId, e);
+        }
+    }
+
+    // Folds the old stripes into the accounts row, then creates the new, empty ones.
+    private boolean restripe(long accountId, int stripes, Connection connection) throws SQLException {
+        try (Statements.Lease lease = Statements.prepare(connection, SqlRegistry.BalanceStripes.COUNT_FOR_UPDATE)) {
+            PreparedStatement preparedStatement = lease.statement();
+            preparedStatement.setLong(1, accountId);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return false;
+                }
+            }
+        }
+        BalanceStripes.Totals old = BalanceStripes.lockTotals(accountId, connection);
+
+        try (Statements.Lease lease = Statements.prepare(connection, SqlRegistry.BalanceStripes.DELETE)) {
+            PreparedStatement preparedStatement = lease.statement();
+            preparedStatement.setLong(1, accountId);
+            preparedStatement.executeUpdate();
+        }
+        try (Statements.Lease lease = Statements.prepare(connection, SqlRegistry.BalanceStripes.RESTRIPE)) {
+            PreparedStatement preparedStatement = lease.statement();
+            preparedStatement.setBigDecimal(1, old.balance());
+            preparedStatement.setLong(2, old.version());
+            preparedStatement.setInt(3, stripes);
+            preparedStatement.setLong(4, accountId);
+            preparedStatement.executeUpdate();
+        }
+        if (stripes > 0) {
+            try (Statements.Lease lease = Statements.prepare(connection, SqlRegistry.BalanceStripes.INSERT)) {
+                PreparedStatement preparedStatement = lease.statement();
+                for (int stripe = 0; stripe < stripes; stripe++) {
+                    preparedStatement.setLong(1, accountId);
+                    preparedStatement.setInt(2, stripe);
+                    preparedStatement.addBatch();
+                }
+                preparedStatement.executeBatch();
+            }
+        }
+        return true;
+    }
+
 
     @Override
     public void deleteAccount(long accountId) {
@@ -253,7 +688,7 @@ public class AccountDAOImpl implements AccountDAO {
             return;
         }
 
-        String sql = "DELETE FROM accounts WHERE account_id = ?";
+        String sql = SqlRegistry.Accounts.DELETE;
 
         try (Connection connection = DBConnectionManager.getInstance().getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
@@ -279,15 +714,17 @@ public class AccountDAOImpl implements AccountDAO {
             return;
         }
 
-        String sql = "DELETE FROM accounts WHERE account_id = ?";
+        String sql = SqlRegistry.Accounts.DELETE;
 
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement preparedStatement = lease.statement();
 
             preparedStatement.setLong(1, accountId);
             int rowsAffected = preparedStatement.executeUpdate();
 
             if (rowsAffected > 0) {
                 logger.info("Account with account_id {} deleted successfully", accountId);
+                IdentityMap.current(connection).ifPresent(map -> map.evict(Account.class, accountId));
             } else {
                 logger.warn("No account found with account_id: {}", accountId);
             }
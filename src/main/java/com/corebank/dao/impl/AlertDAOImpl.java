@@ -1,12 +1,13 @@
 package com.corebank.dao.impl;
 
 import com.corebank.dao.AlertDAO;
-import com.corebank.dao.AccountDAO;
-import com.corebank.dao.UserDAO;
+import com.corebank.dao.IdentityMap;
 import com.corebank.db.DBConnectionManager;
 import com.corebank.exception.DataAccessException;
 import com.corebank.model.Alert;
+import com.corebank.model.AlertSummary;
 import com.corebank.model.Account;
+import com.corebank.model.Customer;
 import com.corebank.model.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,40 +16,59 @@ import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class AlertDAOImpl implements AlertDAO {
 
-    private AccountDAO accountDAO = new AccountDAOImpl();
-    private UserDAO userDAO = new UserDAOImpl();
     private Logger logger = LoggerFactory.getLogger(AlertDAOImpl.class);
 
+    public AlertDAOImpl() {
+    }
+
+    // Row of an Alerts.JOINED_SELECT query. The account's stripes are already summed in by the query.
     private Alert mapRowToAlert(ResultSet rs) {
         try {
-            long alertId = rs.getLong("alert_id");
-            long accountId = rs.getLong("account_id");
-            Long userId = rs.getObject("user_id") != null ? rs.getLong("user_id") : null;
-            String type = rs.getString("type");
-            String message = rs.getString("message");
-            String statusStr = rs.getString("status");
-            Timestamp ts = rs.getTimestamp("created_at");
+            Optional<IdentityMap> identityMap = IdentityMap.current();
+
+            int customerAt = SqlRegistry.Alerts.JOINED_CUSTOMER;
+            long customerId = rs.getLong(customerAt + SqlRegistry.Customers.CUSTOMER_ID);
+            Customer mappedCustomer = EntityMappers.customer(rs, customerAt);
+            Customer customer = identityMap.map(map -> map.register(Customer.class, customerId, mappedCustomer))
+                    .orElse(mappedCustomer);
 
-            Account account = accountDAO.getAccountById(accountId)
-                    .orElseThrow(() -> new DataAccessException("Account not found for id: " + accountId));
+            Account mappedAccount = EntityMappers.account(rs, SqlRegistry.Alerts.JOINED_ACCOUNT, customer);
+            BalanceStripes.remember(mappedAccount.getAccountId(), mappedAccount.getBalanceStripes());
+            Account account = identityMap.map(map -> map.register(Account.class, mappedAccount.getAccountId(), mappedAccount))
+                    .orElse(mappedAccount);
 
             User user = null;
-            if (userId != null) {
-                user = userDAO.getUser(userId)
-                        .orElse(null);
+            int userAt = SqlRegistry.Alerts.JOINED_USER;
+            long userId = rs.getLong(userAt + SqlRegistry.Users.USER_ID);
+            if (!rs.wasNull()) {
+                User mappedUser = EntityMappers.user(rs, userAt, role(rs.getString(userAt + SqlRegistry.Users.ROLE), userId));
+                user = identityMap.map(map -> map.register(User.class, userId, mappedUser)).orElse(mappedUser);
             }
 
-            Alert.Status status = statusStr != null
-                    ? Alert.Status.valueOf(statusStr.trim().toUpperCase())
-                    : Alert.Status.PENDING;
-
-            return new Alert(alertId, account, user, type, message, status, ts != null ? ts.toLocalDateTime() : null);
+            return EntityMappers.alert(rs, 1, account, user);
 
         } catch (SQLException e) {
             throw new DataAccessException("Error mapping alert from ResultSet", e);
+        } catch (IllegalArgumentException e) {
+            throw new DataAccessException("Invalid enum value in alert row", e);
+        }
+    }
+
+    // An unknown role maps to null, as UserDAOImpl reads it.
+    private User.Role role(String value, long userId) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return EntityMappers.ROLES.parse(value);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid role for user_id {}: '{}'", userId, value);
+            return null;
         }
     }
 
@@ -63,15 +83,9 @@ public class AlertDAOImpl implements AlertDAO {
 
     @Override
     public long createAlert(Alert alert, Connection connection) {
-        String sql = "INSERT INTO alerts(account_id, user_id, type, message, status, created_at) VALUES (?,?,?,?,?,?)";
-        try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            ps.setLong(1, alert.getAccount().getAccountId());
-            if (alert.getUser() != null) ps.setLong(2, alert.getUser().getUserId());
-            else ps.setNull(2, Types.BIGINT);
-            ps.setString(3, alert.getType());
-            ps.setString(4, alert.getMessage());
-            ps.setString(5, alert.getStatus() != null ? alert.getStatus().name() : Alert.Status.PENDING.name());
-            ps.setTimestamp(6, alert.getCreatedAt() != null ? Timestamp.valueOf(alert.getCreatedAt()) : null);
+        try (Statements.Lease lease = Statements.prepareReturningKeys(connection, SqlRegistry.Alerts.INSERT)) {
+            PreparedStatement ps = lease.statement();
+            bindInsert(ps, alert);
 
             int rowsAffected = ps.executeUpdate();
             if (rowsAffected > 0) {
@@ -93,6 +107,42 @@ public class AlertDAOImpl implements AlertDAO {
         }
     }
 
+    @Override
+    public int createAlerts(List<Alert> alerts) {
+        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+            return JdbcBatch.insertInTransaction(connection, SqlRegistry.Alerts.INSERT, alerts, JdbcBatch.DEFAULT_BATCH_SIZE,
+                    this::bindInsert, Alert::setAlertId);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error batch inserting alerts", e);
+        }
+    }
+
+    @Override
+    public int createAlerts(List<Alert> alerts, Connection connection) {
+        return createAlerts(alerts, JdbcBatch.DEFAULT_BATCH_SIZE, connection);
+    }
+
+    @Override
+    public int createAlerts(List<Alert> alerts, int batchSize, Connection connection) {
+        try {
+            int inserted = JdbcBatch.insert(connection, SqlRegistry.Alerts.INSERT, alerts, batchSize, this::bindInsert, Alert::setAlertId);
+            logger.info("Batch inserted {} alerts", inserted);
+            return inserted;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error batch inserting alerts", e);
+        }
+    }
+
+    private void bindInsert(PreparedStatement ps, Alert alert) throws SQLException {
+        ps.setLong(1, alert.getAccount().getAccountId());
+        if (alert.getUser() != null) ps.setLong(2, alert.getUser().getUserId());
+        else ps.setNull(2, Types.BIGINT);
+        ps.setString(3, alert.getType());
+        ps.setString(4, alert.getMessage());
+        ps.setString(5, alert.getStatus() != null ? alert.getStatus().name() : Alert.Status.PENDING.name());
+        ps.setTimestamp(6, alert.getCreatedAt() != null ? Timestamp.valueOf(alert.getCreatedAt()) : null);
+    }
+
     @Override
     public Optional<Alert> getAlertById(long alertId) {
         try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
@@ -104,8 +154,9 @@ public class AlertDAOImpl implements AlertDAO {
 
     @Override
     public Optional<Alert> getAlertById(long alertId, Connection connection) {
-        String sql = "SELECT * FROM alerts WHERE alert_id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        String sql = SqlRegistry.Alerts.JOINED_BY_ID;
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement ps = lease.statement();
             ps.setLong(1, alertId);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) return Optional.of(mapRowToAlert(rs));
@@ -118,7 +169,7 @@ public class AlertDAOImpl implements AlertDAO {
 
     @Override
     public List<Alert> getAlertsByAccountId(long accountId) {
-        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+        try (Connection connection = DBConnectionManager.getInstance().getReadConnection()) {
             return getAlertsByAccountId(accountId, connection);
         } catch (SQLException e) {
             throw new DataAccessException("Error fetching alerts for account id " + accountId, e);
@@ -127,9 +178,10 @@ public class AlertDAOImpl implements AlertDAO {
 
     @Override
     public List<Alert> getAlertsByAccountId(long accountId, Connection connection) {
-        String sql = "SELECT * FROM alerts WHERE account_id = ?";
+        String sql = SqlRegistry.Alerts.JOINED_BY_ACCOUNT;
         List<Alert> alerts = new ArrayList<>();
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement ps = lease.statement();
             ps.setLong(1, accountId);
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
@@ -144,7 +196,7 @@ public class AlertDAOImpl implements AlertDAO {
 
     @Override
     public List<Alert> getAlertsByUserId(long userId) {
-        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+        try (Connection connection = DBConnectionManager.getInstance().getReadConnection()) {
             return getAlertsByUserId(userId, connection);
         } catch (SQLException e) {
             throw new DataAccessException("Error fetching alerts for user id " + userId, e);
@@ -153,9 +205,10 @@ public class AlertDAOImpl implements AlertDAO {
 
     @Override
     public List<Alert> getAlertsByUserId(long userId, Connection connection) {
-        String sql = "SELECT * FROM alerts WHERE user_id = ?";
+        String sql = SqlRegistry.Alerts.JOINED_BY_USER;
         List<Alert> alerts = new ArrayList<>();
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement ps = lease.statement();
             ps.setLong(1, userId);
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) alerts.add(mapRowToAlert(rs));
@@ -168,7 +221,7 @@ public class AlertDAOImpl implements AlertDAO {
 
     @Override
     public List<Alert> getAlertsByStatus(Alert.Status status) {
-        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+        try (Connection connection = DBConnectionManager.getInstance().getReadConnection()) {
             return getAlertsByStatus(status, connection);
         } catch (SQLException e) {
             throw new DataAccessException("Error fetching alerts with status " + status, e);
@@ -177,9 +230,10 @@ public class AlertDAOImpl implements AlertDAO {
 
     @Override
     public List<Alert> getAlertsByStatus(Alert.Status status, Connection connection) {
-        String sql = "SELECT * FROM alerts WHERE status = ?";
+        String sql = SqlRegistry.Alerts.JOINED_BY_STATUS;
         List<Alert> alerts = new ArrayList<>();
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement ps = lease.statement();
             ps.setString(1, status.name());
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) alerts.add(mapRowToAlert(rs));
@@ -190,6 +244,56 @@ public class AlertDAOImpl implements AlertDAO {
         return alerts;
     }
 
+    @Override
+    public List<AlertSummary> getAlertSummariesByAccountId(long accountId) {
+        try (Connection connection = DBConnectionManager.getInstance().getReadConnection()) {
+            return getAlertSummariesByAccountId(accountId, connection);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error fetching alert summaries for account id " + accountId, e);
+        }
+    }
+
+    @Override
+    public List<AlertSummary> getAlertSummariesByAccountId(long accountId, Connection connection) {
+        String sql = SqlRegistry.Alerts.BY_ACCOUNT;
+        List<AlertSummary> alerts = new ArrayList<>();
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement ps = lease.statement();
+            ps.setLong(1, accountId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) alerts.add(EntityMappers.alertSummary(rs, 1));
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error fetching alert summaries for account id " + accountId, e);
+        }
+        return alerts;
+    }
+
+    @Override
+    public List<AlertSummary> getAlertSummariesByStatus(Alert.Status status) {
+        try (Connection connection = DBConnectionManager.getInstance().getReadConnection()) {
+            return getAlertSummariesByStatus(status, connection);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error fetching alert summaries with status " + status, e);
+        }
+    }
+
+    @Override
+    public List<AlertSummary> getAlertSummariesByStatus(Alert.Status status, Connection connection) {
+        String sql = SqlRegistry.Alerts.BY_STATUS;
+        List<AlertSummary> alerts = new ArrayList<>();
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement ps = lease.statement();
+            ps.setString(1, status.name());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) alerts.add(EntityMappers.alertSummary(rs, 1));
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error fetching alert summaries with status " + status, e);
+        }
+        return alerts;
+    }
+
     @Override
     public void updateAlertStatus(long alertId, Alert.Status newStatus) {
         try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
@@ -201,8 +305,9 @@ public class AlertDAOImpl implements AlertDAO {
 
     @Override
     public void updateAlertStatus(long alertId, Alert.Status newStatus, Connection connection) {
-        String sql = "UPDATE alerts SET status = ? WHERE alert_id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        String sql = SqlRegistry.Alerts.UPDATE_STATUS;
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement ps = lease.statement();
             ps.setString(1, newStatus.name());
             ps.setLong(2, alertId);
             int rows = ps.executeUpdate();
@@ -225,8 +330,9 @@ public class AlertDAOImpl implements AlertDAO {
 
     @Override
     public void deleteAlert(long alertId, Connection connection) {
-        String sql = "DELETE FROM alerts WHERE alert_id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        String sql = SqlRegistry.Alerts.DELETE;
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement ps = lease.statement();
             ps.setLong(1, alertId);
             int rows = ps.executeUpdate();
             if (rows > 0) logger.info("Alert with id {} deleted successfully", alertId);
@@ -238,7 +344,7 @@ public class AlertDAOImpl implements AlertDAO {
 
     @Override
     public List<Alert> getAllAlerts() {
-        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+        try (Connection connection = DBConnectionManager.getInstance().getReadConnection()) {
             return getAllAlerts(connection);
         } catch (SQLException e) {
             throw new DataAccessException("Error fetching all alerts", e);
@@ -247,7 +353,7 @@ public class AlertDAOImpl implements AlertDAO {
 
     @Override
     public List<Alert> getAllAlerts(Connection connection) {
-        String sql = "SELECT * FROM alerts";
+        String sql = SqlRegistry.Alerts.JOINED_ALL;
         List<Alert> alerts = new ArrayList<>();
         try (PreparedStatement ps = connection.prepareStatement(sql);
              ResultSet rs = ps.executeQuery()) {
@@ -257,4 +363,21 @@ public class AlertDAOImpl implements AlertDAO {
         }
         return alerts;
     }
+
+    @Override
+    public Stream<Alert> streamAllAlerts() {
+        try {
+            Connection connection = DBConnectionManager.getInstance().getReadConnection();
+            return ResultSetStreams.stream(connection, SqlRegistry.Alerts.JOINED_ALL, this::mapRowToAlert);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error streaming all alerts", e);
+        }
+    }
+
+    @Override
+    public void forEachAlert(Consumer<Alert> action) {
+        try (Stream<Alert> alerts = streamAllAlerts()) {
+            alerts.forEach(action);
+        }
+    }
 }
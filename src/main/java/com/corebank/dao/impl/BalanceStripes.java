@@ -0,0 +1,193 @@
+package com.corebank.dao.impl;
+
+import com.corebank.model.Account;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sub-balance rows of striped (hot) accounts, see V5__balance_stripes.sql. A striped account's balance
+ * is its accounts row plus the sum of its stripe rows; deposits go to one stripe, chosen at random,
+ * so concurrent depositors mostly lock different rows.
+ * <p>
+ * Locks are taken on the accounts row first, then the stripe rows, everywhere. Deposits hold the
+ * accounts row in share mode, so they do not queue behind each other; debits, restriping and
+ * locking reads hold it exclusively.
+ * <p>
+ * Which accounts are striped is kept in a process-wide map: every account read records its stripe
+ * count, and the map is reloaded from the database every corebank.dao.stripeRefreshSeconds
+ * (default 30) so accounts striped by another process are picked up. A write that misses a newly
+ * striped account goes to the accounts row, which is still correct, just contended.
+ */
+final class BalanceStripes {
+
+    private static final long REFRESH_NANOS =
+            TimeUnit.SECONDS.toNanos(Integer.getInteger("corebank.dao.stripeRefreshSeconds", 30));
+
+    private static final Map<Long, Integer> striped = new ConcurrentHashMap<>();
+    private static volatile long nextRefresh = System.nanoTime();
+    private static volatile String shareLock;
+
+    @FunctionalInterface
+    interface Work<T> {
+        T run() throws SQLException;
+    }
+
+    // Stripe balances and versions of one account, summed; rows is 0 if it has no stripes.
+    record Totals(BigDecimal balance, long version, int rows) {
+    }
+
+    private BalanceStripes() {
+    }
+
+    // Stripe count of the account as last seen; 0 if it is not known to be striped.
+    static int count(long accountId, Connection connection) throws SQLException {
+        if (System.nanoTime() - nextRefresh >= 0) {
+            refresh(connection);
+        }
+        return striped.getOrDefault(accountId, 0);
+    }
+
+    static void remember(long accountId, int stripes) {
+        if (stripes > 0) {
+            striped.put(accountId, stripes);
+        } else {
+            striped.remove(accountId);
+        }
+    }
+
+    private static void refresh(Connection connection) throws SQLException {
+        // Concurrent refreshes are harmless; pushing the deadline first just keeps them rare.
+        nextRefresh = System.nanoTime() + REFRESH_NANOS;
+        Map<Long, Integer> loaded = new ConcurrentHashMap<>();
+        try (Statements.Lease lease = Statements.prepare(connection, SqlRegistry.BalanceStripes.STRIPED);
+             ResultSet resultSet = lease.statement().executeQuery()) {
+            while (resultSet.next()) {
+                loaded.put(resultSet.getLong(1), resultSet.getInt(2));
+            }
+        }
+        striped.keySet().retainAll(loaded.keySet());
+        striped.putAll(loaded);
+    }
+
+    // Random rather than per thread: pooled or virtual threads would otherwise pile onto the same few stripes.
+    static int pick(int stripes) {
+        return ThreadLocalRandom.current().nextInt(stripes);
+    }
+
+    // Locks the stripes of a freshly locked account row and adds them to its balance and version; call it
+    // before the account is registered in an IdentityMap. The stripe rows stay locked until the transaction
+    // ends, as getAccountByIdForUpdate promises for the accounts row. Non-locking reads sum the stripes in
+    // their own statement instead (SqlRegistry.Accounts.foldedColumns) and only remember the count.
+    static void foldLocked(Account account, Connection connection) throws SQLException {
+        remember(account.getAccountId(), account.getBalanceStripes());
+        if (!account.isStriped()) {
+            return;
+        }
+        String sql = SqlRegistry.BalanceStripes.ROWS_FOR_UPDATE;
+        BigDecimal balance = account.getBalance();
+        long version = account.getVersion();
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement preparedStatement = lease.statement();
+            preparedStatement.setLong(1, account.getAccountId());
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    balance = balance.add(resultSet.getBigDecimal(1));
+                    version += resultSet.getLong(2);
+                }
+            }
+        }
+        account.setBalance(balance);
+        account.setVersion(version);
+    }
+
+    // Credits one stripe after taking the accounts row in share mode, which also reads the current stripe count
+    // (restriping holds the row exclusively). Run it inside a transaction (see inTransaction), or the share lock
+    // is gone before the stripe is written. False if the account is not striped any more, or does not exist.
+    static boolean deposit(long accountId, BigDecimal amount, Connection connection) throws SQLException {
+        int stripes;
+        try (Statements.Lease lease = Statements.prepare(connection, shareLock(connection))) {
+            PreparedStatement preparedStatement = lease.statement();
+            preparedStatement.setLong(1, accountId);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                stripes = resultSet.next() ? resultSet.getInt(1) : 0;
+            }
+        }
+        remember(accountId, stripes);
+        if (stripes == 0) {
+            return false;
+        }
+        try (Statements.Lease lease = Statements.prepare(connection, SqlRegistry.BalanceStripes.DEPOSIT)) {
+            PreparedStatement preparedStatement = lease.statement();
+            preparedStatement.setBigDecimal(1, amount);
+            preparedStatement.setLong(2, accountId);
+            preparedStatement.setInt(3, pick(stripes));
+            return preparedStatement.executeUpdate() > 0;
+        }
+    }
+
+    // H2 (tests, benchmarks) has no shared row locks; there a deposit locks the accounts row exclusively,
+    // which keeps the lock order but serialises depositors, so striping only pays off on MySQL.
+    private static String shareLock(Connection connection) throws SQLException {
+        String sql = shareLock;
+        if (sql == null) {
+            sql = "MySQL".equals(connection.getMetaData().getDatabaseProductName())
+                    ? SqlRegistry.BalanceStripes.COUNT_FOR_SHARE : SqlRegistry.BalanceStripes.COUNT_FOR_UPDATE;
+            shareLock = sql;
+        }
+        return sql;
+    }
+
+    // Locks the stripe rows and sums them. The caller must already hold the accounts row lock:
+    // accounts row first, then stripes, everywhere, so two writers cannot deadlock on them.
+    static Totals lockTotals(long accountId, Connection connection) throws SQLException {
+        BigDecimal balance = BigDecimal.ZERO;
+        long version = 0;
+        int rows = 0;
+        try (Statements.Lease lease = Statements.prepare(connection, SqlRegistry.BalanceStripes.ROWS_FOR_UPDATE)) {
+            PreparedStatement preparedStatement = lease.statement();
+            preparedStatement.setLong(1, accountId);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    balance = balance.add(resultSet.getBigDecimal(1));
+                    version += resultSet.getLong(2);
+                    rows++;
+                }
+            }
+        }
+        return new Totals(balance, version, rows);
+    }
+
+    static void clear(long accountId, Connection connection) throws SQLException {
+        try (Statements.Lease lease = Statements.prepare(connection, SqlRegistry.BalanceStripes.CLEAR)) {
+            PreparedStatement preparedStatement = lease.statement();
+            preparedStatement.setLong(1, accountId);
+            preparedStatement.executeUpdate();
+        }
+    }
+
+    // Runs work in its own transaction on an auto-commit connection, or in the caller's otherwise.
+    static <T> T inTransaction(Connection connection, Work<T> work) throws SQLException {
+        if (!connection.getAutoCommit()) {
+            return work.run();
+        }
+        connection.setAutoCommit(false);
+        try {
+            T result = work.run();
+            connection.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(true);
+        }
+    }
+}
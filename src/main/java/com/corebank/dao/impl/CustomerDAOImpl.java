@@ -1,6 +1,7 @@
 package com.corebank.dao.impl;
 
 import com.corebank.dao.CustomerDAO;
+import com.corebank.dao.IdentityMap;
 import com.corebank.db.DBConnectionManager;
 import com.corebank.exception.DataAccessException;
 import com.corebank.model.Customer;
@@ -9,20 +10,28 @@ import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class CustomerDAOImpl implements CustomerDAO {
 
     Logger logger = LoggerFactory.getLogger(CustomerDAOImpl.class);
 
+    private Customer mapRowToCustomer(ResultSet resultSet) throws SQLException {
+        return EntityMappers.customer(resultSet, 1);
+    }
+
     @Override
     public Customer registerCustomer(Customer customer) {
 
-        String sql = "INSERT INTO customers(first_name,last_name,dob,email,phone,address) VALUES (?,?,?,?,?,?)";
+        String sql = SqlRegistry.Customers.INSERT;
 
         try (Connection connection = DBConnectionManager.getInstance().getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
@@ -70,8 +79,7 @@ public class CustomerDAOImpl implements CustomerDAO {
             return Optional.empty();
         }
 
-        String sql = "SELECT customer_id, first_name, last_name, dob, email, phone, address, created_at FROM customers " +
-                "WHERE customer_id = ?";
+        String sql = SqlRegistry.Customers.BY_ID;
 
         try (Connection connection = DBConnectionManager.getInstance().getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
@@ -80,21 +88,7 @@ public class CustomerDAOImpl implements CustomerDAO {
 
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 if (resultSet.next()) {
-                    long customerId = resultSet.getLong("customer_id");
-                    String firstName = resultSet.getString("first_name");
-                    String lastName = resultSet.getString("last_name");
-
-                    Date date = resultSet.getDate("dob");
-                    LocalDate dob = (date != null) ? date.toLocalDate() : null;
-
-                    String email = resultSet.getString("email");
-                    String phone = resultSet.getString("phone");
-                    String address = resultSet.getString("address");
-
-                    Timestamp ts = resultSet.getTimestamp("created_at");
-                    LocalDateTime createdAt = (ts != null) ? ts.toLocalDateTime() : null;
-
-                    Customer customer = new Customer(customerId, firstName, lastName, dob, email, phone, address, createdAt);
+                    Customer customer = mapRowToCustomer(resultSet);
                     return Optional.of(customer);
                 } else {
                     return Optional.empty();
@@ -107,34 +101,53 @@ public class CustomerDAOImpl implements CustomerDAO {
         }
     }
 
+    @Override
+    public Map<Long, Customer> getCustomersByIds(Collection<Long> ids) {
+
+        InList inList = SqlRegistry.Customers.BY_IDS;
+        List<long[]> chunks = inList.chunks(ids);
+        if (chunks.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, Customer> customers = new HashMap<>();
+
+        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+            for (long[] chunk : chunks) {
+                try (Statements.Lease lease = Statements.prepare(connection, inList.sql(chunk.length))) {
+                    PreparedStatement preparedStatement = lease.statement();
+                    inList.bind(preparedStatement, 1, chunk);
+
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        while (resultSet.next()) {
+                            Customer customer = mapRowToCustomer(resultSet);
+                            customers.put(customer.getCustomerId(), customer);
+                        }
+                    }
+                }
+            }
+
+        } catch (SQLException e) {
+            logger.error("Error fetching {} customers by id", ids.size(), e);
+            throw new DataAccessException("Error fetching customers by id", e);
+        }
+
+        return customers;
+    }
+
 
     @Override
     public List<Customer> getAllCustomers() {
 
-        String sql = "SELECT customer_id, first_name, last_name, dob, email, phone, address,created_at FROM customers";
+        String sql = SqlRegistry.Customers.ALL;
         List<Customer> customers = new ArrayList<>();
 
-        try (Connection connection = DBConnectionManager.getInstance().getConnection();
+        try (Connection connection = DBConnectionManager.getInstance().getReadConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
 
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
 
                 while (resultSet.next()) {
-                    long customer_id = resultSet.getLong("customer_id");
-                    String firstName = resultSet.getString("first_name");
-                    String lastName = resultSet.getString("last_name");
-
-                    Date date = resultSet.getDate("dob");
-                    LocalDate dob = (date != null) ? date.toLocalDate() : null;
-
-                    String email = resultSet.getString("email");
-                    String phone = resultSet.getString("phone");
-                    String address = resultSet.getString("address");
-
-                    Timestamp ts = resultSet.getTimestamp("created_at");
-                    LocalDateTime createdAt = (ts != null) ? ts.toLocalDateTime() : null;
-
-                    Customer customer = new Customer(customer_id, firstName, lastName, dob, email, phone, address, createdAt);
+                    Customer customer = mapRowToCustomer(resultSet);
                     customers.add(customer);
 
                 }
@@ -148,11 +161,26 @@ public class CustomerDAOImpl implements CustomerDAO {
         return customers;
     }
 
+    @Override
+    public Stream<Customer> streamAllCustomers() {
+        try {
+            Connection connection = DBConnectionManager.getInstance().getReadConnection();
+            return ResultSetStreams.stream(connection, SqlRegistry.Customers.ALL, this::mapRowToCustomer);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error streaming all customers", e);
+        }
+    }
+
+    @Override
+    public void forEachCustomer(Consumer<Customer> action) {
+        try (Stream<Customer> customers = streamAllCustomers()) {
+            customers.forEach(action);
+        }
+    }
+
     @Override
     public void updateCustomer(Customer customer) {
-        String sql = "UPDATE customers " +
-                "SET first_name = ?, last_name = ?, dob = ?, email = ?, phone = ?, address = ? " +
-                "WHERE customer_id = ?";
+        String sql = SqlRegistry.Customers.UPDATE;
 
         try (Connection connection = DBConnectionManager.getInstance().getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
@@ -195,7 +223,7 @@ public class CustomerDAOImpl implements CustomerDAO {
             throw new DataAccessException("Invalid customer_id: " + id);
         }
 
-        String sql = "DELETE FROM customers WHERE customer_id = ?";
+        String sql = SqlRegistry.Customers.DELETE;
 
         try (Connection connection = DBConnectionManager.getInstance().getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
@@ -208,6 +236,7 @@ public class CustomerDAOImpl implements CustomerDAO {
             }
 
             logger.info("Customer deleted successfully: customer_id {}", id);
+            IdentityMap.current().ifPresent(map -> map.evict(Customer.class, id));
 
         } catch (SQLException e) {
             throw new DataAccessException("Error deleting customer with customer_id " + id, e);
@@ -221,10 +250,10 @@ public class CustomerDAOImpl implements CustomerDAO {
             return Collections.emptyList();
         }
 
-        String sql = "SELECT customer_id, first_name, last_name, dob, email, phone, address,created_at FROM customers where first_name  LIKE ?";
+        String sql = SqlRegistry.Customers.BY_FIRST_NAME;
         List<Customer> customers = new ArrayList<>();
 
-        try (Connection connection = DBConnectionManager.getInstance().getConnection();
+        try (Connection connection = DBConnectionManager.getInstance().getReadConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
 
             preparedStatement.setString(1, name + "%");
@@ -233,22 +262,7 @@ public class CustomerDAOImpl implements CustomerDAO {
 
                 while (resultSet.next()) {
 
-                    long customer_id = resultSet.getLong("customer_id");
-                    String firstName = resultSet.getString("first_name");
-                    String lastName = resultSet.getString("last_name");
-
-                    Date date = resultSet.getDate("dob");
-                    LocalDate dob = (date != null) ? date.toLocalDate() : null;
-
-                    String email = resultSet.getString("email");
-                    String phone = resultSet.getString("phone");
-                    String address = resultSet.getString("address");
-
-                    Timestamp ts = resultSet.getTimestamp("created_at");
-                    LocalDateTime created_at = (ts != null) ? ts.toLocalDateTime() : null;
-
-
-                    Customer customer = new Customer(customer_id, firstName, lastName, dob, email, phone, address, created_at);
+                    Customer customer = mapRowToCustomer(resultSet);
                     customers.add(customer);
                 }
 
@@ -268,7 +282,7 @@ public class CustomerDAOImpl implements CustomerDAO {
             return Optional.empty();
         }
 
-        String sql = "SELECT customer_id, first_name, last_name, dob, email, phone, address,created_at FROM customers where email = ?";
+        String sql = SqlRegistry.Customers.BY_EMAIL;
 
 
         try (Connection connection = DBConnectionManager.getInstance().getConnection();
@@ -280,22 +294,7 @@ public class CustomerDAOImpl implements CustomerDAO {
 
                 if (resultSet.next()) {
 
-                    long customer_id = resultSet.getLong("customer_id");
-                    String firstName = resultSet.getString("first_name");
-                    String lastName = resultSet.getString("last_name");
-
-                    Date date = resultSet.getDate("dob");
-                    LocalDate dob = (date != null) ? date.toLocalDate() : null;
-
-                    String eMail = resultSet.getString("email");
-                    String phone = resultSet.getString("phone");
-                    String address = resultSet.getString("address");
-
-                    Timestamp ts = resultSet.getTimestamp("created_at");
-                    LocalDateTime created_at = (ts != null) ? ts.toLocalDateTime() : null;
-
-
-                    Customer customer = new Customer(customer_id, firstName, lastName, dob, eMail, phone, address, created_at);
+                    Customer customer = mapRowToCustomer(resultSet);
                    return Optional.of(customer);
                 }
 
@@ -0,0 +1,146 @@
+package com.corebank.dao.impl;
+
+import com.corebank.model.Account;
+import com.corebank.model.AccountSummary;
+import com.corebank.model.Alert;
+import com.corebank.model.AlertSummary;
+import com.corebank.model.Customer;
+import com.corebank.model.LedgerEntry;
+import com.corebank.model.Loan;
+import com.corebank.model.Transaction;
+import com.corebank.model.Transfer;
+import com.corebank.model.TransferSummary;
+import com.corebank.model.User;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Row mappers for the column lists in SqlRegistry. Each reads one entity's block starting at the
+ * 1-based column {@code at} by position (no per-column label lookup), parses enums through
+ * precomputed tables and reads dates straight into java.time, so the entity and its field values
+ * are the only allocations. Parents (customer, account, user) are resolved by the calling DAO and
+ * passed in. Unknown enum values throw IllegalArgumentException, as Enum.valueOf did.
+ */
+final class EntityMappers {
+
+    static final EnumLookup<Account.AccountType> ACCOUNT_TYPES = EnumLookup.of(Account.AccountType.class);
+    static final EnumLookup<Account.Status> ACCOUNT_STATUSES = EnumLookup.of(Account.Status.class);
+    static final EnumLookup<User.Role> ROLES = EnumLookup.of(User.Role.class);
+    static final EnumLookup<Transaction.Type> TRANSACTION_TYPES = EnumLookup.of(Transaction.Type.class);
+    static final EnumLookup<Alert.Status> ALERT_STATUSES = EnumLookup.of(Alert.Status.class);
+    static final EnumLookup<Loan.Status> LOAN_STATUSES = EnumLookup.of(Loan.Status.class);
+    static final EnumLookup<LedgerEntry.Source> LEDGER_SOURCES = EnumLookup.of(LedgerEntry.Source.class);
+
+    private EntityMappers() {
+    }
+
+    static Customer customer(ResultSet rs, int at) throws SQLException {
+        return new Customer(rs.getLong(at + SqlRegistry.Customers.CUSTOMER_ID),
+                rs.getString(at + SqlRegistry.Customers.FIRST_NAME),
+                rs.getString(at + SqlRegistry.Customers.LAST_NAME),
+                rs.getObject(at + SqlRegistry.Customers.DOB, LocalDate.class),
+                rs.getString(at + SqlRegistry.Customers.EMAIL),
+                rs.getString(at + SqlRegistry.Customers.PHONE),
+                rs.getString(at + SqlRegistry.Customers.ADDRESS),
+                rs.getObject(at + SqlRegistry.Customers.CREATED_AT, LocalDateTime.class));
+    }
+
+    static Account account(ResultSet rs, int at, Customer customer) throws SQLException {
+        Account account = new Account(rs.getLong(at + SqlRegistry.Accounts.ACCOUNT_ID),
+                customer,
+                ACCOUNT_TYPES.parse(rs.getString(at + SqlRegistry.Accounts.ACCOUNT_TYPE)),
+                rs.getBigDecimal(at + SqlRegistry.Accounts.BALANCE),
+                ACCOUNT_STATUSES.parse(rs.getString(at + SqlRegistry.Accounts.STATUS)),
+                rs.getObject(at + SqlRegistry.Accounts.CREATED_AT, LocalDateTime.class));
+        account.setVersion(rs.getLong(at + SqlRegistry.Accounts.VERSION));
+        account.setBalanceStripes(rs.getInt(at + SqlRegistry.Accounts.STRIPES));
+        return account;
+    }
+
+    // Role is left to the caller: the user DAO tolerates unknown roles instead of failing the row.
+    static User user(ResultSet rs, int at, User.Role role) throws SQLException {
+        return new User(rs.getLong(at + SqlRegistry.Users.USER_ID),
+                rs.getString(at + SqlRegistry.Users.USERNAME),
+                rs.getString(at + SqlRegistry.Users.PASSWORD_HASH),
+                role,
+                rs.getObject(at + SqlRegistry.Users.CREATED_AT, LocalDateTime.class));
+    }
+
+    static Transaction transaction(ResultSet rs, int at, Account account) throws SQLException {
+        return new Transaction(rs.getLong(at + SqlRegistry.Transactions.TRANSACTION_ID),
+                account,
+                TRANSACTION_TYPES.parse(rs.getString(at + SqlRegistry.Transactions.TYPE)),
+                rs.getBigDecimal(at + SqlRegistry.Transactions.AMOUNT),
+                rs.getObject(at + SqlRegistry.Transactions.TIMESTAMP, LocalDateTime.class));
+    }
+
+    static Transfer transfer(ResultSet rs, int at, Account fromAccount, Account toAccount) throws SQLException {
+        return new Transfer(rs.getLong(at + SqlRegistry.Transfers.TRANSFER_ID),
+                fromAccount,
+                toAccount,
+                rs.getBigDecimal(at + SqlRegistry.Transfers.AMOUNT),
+                rs.getObject(at + SqlRegistry.Transfers.TIMESTAMP, LocalDateTime.class));
+    }
+
+    // A missing status is PENDING.
+    static Alert alert(ResultSet rs, int at, Account account, User user) throws SQLException {
+        return new Alert(rs.getLong(at + SqlRegistry.Alerts.ALERT_ID),
+                account,
+                user,
+                rs.getString(at + SqlRegistry.Alerts.TYPE),
+                rs.getString(at + SqlRegistry.Alerts.MESSAGE),
+                ALERT_STATUSES.parseOrDefault(rs.getString(at + SqlRegistry.Alerts.STATUS), Alert.Status.PENDING),
+                rs.getObject(at + SqlRegistry.Alerts.CREATED_AT, LocalDateTime.class));
+    }
+
+    // A missing status is PENDING.
+    static Loan loan(ResultSet rs, int at, Customer customer) throws SQLException {
+        return new Loan(rs.getLong(at + SqlRegistry.Loans.LOAN_ID),
+                customer,
+                rs.getBigDecimal(at + SqlRegistry.Loans.AMOUNT),
+                rs.getBigDecimal(at + SqlRegistry.Loans.INTEREST_RATE),
+                rs.getObject(at + SqlRegistry.Loans.START_DATE, LocalDate.class),
+                rs.getObject(at + SqlRegistry.Loans.END_DATE, LocalDate.class),
+                LOAN_STATUSES.parseOrDefault(rs.getString(at + SqlRegistry.Loans.STATUS), Loan.Status.PENDING));
+    }
+
+    static LedgerEntry ledgerEntry(ResultSet rs, int at) throws SQLException {
+        return new LedgerEntry(rs.getLong(at + SqlRegistry.Ledger.ENTRY_ID),
+                rs.getLong(at + SqlRegistry.Ledger.ACCOUNT_ID),
+                rs.getBigDecimal(at + SqlRegistry.Ledger.AMOUNT),
+                LEDGER_SOURCES.parse(rs.getString(at + SqlRegistry.Ledger.SOURCE_TYPE)),
+                rs.getLong(at + SqlRegistry.Ledger.SOURCE_ID),
+                rs.getObject(at + SqlRegistry.Ledger.POSTED_AT, LocalDateTime.class));
+    }
+
+    // Accounts.SUMMARY_COLUMNS
+    static AccountSummary accountSummary(ResultSet rs, int at) throws SQLException {
+        return new AccountSummary(rs.getLong(at + SqlRegistry.Accounts.ACCOUNT_ID),
+                rs.getLong(at + SqlRegistry.Accounts.CUSTOMER_ID),
+                ACCOUNT_TYPES.parse(rs.getString(at + SqlRegistry.Accounts.ACCOUNT_TYPE)),
+                rs.getBigDecimal(at + SqlRegistry.Accounts.BALANCE),
+                ACCOUNT_STATUSES.parse(rs.getString(at + SqlRegistry.Accounts.STATUS)));
+    }
+
+    static AlertSummary alertSummary(ResultSet rs, int at) throws SQLException {
+        long userId = rs.getLong(at + SqlRegistry.Alerts.USER_ID);
+        return new AlertSummary(rs.getLong(at + SqlRegistry.Alerts.ALERT_ID),
+                rs.getLong(at + SqlRegistry.Alerts.ACCOUNT_ID),
+                rs.wasNull() ? null : userId,
+                rs.getString(at + SqlRegistry.Alerts.TYPE),
+                rs.getString(at + SqlRegistry.Alerts.MESSAGE),
+                ALERT_STATUSES.parseOrDefault(rs.getString(at + SqlRegistry.Alerts.STATUS), Alert.Status.PENDING),
+                rs.getObject(at + SqlRegistry.Alerts.CREATED_AT, LocalDateTime.class));
+    }
+
+    static TransferSummary transferSummary(ResultSet rs, int at) throws SQLException {
+        return new TransferSummary(rs.getLong(at + SqlRegistry.Transfers.TRANSFER_ID),
+                rs.getLong(at + SqlRegistry.Transfers.FROM_ACCOUNT_ID),
+                rs.getLong(at + SqlRegistry.Transfers.TO_ACCOUNT_ID),
+                rs.getBigDecimal(at + SqlRegistry.Transfers.AMOUNT),
+                rs.getObject(at + SqlRegistry.Transfers.TIMESTAMP, LocalDateTime.class));
+    }
+}
@@ -0,0 +1,43 @@
+package com.corebank.dao.impl;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Precomputed name -> constant table for an enum column. Canonical values (the enum name exactly,
+ * as the DAOs write them) are a single hash lookup with no trimming, case folding or allocation;
+ * anything else falls back to the old trim/upper-case parse, so legacy rows still map.
+ */
+final class EnumLookup<E extends Enum<E>> {
+
+    private final Class<E> type;
+    private final Map<String, E> byName;
+
+    private EnumLookup(Class<E> type) {
+        this.type = type;
+        E[] constants = type.getEnumConstants();
+        this.byName = new HashMap<>(constants.length * 2);
+        for (E constant : constants) {
+            byName.put(constant.name(), constant);
+            byName.put(constant.name().toLowerCase(Locale.ROOT), constant);
+        }
+    }
+
+    static <E extends Enum<E>> EnumLookup<E> of(Class<E> type) {
+        return new EnumLookup<>(type);
+    }
+
+    // Throws IllegalArgumentException for unknown values, like Enum.valueOf.
+    E parse(String value) {
+        E constant = byName.get(value);
+        if (constant != null) {
+            return constant;
+        }
+        return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+    }
+
+    E parseOrDefault(String value, E defaultValue) {
+        return (value != null) ? parse(value) : defaultValue;
+    }
+}
@@ -0,0 +1,104 @@
+package com.corebank.dao.impl;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A "... IN (?, ?, ...)" query for batch loads by id. Ids are split into chunks of at most
+ * {@link #maxSize()} and each chunk is padded up to the next power of two (capped at maxSize) by
+ * repeating its last id,
+ * so a table has only a handful of distinct SQL strings and they stay reusable by the driver's
+ * statement cache and StatementCache. The chunk size comes from corebank.dao.inListSize (default 256).
+ */
+final class InList {
+
+    static final int DEFAULT_MAX_SIZE = Integer.getInteger("corebank.dao.inListSize", 256);
+
+    private final String prefix;
+    private final String suffix;
+    private final int maxSize;
+    // sql[k] has slots(2^k) placeholders
+    private final String[] sql;
+
+    InList(String prefix, String suffix) {
+        this(prefix, suffix, DEFAULT_MAX_SIZE);
+    }
+
+    InList(String prefix, String suffix, int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be greater than zero");
+        }
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.maxSize = maxSize;
+        this.sql = new String[bucket(maxSize) + 1];
+    }
+
+    int maxSize() {
+        return maxSize;
+    }
+
+    // Distinct positive ids, in first-seen order, split into chunks of at most maxSize.
+    List<long[]> chunks(Collection<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id != null && id > 0) {
+                distinct.add(id);
+            }
+        }
+        List<long[]> chunks = new ArrayList<>((distinct.size() + maxSize - 1) / maxSize);
+        long[] chunk = null;
+        int filled = 0;
+        for (long id : distinct) {
+            if (chunk == null) {
+                chunk = new long[Math.min(maxSize, distinct.size() - chunks.size() * maxSize)];
+                filled = 0;
+            }
+            chunk[filled++] = id;
+            if (filled == chunk.length) {
+                chunks.add(chunk);
+                chunk = null;
+            }
+        }
+        return chunks;
+    }
+
+    String sql(int count) {
+        int bucket = bucket(count);
+        String cached = sql[bucket];
+        if (cached == null) {
+            int slots = slots(count);
+            StringBuilder builder = new StringBuilder(prefix.length() + suffix.length() + 2 * slots);
+            builder.append(prefix);
+            for (int i = 0; i < slots; i++) {
+                builder.append(i == 0 ? "?" : ",?");
+            }
+            cached = builder.append(suffix).toString();
+            // Benign race: every thread builds the same string.
+            sql[bucket] = cached;
+        }
+        return cached;
+    }
+
+    // Binds the chunk from parameter index `from`, padding to the size sql(chunk.length) expects.
+    void bind(PreparedStatement statement, int from, long[] chunk) throws SQLException {
+        int slots = slots(chunk.length);
+        for (int i = 0; i < slots; i++) {
+            statement.setLong(from + i, chunk[Math.min(i, chunk.length - 1)]);
+        }
+    }
+
+    private int slots(int count) {
+        return Math.min(1 << bucket(count), maxSize);
+    }
+
+    // Smallest k with 2^k >= count
+    private static int bucket(int count) {
+        return count <= 1 ? 0 : 32 - Integer.numberOfLeadingZeros(count - 1);
+    }
+}
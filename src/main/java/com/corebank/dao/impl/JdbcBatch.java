@@ -0,0 +1,86 @@
+package com.corebank.dao.impl;
+
+import com.corebank.exception.DataAccessException;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+// Shared addBatch/executeBatch loop for the bulk insert APIs.
+final class JdbcBatch {
+
+    static final int DEFAULT_BATCH_SIZE = 500;
+
+    @FunctionalInterface
+    interface Binder<T> {
+        void bind(PreparedStatement preparedStatement, T item) throws SQLException;
+    }
+
+    @FunctionalInterface
+    interface IdAssigner<T> {
+        void assign(T item, long id);
+    }
+
+    private JdbcBatch() {
+    }
+
+    /**
+     * Inserts items in chunks of batchSize on the given connection and assigns the generated keys
+     * back in order. Transaction control stays with the caller. With MySQL's
+     * rewriteBatchedStatements=true each chunk is sent as one multi-row INSERT, and the driver
+     * still reports one key per row.
+     */
+    static <T> int insert(Connection connection, String sql, List<T> items, int batchSize,
+                          Binder<T> binder, IdAssigner<T> idAssigner) throws SQLException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be greater than zero");
+        }
+        if (items == null || items.isEmpty()) {
+            return 0;
+        }
+
+        int inserted = 0;
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            for (int start = 0; start < items.size(); start += batchSize) {
+                List<T> chunk = items.subList(start, Math.min(start + batchSize, items.size()));
+                for (T item : chunk) {
+                    binder.bind(preparedStatement, item);
+                    preparedStatement.addBatch();
+                }
+                preparedStatement.executeBatch();
+
+                int index = 0;
+                try (ResultSet generatedKeys = preparedStatement.getGeneratedKeys()) {
+                    while (generatedKeys.next() && index < chunk.size()) {
+                        idAssigner.assign(chunk.get(index++), generatedKeys.getLong(1));
+                    }
+                }
+                if (index != chunk.size()) {
+                    throw new DataAccessException("Batch insert returned " + index + " generated keys for " + chunk.size() + " rows");
+                }
+                inserted += chunk.size();
+            }
+        }
+        return inserted;
+    }
+
+    // Runs the whole batch in one transaction on a connection the caller does not manage.
+    static <T> int insertInTransaction(Connection connection, String sql, List<T> items, int batchSize,
+                                       Binder<T> binder, IdAssigner<T> idAssigner) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            int inserted = insert(connection, sql, items, batchSize, binder, idAssigner);
+            connection.commit();
+            return inserted;
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.corebank.dao.impl;
+
+import com.corebank.dao.JournalCheckpointDAO;
+import com.corebank.db.DBConnectionManager;
+import com.corebank.exception.DataAccessException;
+
+import java.sql.*;
+import java.time.LocalDateTime;
+
+public class JournalCheckpointDAOImpl implements JournalCheckpointDAO {
+
+    @Override
+    public long getLastSequence(String journal) {
+        String sql = SqlRegistry.JournalCheckpoints.LAST_SEQUENCE;
+        try (Connection connection = DBConnectionManager.getInstance().getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            preparedStatement.setString(1, journal);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : 0;
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error reading checkpoint of journal " + journal, e);
+        }
+    }
+
+    // UPDATE first and INSERT only for a new journal; the row is written once per flush, so it is nearly always there.
+    @Override
+    public void setLastSequence(String journal, long sequence, Connection connection) throws SQLException {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (Statements.Lease lease = Statements.prepare(connection, SqlRegistry.JournalCheckpoints.UPDATE)) {
+            PreparedStatement preparedStatement = lease.statement();
+            preparedStatement.setLong(1, sequence);
+            preparedStatement.setTimestamp(2, now);
+            preparedStatement.setString(3, journal);
+            if (preparedStatement.executeUpdate() > 0) {
+                return;
+            }
+        }
+        try (Statements.Lease lease = Statements.prepare(connection, SqlRegistry.JournalCheckpoints.INSERT)) {
+            PreparedStatement preparedStatement = lease.statement();
+            preparedStatement.setString(1, journal);
+            preparedStatement.setLong(2, sequence);
+            preparedStatement.setTimestamp(3, now);
+            preparedStatement.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,278 @@
+package com.corebank.dao.impl;
+
+import com.corebank.dao.LedgerDAO;
+import com.corebank.db.DBConnectionManager;
+import com.corebank.exception.DataAccessException;
+import com.corebank.model.Account;
+import com.corebank.model.LedgerDiscrepancy;
+import com.corebank.model.LedgerEntry;
+import com.corebank.model.Transaction;
+import com.corebank.model.Transfer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class LedgerDAOImpl implements LedgerDAO {
+
+    // Entries snapshotted per transaction by takeSnapshot.
+    static final int DEFAULT_SNAPSHOT_WINDOW = Integer.getInteger("corebank.dao.snapshotWindow", 10_000);
+
+    private final Logger logger = LoggerFactory.getLogger(LedgerDAOImpl.class);
+
+    private final int snapshotWindow;
+
+    public LedgerDAOImpl() {
+        this(DEFAULT_SNAPSHOT_WINDOW);
+    }
+
+    LedgerDAOImpl(int snapshotWindow) {
+        if (snapshotWindow <= 0) {
+            throw new IllegalArgumentException("snapshotWindow must be greater than zero");
+        }
+        this.snapshotWindow = snapshotWindow;
+    }
+
+    @Override
+    public void postTransfer(Transfer transfer, Connection connection) throws SQLException {
+        List<LedgerEntry> entries = new ArrayList<>(2);
+        addEntries(entries, transfer, LocalDateTime.now());
+        post(connection, entries);
+    }
+
+    @Override
+    public void postTransaction(Transaction transaction, Connection connection) throws SQLException {
+        List<LedgerEntry> entries = new ArrayList<>(2);
+        addEntries(entries, transaction, LocalDateTime.now());
+        post(connection, entries);
+    }
+
+    @Override
+    public void postTransfers(List<Transfer> transfers, Connection connection) throws SQLException {
+        LocalDateTime postedAt = LocalDateTime.now();
+        List<LedgerEntry> entries = new ArrayList<>(2 * transfers.size());
+        for (Transfer transfer : transfers) {
+            addEntries(entries, transfer, postedAt);
+        }
+        postAll(connection, entries);
+    }
+
+    @Override
+    public void postTransactions(List<Transaction> transactions, Connection connection) throws SQLException {
+        LocalDateTime postedAt = LocalDateTime.now();
+        List<LedgerEntry> entries = new ArrayList<>(2 * transactions.size());
+        for (Transaction transaction : transactions) {
+            addEntries(entries, transaction, postedAt);
+        }
+        postAll(connection, entries);
+    }
+
+    @Override
+    public void postOpeningBalance(Account account, Connection connection) throws SQLException {
+        if (account.getAccountId() <= 0) {
+            throw new IllegalArgumentException("Account must be saved before its opening balance is posted");
+        }
+        if (account.getBalance() == null || account.getBalance().signum() == 0) {
+            return;
+        }
+        List<LedgerEntry> entries = new ArrayList<>(2);
+        addEntries(entries, LedgerEntry.Source.OPENING, account.getAccountId(),
+                LedgerEntry.EXTERNAL_ACCOUNT_ID, account.getAccountId(), account.getBalance(), LocalDateTime.now());
+        post(connection, entries);
+    }
+
+    private static void addEntries(List<LedgerEntry> entries, Transfer transfer, LocalDateTime postedAt) {
+        if (transfer.getTransferId() <= 0) {
+            throw new IllegalArgumentException("Transfer must be saved before it is posted");
+        }
+        addEntries(entries, LedgerEntry.Source.TRANSFER, transfer.getTransferId(),
+                transfer.getFromAccount().getAccountId(), transfer.getToAccount().getAccountId(), transfer.getAmount(), postedAt);
+    }
+
+    private static void addEntries(List<LedgerEntry> entries, Transaction transaction, LocalDateTime postedAt) {
+        if (transaction.getTransactionId() <= 0) {
+            throw new IllegalArgumentException("Transaction must be saved before it is posted");
+        }
+        long accountId = transaction.getAccount().getAccountId();
+        if (transaction.getType() == Transaction.Type.DEPOSIT) {
+            addEntries(entries, LedgerEntry.Source.DEPOSIT, transaction.getTransactionId(),
+                    LedgerEntry.EXTERNAL_ACCOUNT_ID, accountId, transaction.getAmount(), postedAt);
+        } else {
+            addEntries(entries, LedgerEntry.Source.WITHDRAWAL, transaction.getTransactionId(),
+                    accountId, LedgerEntry.EXTERNAL_ACCOUNT_ID, transaction.getAmount(), postedAt);
+        }
+    }
+
+    // One debit and one credit of the same amount.
+    private static void addEntries(List<LedgerEntry> entries, LedgerEntry.Source source, long sourceId,
+                                   long debitAccountId, long creditAccountId, BigDecimal amount, LocalDateTime postedAt) {
+        entries.add(new LedgerEntry(0, debitAccountId, amount.negate(), source, sourceId, postedAt));
+        entries.add(new LedgerEntry(0, creditAccountId, amount, source, sourceId, postedAt));
+    }
+
+    // A single posting's entries, sent as one batch on the cached statement.
+    private static void post(Connection connection, List<LedgerEntry> entries) throws SQLException {
+        try (Statements.Lease lease = Statements.prepare(connection, SqlRegistry.Ledger.INSERT_ENTRY)) {
+            PreparedStatement preparedStatement = lease.statement();
+            for (LedgerEntry entry : entries) {
+                bindEntry(preparedStatement, entry);
+                preparedStatement.addBatch();
+            }
+            preparedStatement.executeBatch();
+        }
+    }
+
+    // Many postings' entries, in JdbcBatch chunks like the other bulk inserts. Entries are records and are
+    // not read back, so the generated ids are dropped.
+    private static void postAll(Connection connection, List<LedgerEntry> entries) throws SQLException {
+        JdbcBatch.insert(connection, SqlRegistry.Ledger.INSERT_ENTRY, entries, JdbcBatch.DEFAULT_BATCH_SIZE,
+                LedgerDAOImpl::bindEntry, (entry, id) -> { });
+    }
+
+    private static void bindEntry(PreparedStatement preparedStatement, LedgerEntry entry) throws SQLException {
+        preparedStatement.setLong(1, entry.accountId());
+        preparedStatement.setBigDecimal(2, entry.amount());
+        preparedStatement.setString(3, entry.source().name());
+        preparedStatement.setLong(4, entry.sourceId());
+        preparedStatement.setTimestamp(5, Timestamp.valueOf(entry.postedAt()));
+    }
+
+    @Override
+    public BigDecimal getBalance(long accountId) {
+        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+            return getBalance(accountId, connection);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error reading ledger balance for account id " + accountId, e);
+        }
+    }
+
+    @Override
+    public BigDecimal getBalance(long accountId, Connection connection) throws SQLException {
+        String sql = SqlRegistry.Ledger.BALANCE;
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement preparedStatement = lease.statement();
+            preparedStatement.setLong(1, accountId);
+            preparedStatement.setLong(2, accountId);
+            preparedStatement.setLong(3, accountId);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getBigDecimal(1);
+            }
+        }
+    }
+
+    @Override
+    public List<LedgerEntry> getEntries(LedgerEntry.Source source, long sourceId) {
+        String sql = SqlRegistry.Ledger.BY_SOURCE;
+        List<LedgerEntry> entries = new ArrayList<>(2);
+        try (Connection connection = DBConnectionManager.getInstance().getReadConnection();
+             Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement preparedStatement = lease.statement();
+            preparedStatement.setString(1, source.name());
+            preparedStatement.setLong(2, sourceId);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    entries.add(EntityMappers.ledgerEntry(resultSet, 1));
+                }
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error reading ledger entries of " + source + " " + sourceId, e);
+        }
+        return entries;
+    }
+
+    @Override
+    public int takeSnapshot() {
+        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+            long previous = queryLong(connection, SqlRegistry.Ledger.LAST_SNAPSHOT_ENTRY);
+            // The newest entry is left for the next run, so every locking read below ends on a row that
+            // exists (see awaitPostings).
+            long cutoff = queryLong(connection, SqlRegistry.Ledger.LAST_ENTRY) - 1;
+            int written = 0;
+            while (previous < cutoff) {
+                long upTo = Math.min(previous + snapshotWindow, cutoff);
+                written += snapshot(connection, previous, upTo);
+                previous = upTo;
+            }
+            if (written > 0) {
+                logger.info("Ledger snapshot at entry {} written for {} account(s)", cutoff, written);
+            }
+            return written;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error taking ledger snapshot", e);
+        }
+    }
+
+    // Snapshots the entries in (previous, upTo] in a transaction of its own, so the row locks it takes
+    // are bounded by the window and released before the next one.
+    private static int snapshot(Connection connection, long previous, long upTo) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            awaitPostings(connection, previous, upTo);
+            int written;
+            try (PreparedStatement preparedStatement = connection.prepareStatement(SqlRegistry.Ledger.SNAPSHOT)) {
+                preparedStatement.setLong(1, upTo);
+                preparedStatement.setLong(2, previous);
+                preparedStatement.setLong(3, upTo);
+                written = preparedStatement.executeUpdate();
+            }
+            connection.commit();
+            return written;
+
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    // Ids are allocated at insert, so a transaction that has not committed yet can hold an entry
+    // below upTo that the snapshot would never revisit. InnoDB makes a locking read of the range
+    // wait for such inserts to commit or roll back. The read also next-key locks the first row past
+    // upTo; as upTo is below the newest entry, that row exists and the locked gap lies below it,
+    // where no new id is allocated. Ending at the newest entry instead would lock the gap up to the
+    // supremum and hold back every posting until the snapshot commits.
+    private static void awaitPostings(Connection connection, long previous, long upTo) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(SqlRegistry.Ledger.LOCK_RANGE)) {
+            preparedStatement.setLong(1, previous);
+            preparedStatement.setLong(2, upTo);
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    // Reading the range is what takes the locks.
+                }
+            }
+        }
+    }
+
+    // Single long from a one-row query; 0 for SQL NULL.
+    private static long queryLong(Connection connection, String sql) throws SQLException {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                return resultSet.next() ? resultSet.getLong(1) : 0;
+            }
+        }
+    }
+
+    @Override
+    public List<LedgerDiscrepancy> findDiscrepancies() {
+        String sql = SqlRegistry.Ledger.DISCREPANCIES;
+        List<LedgerDiscrepancy> discrepancies = new ArrayList<>();
+        try (Connection connection = DBConnectionManager.getInstance().getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sql);
+             ResultSet resultSet = preparedStatement.executeQuery()) {
+            while (resultSet.next()) {
+                discrepancies.add(new LedgerDiscrepancy(resultSet.getLong(1), resultSet.getBigDecimal(2),
+                        resultSet.getBigDecimal(3)));
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error reconciling accounts against the ledger", e);
+        }
+        return discrepancies;
+    }
+}
@@ -1,6 +1,6 @@
 package com.corebank.dao.impl;
 
-import com.corebank.dao.CustomerDAO;
+import com.corebank.dao.IdentityMap;
 import com.corebank.dao.LoanDAO;
 import com.corebank.db.DBConnectionManager;
 import com.corebank.exception.DataAccessException;
@@ -9,40 +9,29 @@ import com.corebank.model.Loan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.math.BigDecimal;
 import java.sql.*;
-import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class LoanDAOImpl implements LoanDAO {
 
-    private CustomerDAO customerDAO = new CustomerDAOImpl();
     private Logger logger = LoggerFactory.getLogger(LoanDAOImpl.class);
 
-    // Helper function
+    public LoanDAOImpl() {
+    }
+
+    // Row of a Loans.JOINED_SELECT query. No map of customers seen: a stream over every loan must not hold them all.
     private Loan mapRowToLoan(ResultSet resultSet) {
         try {
-            long loanId = resultSet.getLong("loan_id");
-            long customerId = resultSet.getLong("customer_id");
-            BigDecimal amount = resultSet.getBigDecimal("amount");
-            BigDecimal interestRate = resultSet.getBigDecimal("interest_rate");
-            Date startDateSql = resultSet.getDate("start_date");
-            Date endDateSql = resultSet.getDate("end_date");
-            String statusStr = resultSet.getString("status");
-
-            Customer customer = customerDAO.getCustomerById(customerId)
-                    .orElseThrow(() -> new DataAccessException("Customer not found for id: " + customerId));
-
-            LocalDate startDate = (startDateSql != null) ? ((java.sql.Date) startDateSql).toLocalDate() : null;
-            LocalDate endDate = (endDateSql != null) ? ((java.sql.Date) endDateSql).toLocalDate() : null;
-
-            Loan.Status status = (statusStr != null)
-                    ? Loan.Status.valueOf(statusStr.trim().toUpperCase())
-                    : Loan.Status.PENDING;
-
-            return new Loan(loanId, customer, amount, interestRate, startDate, endDate, status);
+            int customerAt = SqlRegistry.Loans.JOINED_CUSTOMER;
+            long customerId = resultSet.getLong(customerAt + SqlRegistry.Customers.CUSTOMER_ID);
+            Customer mapped = EntityMappers.customer(resultSet, customerAt);
+            Customer customer = IdentityMap.current()
+                    .map(map -> map.register(Customer.class, customerId, mapped)).orElse(mapped);
+            return EntityMappers.loan(resultSet, 1, customer);
 
         } catch (SQLException e) {
             throw new DataAccessException("Error mapping loan from ResultSet", e);
@@ -62,9 +51,9 @@ public class LoanDAOImpl implements LoanDAO {
 
     @Override
     public void addLoan(Loan loan, Connection connection) {
-        String sql = "INSERT INTO loans (customer_id, amount, interest_rate, start_date, end_date, status) " +
-                "VALUES (?,?,?,?,?,?)";
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+        String sql = SqlRegistry.Loans.INSERT;
+        try (Statements.Lease lease = Statements.prepareReturningKeys(connection, sql)) {
+            PreparedStatement preparedStatement = lease.statement();
 
             preparedStatement.setLong(1, loan.getCustomer().getCustomerId());
             preparedStatement.setBigDecimal(2, loan.getAmount());
@@ -102,8 +91,9 @@ public class LoanDAOImpl implements LoanDAO {
 
     @Override
     public Optional<Loan> getLoanById(long loanId, Connection connection) {
-        String sql = "SELECT * FROM loans WHERE loan_id = ?";
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+        String sql = SqlRegistry.Loans.JOINED_BY_ID;
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement preparedStatement = lease.statement();
             preparedStatement.setLong(1, loanId);
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 if (resultSet.next()) {
@@ -124,7 +114,7 @@ public class LoanDAOImpl implements LoanDAO {
 
     @Override
     public List<Loan> getLoansByCustomer(long customerId) {
-        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+        try (Connection connection = DBConnectionManager.getInstance().getReadConnection()) {
             return getLoansByCustomer(customerId, connection);
         } catch (SQLException e) {
             throw new DataAccessException("Error fetching loans for customer_id " + customerId, e);
@@ -133,9 +123,10 @@ public class LoanDAOImpl implements LoanDAO {
 
     @Override
     public List<Loan> getLoansByCustomer(long customerId, Connection connection) {
-        String sql = "SELECT * FROM loans WHERE customer_id = ?";
+        String sql = SqlRegistry.Loans.JOINED_BY_CUSTOMER;
         List<Loan> loans = new ArrayList<>();
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement preparedStatement = lease.statement();
             preparedStatement.setLong(1, customerId);
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 while (resultSet.next()) {
@@ -150,7 +141,7 @@ public class LoanDAOImpl implements LoanDAO {
 
     @Override
     public List<Loan> getAllLoans() {
-        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+        try (Connection connection = DBConnectionManager.getInstance().getReadConnection()) {
             return getAllLoans(connection);
         } catch (SQLException e) {
             throw new DataAccessException("Error fetching all loans", e);
@@ -159,7 +150,7 @@ public class LoanDAOImpl implements LoanDAO {
 
     @Override
     public List<Loan> getAllLoans(Connection connection) {
-        String sql = "SELECT * FROM loans";
+        String sql = SqlRegistry.Loans.JOINED_ALL;
         List<Loan> loans = new ArrayList<>();
         try (PreparedStatement preparedStatement = connection.prepareStatement(sql);
              ResultSet resultSet = preparedStatement.executeQuery()) {
@@ -172,9 +163,26 @@ public class LoanDAOImpl implements LoanDAO {
         return loans;
     }
 
+    @Override
+    public Stream<Loan> streamAllLoans() {
+        try {
+            Connection connection = DBConnectionManager.getInstance().getReadConnection();
+            return ResultSetStreams.stream(connection, SqlRegistry.Loans.JOINED_ALL, this::mapRowToLoan);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error streaming all loans", e);
+        }
+    }
+
+    @Override
+    public void forEachLoan(Consumer<Loan> action) {
+        try (Stream<Loan> loans = streamAllLoans()) {
+            loans.forEach(action);
+        }
+    }
+
     @Override
     public List<Loan> getLoansByStatus(Loan.Status status) {
-        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+        try (Connection connection = DBConnectionManager.getInstance().getReadConnection()) {
             return getLoansByStatus(status, connection);
         } catch (SQLException e) {
             throw new DataAccessException("Error fetching loans by status " + status, e);
@@ -183,9 +191,10 @@ public class LoanDAOImpl implements LoanDAO {
 
     @Override
     public List<Loan> getLoansByStatus(Loan.Status status, Connection connection) {
-        String sql = "SELECT * FROM loans WHERE status = ?";
+        String sql = SqlRegistry.Loans.JOINED_BY_STATUS;
         List<Loan> loans = new ArrayList<>();
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement preparedStatement = lease.statement();
             preparedStatement.setString(1, status.name());
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 while (resultSet.next()) {
@@ -209,9 +218,9 @@ public class LoanDAOImpl implements LoanDAO {
 
     @Override
     public void updateLoan(Loan loan, Connection connection) {
-        String sql = "UPDATE loans SET customer_id = ?, amount = ?, interest_rate = ?, start_date = ?, end_date = ?, status = ? " +
-                "WHERE loan_id = ?";
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+        String sql = SqlRegistry.Loans.UPDATE;
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement preparedStatement = lease.statement();
             preparedStatement.setLong(1, loan.getCustomer().getCustomerId());
             preparedStatement.setBigDecimal(2, loan.getAmount());
             preparedStatement.setBigDecimal(3, loan.getInterestRate());
@@ -298,8 +307,9 @@ public class LoanDAOImpl implements LoanDAO {
 
     @Override
     public void deleteLoan(long loanId, Connection connection) {
-        String sql = "DELETE FROM loans WHERE loan_id = ?";
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+        String sql = SqlRegistry.Loans.DELETE;
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement preparedStatement = lease.statement();
             preparedStatement.setLong(1, loanId);
             int rowsAffected = preparedStatement.executeUpdate();
             if (rowsAffected > 0) {
@@ -0,0 +1,86 @@
+package com.corebank.dao.impl;
+
+import com.corebank.exception.DataAccessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Turns a forward-only query into a lazily mapped Stream that owns its connection.
+final class ResultSetStreams {
+
+    static final int DEFAULT_FETCH_SIZE = 500;
+
+    private static final Logger logger = LoggerFactory.getLogger(ResultSetStreams.class);
+
+    @FunctionalInterface
+    interface RowMapper<T> {
+        T map(ResultSet resultSet) throws SQLException;
+    }
+
+    private ResultSetStreams() {
+    }
+
+    /**
+     * Executes sql on the connection and streams the mapped rows. The statement is forward-only and read-only.
+     * MySQL needs fetchSize Integer.MIN_VALUE to stream row by row; other drivers get a positive fetch size.
+     * The returned stream must be closed. Closing it closes the result set, the statement and the connection.
+     */
+    static <T> Stream<T> stream(Connection connection, String sql, RowMapper<T> mapper) {
+        PreparedStatement preparedStatement = null;
+        ResultSet resultSet = null;
+        try {
+            preparedStatement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            preparedStatement.setFetchSize(fetchSizeFor(connection));
+            resultSet = preparedStatement.executeQuery();
+        } catch (SQLException | RuntimeException e) {
+            closeQuietly(resultSet, preparedStatement, connection);
+            throw new DataAccessException("Error opening streaming query", e);
+        }
+
+        ResultSet rows = resultSet;
+        PreparedStatement statement = preparedStatement;
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                try {
+                    if (!rows.next()) {
+                        return false;
+                    }
+                    action.accept(mapper.map(rows));
+                    return true;
+                } catch (SQLException e) {
+                    throw new DataAccessException("Error reading streaming result set", e);
+                }
+            }
+        };
+        return StreamSupport.stream(spliterator, false)
+                .onClose(() -> closeQuietly(rows, statement, connection));
+    }
+
+    private static int fetchSizeFor(Connection connection) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+        return (product != null && product.toLowerCase().contains("mysql")) ? Integer.MIN_VALUE : DEFAULT_FETCH_SIZE;
+    }
+
+    private static void closeQuietly(AutoCloseable... resources) {
+        for (AutoCloseable resource : resources) {
+            if (resource == null) {
+                continue;
+            }
+            try {
+                resource.close();
+            } catch (Exception e) {
+                logger.warn("Error closing streaming resource: {}", e.getMessage(), e);
+            }
+        }
+    }
+}
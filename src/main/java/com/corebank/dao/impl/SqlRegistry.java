@@ -0,0 +1,347 @@
+package com.corebank.dao.impl;
+
+/**
+ * Every statement the DAO implementations run, with explicit column lists (no SELECT *), so each
+ * SQL string is built once and is byte-for-byte identical on every call. That identity is what
+ * lets Connector/J's prepared statement cache (cachePrepStmts / useServerPrepStmts, configured in
+ * DBConnectionManager) and StatementCache reuse a parsed statement.
+ *
+ * The offset constants next to each COLUMNS list give every column's position within it (0-based);
+ * EntityMappers reads rows by those positions, so the two must change together.
+ */
+final class SqlRegistry {
+
+    private SqlRegistry() {
+    }
+
+    // ("t", "a, b") -> "t.a, t.b"
+    private static String qualified(String alias, String columns) {
+        return alias + "." + columns.replace(", ", ", " + alias + ".");
+    }
+
+    // ("fa", "a, b") -> "fa.a AS fa_a, fa.b AS fa_b"
+    private static String aliased(String alias, String columns) {
+        StringBuilder sql = new StringBuilder();
+        for (String column : columns.split(", ")) {
+            if (sql.length() > 0) {
+                sql.append(", ");
+            }
+            sql.append(alias).append('.').append(column).append(" AS ").append(alias).append('_').append(column);
+        }
+        return sql.toString();
+    }
+
+    static final class Accounts {
+        static final String COLUMNS = "account_id, customer_id, account_type, balance, status, created_at, version, balance_stripes";
+        static final int ACCOUNT_ID = 0, CUSTOMER_ID = 1, ACCOUNT_TYPE = 2, BALANCE = 3, STATUS = 4, CREATED_AT = 5, VERSION = 6,
+                STRIPES = 7;
+        static final int WIDTH = 8;
+        static final String SELECT = "SELECT " + COLUMNS + " FROM accounts ";
+
+        static final String INSERT = "INSERT INTO accounts (customer_id, account_type, balance, status, created_at) VALUES (?,?,?,?,?)";
+        // Each account with its customer in the same row: account block, then customer block (JOINED_CUSTOMER),
+        // so mapping a row never borrows a second connection for the customer. The stripes are summed in by the
+        // same statement (foldedColumns), so a non-locking read sees the row and its stripes at one point in time.
+        static final String JOINED_SELECT = "SELECT " + foldedColumns("a") + ", " + qualified("c", Customers.COLUMNS) +
+                " FROM accounts a JOIN customers c ON c.customer_id = a.customer_id ";
+        static final String BY_ID = JOINED_SELECT + "WHERE a.account_id = ?";
+        // The raw row: BalanceStripes.foldLocked locks and adds the stripes after the row lock is held.
+        // OF a: MySQL locks the accounts row only, not the customer's (H2 ignores it and locks both).
+        static final String BY_ID_FOR_UPDATE = "SELECT " + qualified("a", COLUMNS) + ", " + qualified("c", Customers.COLUMNS) +
+                " FROM accounts a JOIN customers c ON c.customer_id = a.customer_id WHERE a.account_id = ? FOR UPDATE OF a";
+        static final String BY_CUSTOMER = JOINED_SELECT + "WHERE a.customer_id = ?";
+        // Leading columns of COLUMNS, so the offsets above apply.
+        static final String SUMMARY_COLUMNS = "account_id, customer_id, account_type, balance, status";
+        // Whole balance of the accounts row aliased %1$s, stripes included (see BalanceStripes).
+        static final String STRIPED_BALANCE = "%1$s.balance + COALESCE((SELECT SUM(bs.balance) " +
+                "FROM account_balance_stripes bs WHERE bs.account_id = %1$s.account_id), 0)";
+        static final String STRIPED_VERSION = "%1$s.version + COALESCE((SELECT SUM(bs.version) " +
+                "FROM account_balance_stripes bs WHERE bs.account_id = %1$s.account_id), 0)";
+        static final String SUMMARY_BY_CUSTOMER = "SELECT " +
+                SUMMARY_COLUMNS.replace("balance", String.format(STRIPED_BALANCE, "a")) +
+                " FROM accounts a WHERE customer_id = ?";
+        static final InList JOINED_BY_IDS = new InList(JOINED_SELECT + "WHERE a.account_id IN (", ")");
+        static final int JOINED_CUSTOMER = 1 + WIDTH;
+
+        // COLUMNS of the accounts row aliased alias with its stripes summed in by the query: one consistent read,
+        // and usable through a streaming result set, which cannot run another query on its connection.
+        static String foldedColumns(String alias) {
+            return String.join(", ", alias + ".account_id", alias + ".customer_id", alias + ".account_type",
+                    String.format(STRIPED_BALANCE, alias), alias + ".status", alias + ".created_at",
+                    String.format(STRIPED_VERSION, alias), alias + ".balance_stripes");
+        }
+        static final String SET_BALANCE = "UPDATE accounts SET balance = ?, version = version + 1 WHERE account_id = ?";
+        static final String ADD_TO_BALANCE = "UPDATE accounts SET balance = balance + ?, version = version + 1 WHERE account_id = ?";
+        static final String WITHDRAW = "UPDATE accounts SET balance = balance - ?, version = version + 1 WHERE account_id = ? AND balance >= ?";
+        static final String COMPARE_AND_SET_BALANCE = "UPDATE accounts SET balance = ?, version = version + 1 WHERE account_id = ? AND version = ?";
+        static final String DELETE = "DELETE FROM accounts WHERE account_id = ?";
+
+        private Accounts() {
+        }
+    }
+
+    static final class BalanceStripes {
+        // Through idx_accounts_stripes: a seek past the zeros touches only the few striped accounts instead of
+        // scanning accounts every refresh, and as balance writes never change the column the index costs them nothing.
+        static final String STRIPED = "SELECT account_id, balance_stripes FROM accounts WHERE balance_stripes > 0";
+        static final String COUNT_FOR_UPDATE = "SELECT balance_stripes FROM accounts WHERE account_id = ? FOR UPDATE";
+        // MySQL 8 shared row lock; see BalanceStripes.deposit.
+        static final String COUNT_FOR_SHARE = "SELECT balance_stripes FROM accounts WHERE account_id = ? FOR SHARE";
+        static final String VERSION_FOR_UPDATE = "SELECT version FROM accounts WHERE account_id = ? FOR UPDATE";
+        static final String ROWS_FOR_UPDATE = "SELECT balance, version FROM account_balance_stripes WHERE account_id = ? FOR UPDATE";
+        static final String DEPOSIT = "UPDATE account_balance_stripes SET balance = balance + ?, version = version + 1 " +
+                "WHERE account_id = ? AND stripe = ?";
+        // Stripe versions are kept, so the account's combined version still only goes up.
+        static final String CLEAR = "UPDATE account_balance_stripes SET balance = 0 WHERE account_id = ?";
+        static final String INSERT = "INSERT INTO account_balance_stripes (account_id, stripe, balance, version) VALUES (?, ?, 0, 0)";
+        static final String DELETE = "DELETE FROM account_balance_stripes WHERE account_id = ?";
+        // Folds the deleted stripes' balance and versions into the account row and records the new stripe count.
+        static final String RESTRIPE = "UPDATE accounts SET balance = balance + ?, version = version + 1 + ?, " +
+                "balance_stripes = ? WHERE account_id = ?";
+
+        private BalanceStripes() {
+        }
+    }
+
+    static final class Customers {
+        static final String COLUMNS = "customer_id, first_name, last_name, dob, email, phone, address, created_at";
+        static final int CUSTOMER_ID = 0, FIRST_NAME = 1, LAST_NAME = 2, DOB = 3, EMAIL = 4, PHONE = 5, ADDRESS = 6, CREATED_AT = 7;
+        static final int WIDTH = 8;
+        static final String SELECT = "SELECT " + COLUMNS + " FROM customers ";
+
+        static final String INSERT = "INSERT INTO customers(first_name,last_name,dob,email,phone,address) VALUES (?,?,?,?,?,?)";
+        static final String BY_ID = SELECT + "WHERE customer_id = ?";
+        static final InList BY_IDS = new InList(SELECT + "WHERE customer_id IN (", ")");
+        static final String ALL = SELECT.trim();
+        static final String BY_FIRST_NAME = SELECT + "WHERE first_name LIKE ?";
+        static final String BY_EMAIL = SELECT + "WHERE email = ?";
+        static final String UPDATE = "UPDATE customers SET first_name = ?, last_name = ?, dob = ?, email = ?, phone = ?, address = ? " +
+                "WHERE customer_id = ?";
+        static final String DELETE = "DELETE FROM customers WHERE customer_id = ?";
+
+        private Customers() {
+        }
+    }
+
+    static final class Users {
+        static final String COLUMNS = "user_id, username, password_hash, role, created_at";
+        static final int USER_ID = 0, USERNAME = 1, PASSWORD_HASH = 2, ROLE = 3, CREATED_AT = 4;
+        static final int WIDTH = 5;
+        static final String SELECT = "SELECT " + COLUMNS + " FROM users ";
+
+        static final String INSERT = "INSERT INTO users (username, password_hash, role) VALUES (?,?,?)";
+        static final String BY_ID = SELECT + "WHERE user_id = ? LIMIT 1";
+        static final String BY_USERNAME = SELECT + "WHERE username = ? LIMIT 1";
+        static final InList BY_IDS = new InList(SELECT + "WHERE user_id IN (", ")");
+        static final String ALL = SELECT.trim();
+        static final String UPDATE = "UPDATE users SET username = ?, password_hash = ?, role = ? WHERE user_id = ?";
+        static final String DELETE = "DELETE FROM users WHERE user_id = ?";
+
+        private Users() {
+        }
+    }
+
+    static final class Transactions {
+        static final String COLUMNS = "transaction_id, account_id, type, amount, timestamp";
+        static final int TRANSACTION_ID = 0, ACCOUNT_ID = 1, TYPE = 2, AMOUNT = 3, TIMESTAMP = 4;
+        static final int WIDTH = 5;
+        static final String SELECT = "SELECT " + COLUMNS + " FROM transactions ";
+
+        static final String INSERT = "INSERT INTO transactions(account_id, type, amount, timestamp) VALUES (?,?,?,?)";
+        // Each transaction with its account (stripes summed in) and the account's customer in the same row.
+        static final String JOINED_SELECT = "SELECT " + qualified("t", COLUMNS) + ", " + Accounts.foldedColumns("a") + ", " +
+                qualified("c", Customers.COLUMNS) + " FROM transactions t " +
+                "JOIN accounts a ON a.account_id = t.account_id " +
+                "JOIN customers c ON c.customer_id = a.customer_id ";
+        static final int JOINED_ACCOUNT = 1 + WIDTH;
+        static final int JOINED_CUSTOMER = JOINED_ACCOUNT + Accounts.WIDTH;
+        static final String JOINED_BY_ID = JOINED_SELECT + "WHERE t.transaction_id = ?";
+        static final String JOINED_BY_ACCOUNT = JOINED_SELECT + "WHERE t.account_id = ?";
+        // Keyset pages over idx_transactions_account_ts; the AFTER variant continues from a cursor.
+        static final String HISTORY_FIRST = SELECT + "WHERE account_id = ? " +
+                "ORDER BY timestamp DESC, transaction_id DESC LIMIT ?";
+        static final String HISTORY_AFTER = SELECT + "WHERE account_id = ? " +
+                "AND (timestamp < ? OR (timestamp = ? AND transaction_id < ?)) " +
+                "ORDER BY timestamp DESC, transaction_id DESC LIMIT ?";
+        static final String UPDATE = "UPDATE transactions SET account_id = ?, type = ?, amount = ?, timestamp = ? WHERE transaction_id = ?";
+        static final String DELETE = "DELETE FROM transactions WHERE transaction_id = ?";
+
+        private Transactions() {
+        }
+    }
+
+    static final class Transfers {
+        static final String COLUMNS = "transfer_id, from_account_id, to_account_id, amount, timestamp";
+        static final int TRANSFER_ID = 0, FROM_ACCOUNT_ID = 1, TO_ACCOUNT_ID = 2, AMOUNT = 3, TIMESTAMP = 4;
+        static final int WIDTH = 5;
+        static final String SELECT = "SELECT " + COLUMNS + " FROM transfers ";
+
+        static final String INSERT = "INSERT INTO transfers(from_account_id, to_account_id, amount, timestamp) VALUES (?,?,?,?)";
+        static final String BY_ID = SELECT + "WHERE transfer_id = ?";
+        static final String BY_ACCOUNT = SELECT + "WHERE from_account_id = ? OR to_account_id = ?";
+        static final String UPDATE = "UPDATE transfers SET from_account_id = ?, to_account_id = ?, amount = ?, timestamp = ? WHERE transfer_id = ?";
+        static final String DELETE = "DELETE FROM transfers WHERE transfer_id = ?";
+
+        // Transfer plus both accounts and both customers in one round trip: the transfer columns, then
+        // the from account and customer, then the to account and customer, each block in its table's
+        // COLUMNS order. Customers are aliased with fc_/tc_ so the two joins don't collide, and each account
+        // block is Accounts.foldedColumns, stripes summed in by the statement.
+        static final String JOINED_COLUMNS = "SELECT " + qualified("t", COLUMNS) + ", " +
+                Accounts.foldedColumns("fa") + ", " + aliased("fc", Customers.COLUMNS) + ", " +
+                Accounts.foldedColumns("ta") + ", " + aliased("tc", Customers.COLUMNS) + " ";
+        // 1-based start of each block in a JOINED_COLUMNS row
+        static final int JOINED_FROM_ACCOUNT = 1 + WIDTH;
+        static final int JOINED_FROM_CUSTOMER = JOINED_FROM_ACCOUNT + Accounts.WIDTH;
+        static final int JOINED_TO_ACCOUNT = JOINED_FROM_CUSTOMER + Customers.WIDTH;
+        static final int JOINED_TO_CUSTOMER = JOINED_TO_ACCOUNT + Accounts.WIDTH;
+        static final String JOINED_PARENTS =
+                "JOIN accounts fa ON fa.account_id = t.from_account_id " +
+                "JOIN customers fc ON fc.customer_id = fa.customer_id " +
+                "JOIN accounts ta ON ta.account_id = t.to_account_id " +
+                "JOIN customers tc ON tc.customer_id = ta.customer_id ";
+        static final String JOINED_SELECT = JOINED_COLUMNS + "FROM transfers t " + JOINED_PARENTS;
+        static final String JOINED_BY_ID = JOINED_SELECT + "WHERE t.transfer_id = ?";
+        static final String JOINED_BY_ACCOUNT = JOINED_SELECT + "WHERE t.from_account_id = ? OR t.to_account_id = ?";
+
+        // History: "from = ? OR to = ?" cannot seek a single index, so each direction seeks its own
+        // (account, timestamp, transfer_id) index for pageSize + 1 rows and the union is re-sorted.
+        static final String HISTORY_FIRST = history("");
+        static final String HISTORY_AFTER = history("AND (timestamp < ? OR (timestamp = ? AND transfer_id < ?)) ");
+
+        // The same two index seeks without the parent joins, for TransferSummary pages.
+        static final String SUMMARY_HISTORY_FIRST = summaryHistory("");
+        static final String SUMMARY_HISTORY_AFTER = summaryHistory("AND (timestamp < ? OR (timestamp = ? AND transfer_id < ?)) ");
+
+        private static String summaryHistory(String seek) {
+            String side = SELECT + "WHERE %s = ? " + seek + "ORDER BY timestamp DESC, transfer_id DESC LIMIT ?";
+            return "SELECT " + COLUMNS + " " +
+                    "FROM ((" + String.format(side, "from_account_id") + ") UNION (" + String.format(side, "to_account_id") + ")) t " +
+                    "ORDER BY timestamp DESC, transfer_id DESC LIMIT ?";
+        }
+
+        private static String history(String seek) {
+            String side = SELECT + "WHERE %s = ? " + seek + "ORDER BY timestamp DESC, transfer_id DESC LIMIT ?";
+            return JOINED_COLUMNS +
+                    "FROM ((" + String.format(side, "from_account_id") + ") UNION (" + String.format(side, "to_account_id") + ")) t " +
+                    JOINED_PARENTS +
+                    "ORDER BY t.timestamp DESC, t.transfer_id DESC LIMIT ?";
+        }
+
+        private Transfers() {
+        }
+    }
+
+    static final class Alerts {
+        static final String COLUMNS = "alert_id, account_id, user_id, type, message, status, created_at";
+        static final int ALERT_ID = 0, ACCOUNT_ID = 1, USER_ID = 2, TYPE = 3, MESSAGE = 4, STATUS = 5, CREATED_AT = 6;
+        static final int WIDTH = 7;
+        static final String SELECT = "SELECT " + COLUMNS + " FROM alerts ";
+
+        static final String INSERT = "INSERT INTO alerts(account_id, user_id, type, message, status, created_at) VALUES (?,?,?,?,?,?)";
+        // For AlertSummary, which needs no parents.
+        static final String BY_ACCOUNT = SELECT + "WHERE account_id = ?";
+        static final String BY_STATUS = SELECT + "WHERE status = ?";
+        // Each alert with its account, the account's customer and the user (NULLs when there is none)
+        // in the same row, so mapping alerts runs no per-row parent lookups.
+        static final String JOINED_SELECT = "SELECT " + qualified("al", COLUMNS) + ", " + Accounts.foldedColumns("a") + ", " +
+                qualified("c", Customers.COLUMNS) + ", " + qualified("u", Users.COLUMNS) + " FROM alerts al " +
+                "JOIN accounts a ON a.account_id = al.account_id " +
+                "JOIN customers c ON c.customer_id = a.customer_id " +
+                "LEFT JOIN users u ON u.user_id = al.user_id ";
+        static final String JOINED_BY_ID = JOINED_SELECT + "WHERE al.alert_id = ?";
+        static final String JOINED_BY_ACCOUNT = JOINED_SELECT + "WHERE al.account_id = ?";
+        static final String JOINED_BY_USER = JOINED_SELECT + "WHERE al.user_id = ?";
+        static final String JOINED_BY_STATUS = JOINED_SELECT + "WHERE al.status = ?";
+        static final String JOINED_ALL = JOINED_SELECT.trim();
+        static final int JOINED_ACCOUNT = 1 + WIDTH;
+        static final int JOINED_CUSTOMER = JOINED_ACCOUNT + Accounts.WIDTH;
+        static final int JOINED_USER = JOINED_CUSTOMER + Customers.WIDTH;
+        static final String UPDATE_STATUS = "UPDATE alerts SET status = ? WHERE alert_id = ?";
+        static final String DELETE = "DELETE FROM alerts WHERE alert_id = ?";
+
+        private Alerts() {
+        }
+    }
+
+    static final class Loans {
+        static final String COLUMNS = "loan_id, customer_id, amount, interest_rate, start_date, end_date, status";
+        static final int LOAN_ID = 0, CUSTOMER_ID = 1, AMOUNT = 2, INTEREST_RATE = 3, START_DATE = 4, END_DATE = 5, STATUS = 6;
+        static final int WIDTH = 7;
+        static final String SELECT = "SELECT " + COLUMNS + " FROM loans ";
+
+        static final String INSERT = "INSERT INTO loans (customer_id, amount, interest_rate, start_date, end_date, status) " +
+                "VALUES (?,?,?,?,?,?)";
+        // Each loan with its customer in the same row, so mapping loans runs no per-row customer lookups.
+        static final String JOINED_SELECT = "SELECT " + qualified("l", COLUMNS) + ", " + qualified("c", Customers.COLUMNS) +
+                " FROM loans l JOIN customers c ON c.customer_id = l.customer_id ";
+        static final int JOINED_CUSTOMER = 1 + WIDTH;
+        static final String JOINED_BY_ID = JOINED_SELECT + "WHERE l.loan_id = ?";
+        static final String JOINED_BY_CUSTOMER = JOINED_SELECT + "WHERE l.customer_id = ?";
+        static final String JOINED_BY_STATUS = JOINED_SELECT + "WHERE l.status = ?";
+        static final String JOINED_ALL = JOINED_SELECT.trim();
+        static final String UPDATE = "UPDATE loans SET customer_id = ?, amount = ?, interest_rate = ?, start_date = ?, end_date = ?, status = ? " +
+                "WHERE loan_id = ?";
+        static final String DELETE = "DELETE FROM loans WHERE loan_id = ?";
+
+        private Loans() {
+        }
+    }
+
+    static final class JournalCheckpoints {
+        static final String LAST_SEQUENCE = "SELECT last_sequence FROM journal_checkpoints WHERE journal = ?";
+        static final String UPDATE = "UPDATE journal_checkpoints SET last_sequence = ?, updated_at = ? WHERE journal = ?";
+        static final String INSERT = "INSERT INTO journal_checkpoints (journal, last_sequence, updated_at) VALUES (?, ?, ?)";
+
+        private JournalCheckpoints() {
+        }
+    }
+
+    static final class Ledger {
+        static final String COLUMNS = "entry_id, account_id, amount, source_type, source_id, posted_at";
+        static final int ENTRY_ID = 0, ACCOUNT_ID = 1, AMOUNT = 2, SOURCE_TYPE = 3, SOURCE_ID = 4, POSTED_AT = 5;
+        static final int WIDTH = 6;
+
+        static final String INSERT_ENTRY = "INSERT INTO ledger_entries (account_id, amount, source_type, source_id, posted_at) " +
+                "VALUES (?,?,?,?,?)";
+
+        // Latest snapshot balance plus the entries after it; both seeks stay inside one account's index range.
+        static final String BALANCE = "SELECT " +
+                "COALESCE((SELECT balance FROM ledger_snapshots WHERE account_id = ? ORDER BY entry_id DESC LIMIT 1), 0) + " +
+                "COALESCE((SELECT SUM(amount) FROM ledger_entries WHERE account_id = ? AND entry_id > " +
+                "COALESCE((SELECT MAX(entry_id) FROM ledger_snapshots WHERE account_id = ?), 0)), 0)";
+
+        // Both entries of a posting, through uq_ledger_entries_source.
+        static final String BY_SOURCE = "SELECT " + COLUMNS + " FROM ledger_entries " +
+                "WHERE source_type = ? AND source_id = ? ORDER BY entry_id";
+
+        static final String LAST_SNAPSHOT_ENTRY = "SELECT COALESCE(MAX(entry_id), 0) FROM ledger_snapshots";
+        static final String LAST_ENTRY = "SELECT COALESCE(MAX(entry_id), 0) FROM ledger_entries";
+        // Locking read of the entries in (?, ?]: waits for the transactions still inserting into the range.
+        // Keep the upper bound below the newest entry (see LedgerDAOImpl.awaitPostings).
+        static final String LOCK_RANGE = "SELECT entry_id FROM ledger_entries WHERE entry_id > ? AND entry_id <= ? FOR UPDATE";
+
+        private static final String LATEST_SNAPSHOTS =
+                "LEFT JOIN (SELECT account_id, MAX(entry_id) AS entry_id FROM ledger_snapshots GROUP BY account_id) ls " +
+                "ON ls.account_id = %1$s.account_id " +
+                "LEFT JOIN ledger_snapshots s ON s.account_id = ls.account_id AND s.entry_id = ls.entry_id ";
+
+        // New snapshot at entry ? for each account with entries in (?, ?]: its previous snapshot plus those entries.
+        // The CAST gives the select-list parameter a type on drivers that cannot infer one (H2).
+        static final String SNAPSHOT = "INSERT INTO ledger_snapshots (account_id, entry_id, balance, taken_at) " +
+                "SELECT d.account_id, CAST(? AS DECIMAL(19, 0)), COALESCE(s.balance, 0) + d.delta, CURRENT_TIMESTAMP " +
+                "FROM (SELECT account_id, SUM(amount) AS delta FROM ledger_entries " +
+                "WHERE entry_id > ? AND entry_id <= ? GROUP BY account_id) d " +
+                String.format(LATEST_SNAPSHOTS, "d");
+
+        // One statement, so balances and ledger are read from the same consistent view.
+        static final String DISCREPANCIES = "SELECT account_id, balance, ledger_balance FROM (" +
+                "SELECT a.account_id, " + String.format(Accounts.STRIPED_BALANCE, "a") + " AS balance, COALESCE(s.balance, 0) + " +
+                "COALESCE((SELECT SUM(e.amount) FROM ledger_entries e " +
+                "WHERE e.account_id = a.account_id AND e.entry_id > COALESCE(s.entry_id, 0)), 0) AS ledger_balance " +
+                "FROM accounts a " + String.format(LATEST_SNAPSHOTS, "a") +
+                ") r WHERE r.balance <> r.ledger_balance ORDER BY account_id";
+
+        private Ledger() {
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.corebank.dao.impl;
+
+import com.corebank.dao.StatementCache;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
+
+// Prepares through the connection's StatementCache when one is open, otherwise a one-off statement.
+final class Statements {
+
+    /**
+     * A statement borrowed for one DAO call. Closing it closes a one-off statement but hands a
+     * cached one back for the next call, so DAO methods keep their try-with-resources shape.
+     */
+    static final class Lease implements AutoCloseable {
+        private final PreparedStatement statement;
+        private final StatementCache cache;
+
+        private Lease(PreparedStatement statement, StatementCache cache) {
+            this.statement = statement;
+            this.cache = cache;
+        }
+
+        PreparedStatement statement() {
+            return statement;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            if (cache != null) {
+                cache.release(statement);
+            } else {
+                statement.close();
+            }
+        }
+    }
+
+    private Statements() {
+    }
+
+    static Lease prepare(Connection connection, String sql) throws SQLException {
+        return lease(connection, sql, false);
+    }
+
+    static Lease prepareReturningKeys(Connection connection, String sql) throws SQLException {
+        return lease(connection, sql, true);
+    }
+
+    private static Lease lease(Connection connection, String sql, boolean returnGeneratedKeys) throws SQLException {
+        Optional<StatementCache> cache = StatementCache.current(connection);
+        if (cache.isPresent()) {
+            PreparedStatement cached = cache.get().borrow(sql, returnGeneratedKeys);
+            if (cached != null) {
+                return new Lease(cached, cache.get());
+            }
+        }
+        return new Lease(connection.prepareStatement(sql,
+                returnGeneratedKeys ? Statement.RETURN_GENERATED_KEYS : Statement.NO_GENERATED_KEYS), null);
+    }
+}
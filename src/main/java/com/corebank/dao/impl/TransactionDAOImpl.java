@@ -2,17 +2,22 @@ package com.corebank.dao.impl;
 
 import com.corebank.dao.TransactionDAO;
 import com.corebank.dao.AccountDAO;
+import com.corebank.dao.IdentityMap;
+import com.corebank.dao.Page;
+import com.corebank.dao.PageCursor;
 import com.corebank.db.DBConnectionManager;
 import com.corebank.exception.DataAccessException;
 import com.corebank.model.Account;
+import com.corebank.model.Customer;
 import com.corebank.model.Transaction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.math.BigDecimal;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class TransactionDAOImpl implements TransactionDAO {
@@ -20,20 +25,49 @@ public class TransactionDAOImpl implements TransactionDAO {
     private AccountDAO accountDAO = new AccountDAOImpl();
     private Logger logger = LoggerFactory.getLogger(TransactionDAOImpl.class);
 
-    // Helper: map ResultSet row to Transaction object
-    private Transaction mapRowToTransaction(ResultSet resultSet) {
+    public TransactionDAOImpl() {
+    }
+
+    public TransactionDAOImpl(AccountDAO accountDAO) {
+        this.accountDAO = accountDAO;
+    }
+
+    // Row of a Transactions.JOINED_SELECT query; the account's stripes are already summed in by the query.
+    // An account already mapped from this result set (accounts) is reused.
+    private Transaction mapRowToTransaction(ResultSet resultSet, Map<Long, Account> accounts) {
         try {
-            long transactionId = resultSet.getLong("transaction_id");
-            long accountId = resultSet.getLong("account_id");
-            String typeStr = resultSet.getString("type");
-            BigDecimal amount = resultSet.getBigDecimal("amount");
-            Timestamp timestampSql = resultSet.getTimestamp("timestamp");
+            long accountId = resultSet.getLong(SqlRegistry.Transactions.JOINED_ACCOUNT + SqlRegistry.Accounts.ACCOUNT_ID);
+            Account account = accounts.get(accountId);
+            if (account == null) {
+                account = mapJoinedAccount(resultSet);
+                accounts.put(accountId, account);
+            }
+            return EntityMappers.transaction(resultSet, 1, account);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error mapping transaction from ResultSet", e);
+        } catch (IllegalArgumentException e) {
+            throw new DataAccessException("Invalid enum value in transaction table", e);
+        }
+    }
+
+    private Account mapJoinedAccount(ResultSet resultSet) throws SQLException {
+        Optional<IdentityMap> identityMap = IdentityMap.current();
 
-            Account account = accountDAO.getAccountById(accountId)
-                    .orElseThrow(() -> new DataAccessException("Account not found for id: " + accountId));
+        int customerAt = SqlRegistry.Transactions.JOINED_CUSTOMER;
+        long customerId = resultSet.getLong(customerAt + SqlRegistry.Customers.CUSTOMER_ID);
+        Customer mappedCustomer = EntityMappers.customer(resultSet, customerAt);
+        Customer customer = identityMap.map(map -> map.register(Customer.class, customerId, mappedCustomer))
+                .orElse(mappedCustomer);
 
-            Transaction.Type type = Transaction.Type.valueOf(typeStr.trim().toUpperCase());
-            return new Transaction(transactionId, account, type, amount, timestampSql.toLocalDateTime());
+        Account mapped = EntityMappers.account(resultSet, SqlRegistry.Transactions.JOINED_ACCOUNT, customer);
+        BalanceStripes.remember(mapped.getAccountId(), mapped.getBalanceStripes());
+        return identityMap.map(map -> map.register(Account.class, mapped.getAccountId(), mapped)).orElse(mapped);
+    }
+
+    // Used by history reads, where every row belongs to the same, already loaded account
+    private Transaction mapRowToTransaction(ResultSet resultSet, Account account) {
+        try {
+            return EntityMappers.transaction(resultSet, 1, account);
         } catch (SQLException e) {
             throw new DataAccessException("Error mapping transaction from ResultSet", e);
         } catch (IllegalArgumentException e) {
@@ -53,12 +87,9 @@ public class TransactionDAOImpl implements TransactionDAO {
 
     @Override
     public long createTransaction(Transaction transaction, Connection connection) {
-        String sql = "INSERT INTO transactions(account_id, type, amount, timestamp) VALUES (?,?,?,?)";
-        try (PreparedStatement ps = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            ps.setLong(1, transaction.getAccount().getAccountId());
-            ps.setString(2, transaction.getType().name());
-            ps.setBigDecimal(3, transaction.getAmount());
-            ps.setTimestamp(4, Timestamp.valueOf(transaction.getTimestamp()));
+        try (Statements.Lease lease = Statements.prepareReturningKeys(connection, SqlRegistry.Transactions.INSERT)) {
+            PreparedStatement ps = lease.statement();
+            bindInsert(ps, transaction);
 
             int rows = ps.executeUpdate();
             if (rows > 0) {
@@ -80,6 +111,39 @@ public class TransactionDAOImpl implements TransactionDAO {
         }
     }
 
+    @Override
+    public int createTransactions(List<Transaction> transactions) {
+        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+            return JdbcBatch.insertInTransaction(connection, SqlRegistry.Transactions.INSERT, transactions, JdbcBatch.DEFAULT_BATCH_SIZE,
+                    this::bindInsert, Transaction::setTransactionId);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error batch inserting transactions", e);
+        }
+    }
+
+    @Override
+    public int createTransactions(List<Transaction> transactions, Connection connection) {
+        return createTransactions(transactions, JdbcBatch.DEFAULT_BATCH_SIZE, connection);
+    }
+
+    @Override
+    public int createTransactions(List<Transaction> transactions, int batchSize, Connection connection) {
+        try {
+            int inserted = JdbcBatch.insert(connection, SqlRegistry.Transactions.INSERT, transactions, batchSize, this::bindInsert, Transaction::setTransactionId);
+            logger.info("Batch inserted {} transactions", inserted);
+            return inserted;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error batch inserting transactions", e);
+        }
+    }
+
+    private void bindInsert(PreparedStatement ps, Transaction transaction) throws SQLException {
+        ps.setLong(1, transaction.getAccount().getAccountId());
+        ps.setString(2, transaction.getType().name());
+        ps.setBigDecimal(3, transaction.getAmount());
+        ps.setTimestamp(4, Timestamp.valueOf(transaction.getTimestamp()));
+    }
+
     // READ
     @Override
     public Optional<Transaction> getTransactionById(long transactionId) {
@@ -92,12 +156,13 @@ public class TransactionDAOImpl implements TransactionDAO {
 
     @Override
     public Optional<Transaction> getTransactionById(long transactionId, Connection connection) {
-        String sql = "SELECT * FROM transactions WHERE transaction_id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        String sql = SqlRegistry.Transactions.JOINED_BY_ID;
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement ps = lease.statement();
             ps.setLong(1, transactionId);
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return Optional.of(mapRowToTransaction(rs));
+                    return Optional.of(mapRowToTransaction(rs, new HashMap<>()));
                 }
             }
         } catch (SQLException e) {
@@ -108,7 +173,7 @@ public class TransactionDAOImpl implements TransactionDAO {
 
     @Override
     public List<Transaction> getTransactionsByAccountId(long accountId) {
-        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+        try (Connection connection = DBConnectionManager.getInstance().getReadConnection()) {
             return getTransactionsByAccountId(accountId, connection);
         } catch (SQLException e) {
             throw new DataAccessException("Error fetching transactions for account_id " + accountId, e);
@@ -117,13 +182,15 @@ public class TransactionDAOImpl implements TransactionDAO {
 
     @Override
     public List<Transaction> getTransactionsByAccountId(long accountId, Connection connection) {
-        String sql = "SELECT * FROM transactions WHERE account_id = ?";
+        String sql = SqlRegistry.Transactions.JOINED_BY_ACCOUNT;
         List<Transaction> transactions = new ArrayList<>();
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        Map<Long, Account> accounts = new HashMap<>();
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement ps = lease.statement();
             ps.setLong(1, accountId);
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    transactions.add(mapRowToTransaction(rs));
+                    transactions.add(mapRowToTransaction(rs, accounts));
                 }
             }
         } catch (SQLException e) {
@@ -132,6 +199,64 @@ public class TransactionDAOImpl implements TransactionDAO {
         return transactions;
     }
 
+    @Override
+    public Page<Transaction> getTransactionHistory(long accountId, String cursor, int pageSize) {
+        try (Connection connection = DBConnectionManager.getInstance().getReadConnection()) {
+            return getTransactionHistory(accountId, cursor, pageSize, connection);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error fetching transaction history for account_id " + accountId, e);
+        }
+    }
+
+    @Override
+    public Page<Transaction> getTransactionHistory(long accountId, String cursor, int pageSize, Connection connection) {
+        Page.checkPageSize(pageSize);
+        PageCursor after = (cursor != null) ? PageCursor.decode(cursor) : null;
+
+        // Served by idx_transactions_account_ts (account_id, timestamp, transaction_id): a seek plus pageSize + 1 index entries.
+        String sql = (after != null) ? SqlRegistry.Transactions.HISTORY_AFTER : SqlRegistry.Transactions.HISTORY_FIRST;
+
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement ps = lease.statement();
+            int index = 1;
+            ps.setLong(index++, accountId);
+            if (after != null) {
+                Timestamp ts = Timestamp.valueOf(after.timestamp());
+                ps.setTimestamp(index++, ts);
+                ps.setTimestamp(index++, ts);
+                ps.setLong(index++, after.id());
+            }
+            ps.setInt(index, pageSize + 1);
+
+            List<Transaction> transactions = new ArrayList<>();
+            boolean more = false;
+            try (ResultSet rs = ps.executeQuery()) {
+                Account account = null;
+                while (rs.next()) {
+                    if (transactions.size() == pageSize) {
+                        more = true;
+                        break;
+                    }
+                    if (account == null) {
+                        account = accountDAO.getAccountById(accountId, connection)
+                                .orElseThrow(() -> new DataAccessException("Account not found for id: " + accountId));
+                    }
+                    transactions.add(mapRowToTransaction(rs, account));
+                }
+            }
+
+            String next = null;
+            if (more) {
+                Transaction last = transactions.get(transactions.size() - 1);
+                next = new PageCursor(last.getTimestamp(), last.getTransactionId()).encode();
+            }
+            return new Page<>(transactions, next);
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Error fetching transaction history for account_id " + accountId, e);
+        }
+    }
+
     // UPDATE
     @Override
     public void updateTransaction(Transaction transaction) {
@@ -144,8 +269,9 @@ public class TransactionDAOImpl implements TransactionDAO {
 
     @Override
     public void updateTransaction(Transaction transaction, Connection connection) {
-        String sql = "UPDATE transactions SET account_id = ?, type = ?, amount = ?, timestamp = ? WHERE transaction_id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        String sql = SqlRegistry.Transactions.UPDATE;
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement ps = lease.statement();
             ps.setLong(1, transaction.getAccount().getAccountId());
             ps.setString(2, transaction.getType().name());
             ps.setBigDecimal(3, transaction.getAmount());
@@ -174,8 +300,9 @@ public class TransactionDAOImpl implements TransactionDAO {
 
     @Override
     public void deleteTransaction(long transactionId, Connection connection) {
-        String sql = "DELETE FROM transactions WHERE transaction_id = ?";
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+        String sql = SqlRegistry.Transactions.DELETE;
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement ps = lease.statement();
             ps.setLong(1, transactionId);
             int rows = ps.executeUpdate();
             if (rows > 0) {
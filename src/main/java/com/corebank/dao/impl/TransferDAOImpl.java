@@ -1,47 +1,114 @@
 package com.corebank.dao.impl;
 
 import com.corebank.dao.AccountDAO;
+import com.corebank.dao.FetchPlan;
+import com.corebank.dao.IdentityMap;
+import com.corebank.dao.Page;
+import com.corebank.dao.PageCursor;
 import com.corebank.dao.TransferDAO;
 import com.corebank.db.DBConnectionManager;
 import com.corebank.exception.DataAccessException;
 import com.corebank.model.Account;
+import com.corebank.model.Customer;
 import com.corebank.model.Transfer;
+import com.corebank.model.TransferSummary;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
 
 public class TransferDAOImpl implements TransferDAO {
 
     private AccountDAO accountDAO = new AccountDAOImpl();
     private Logger logger = LoggerFactory.getLogger(TransferDAOImpl.class);
 
-    // Helper method to map ResultSet to Transfer
-    private Transfer mapRowToTransfer(ResultSet resultSet) {
+    public TransferDAOImpl() {
+    }
+
+    public TransferDAOImpl(AccountDAO accountDAO) {
+        this.accountDAO = accountDAO;
+    }
+
+    // Row of a LAZY read: each account is loaded by id on the same connection, never a second pooled one.
+    private Transfer mapRowToTransfer(ResultSet resultSet, Connection connection) {
         try {
-            long transferId = resultSet.getLong("transfer_id");
-            long fromAccountId = resultSet.getLong("from_account_id");
-            long toAccountId = resultSet.getLong("to_account_id");
-            BigDecimal amount = resultSet.getBigDecimal("amount");
-            Timestamp timestamp = resultSet.getTimestamp("timestamp");
+            long fromAccountId = resultSet.getLong(1 + SqlRegistry.Transfers.FROM_ACCOUNT_ID);
+            long toAccountId = resultSet.getLong(1 + SqlRegistry.Transfers.TO_ACCOUNT_ID);
 
-            Account fromAccount = accountDAO.getAccountById(fromAccountId)
+            Account fromAccount = findAccount(fromAccountId, connection)
                     .orElseThrow(() -> new DataAccessException("From account not found: " + fromAccountId));
 
-            Account toAccount = accountDAO.getAccountById(toAccountId)
+            Account toAccount = findAccount(toAccountId, connection)
                     .orElseThrow(() -> new DataAccessException("To account not found: " + toAccountId));
 
-            LocalDateTime dateTime = (timestamp != null) ? timestamp.toLocalDateTime() : null;
+            return EntityMappers.transfer(resultSet, 1, fromAccount, toAccount);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error mapping transfer from ResultSet", e);
+        }
+    }
+
+    private Optional<Account> findAccount(long accountId, Connection connection) throws SQLException {
+        Optional<IdentityMap> identityMap = IdentityMap.current();
+        if (identityMap.isPresent()) {
+            return identityMap.get().find(Account.class, accountId, id -> accountDAO.getAccountById(id, connection));
+        }
+        return accountDAO.getAccountById(accountId, connection);
+    }
+
+    // Helper for JOINED reads. Accounts and customers already seen in this result set are reused,
+    // so an account that appears on many transfers is materialised once.
+    private Transfer mapJoinedRowToTransfer(ResultSet resultSet, Map<Long, Account> accounts, Map<Long, Customer> customers) {
+        try {
+            Account fromAccount = mapJoinedAccount(resultSet, SqlRegistry.Transfers.JOINED_FROM_ACCOUNT,
+                    SqlRegistry.Transfers.JOINED_FROM_CUSTOMER, accounts, customers);
+            Account toAccount = mapJoinedAccount(resultSet, SqlRegistry.Transfers.JOINED_TO_ACCOUNT,
+                    SqlRegistry.Transfers.JOINED_TO_CUSTOMER, accounts, customers);
 
-            return new Transfer(transferId, fromAccount, toAccount, amount, dateTime);
+            return EntityMappers.transfer(resultSet, 1, fromAccount, toAccount);
         } catch (SQLException e) {
             throw new DataAccessException("Error mapping transfer from ResultSet", e);
+        } catch (IllegalArgumentException e) {
+            throw new DataAccessException("Invalid enum value in account table", e);
+        }
+    }
+
+    private Account mapJoinedAccount(ResultSet resultSet, int accountAt, int customerAt,
+                                     Map<Long, Account> accounts, Map<Long, Customer> customers) throws SQLException {
+        long accountId = resultSet.getLong(accountAt + SqlRegistry.Accounts.ACCOUNT_ID);
+        Account cached = accounts.get(accountId);
+        if (cached != null) {
+            return cached;
         }
+
+        Customer customer = mapJoinedCustomer(resultSet, customerAt, customers);
+
+        Account mapped = EntityMappers.account(resultSet, accountAt, customer);
+        BalanceStripes.remember(accountId, mapped.getBalanceStripes());
+        Account account = IdentityMap.current()
+                .map(map -> map.register(Account.class, accountId, mapped))
+                .orElse(mapped);
+        accounts.put(accountId, account);
+        return account;
+    }
+
+    private Customer mapJoinedCustomer(ResultSet resultSet, int at, Map<Long, Customer> customers) throws SQLException {
+        long customerId = resultSet.getLong(at + SqlRegistry.Customers.CUSTOMER_ID);
+        Customer cached = customers.get(customerId);
+        if (cached != null) {
+            return cached;
+        }
+
+        Customer mapped = EntityMappers.customer(resultSet, at);
+        Customer customer = IdentityMap.current()
+                .map(map -> map.register(Customer.class, customerId, mapped))
+                .orElse(mapped);
+        customers.put(customerId, customer);
+        return customer;
     }
 
     @Override
@@ -55,12 +122,9 @@ public class TransferDAOImpl implements TransferDAO {
 
     @Override
     public long createTransfer(Transfer transfer, Connection connection) {
-        String sql = "INSERT INTO transfers(from_account_id, to_account_id, amount, timestamp) VALUES (?,?,?,?)";
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            preparedStatement.setLong(1, transfer.getFromAccount().getAccountId());
-            preparedStatement.setLong(2, transfer.getToAccount().getAccountId());
-            preparedStatement.setBigDecimal(3, transfer.getAmount());
-            preparedStatement.setTimestamp(4, Timestamp.valueOf(transfer.getTimestamp()));
+        try (Statements.Lease lease = Statements.prepareReturningKeys(connection, SqlRegistry.Transfers.INSERT)) {
+            PreparedStatement preparedStatement = lease.statement();
+            bindInsert(preparedStatement, transfer);
 
             int rowsAffected = preparedStatement.executeUpdate();
             if (rowsAffected > 0) {
@@ -82,6 +146,39 @@ public class TransferDAOImpl implements TransferDAO {
         }
     }
 
+    @Override
+    public int createTransfers(List<Transfer> transfers) {
+        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+            return JdbcBatch.insertInTransaction(connection, SqlRegistry.Transfers.INSERT, transfers, JdbcBatch.DEFAULT_BATCH_SIZE,
+                    this::bindInsert, Transfer::setTransferId);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error batch inserting transfers", e);
+        }
+    }
+
+    @Override
+    public int createTransfers(List<Transfer> transfers, Connection connection) {
+        return createTransfers(transfers, JdbcBatch.DEFAULT_BATCH_SIZE, connection);
+    }
+
+    @Override
+    public int createTransfers(List<Transfer> transfers, int batchSize, Connection connection) {
+        try {
+            int inserted = JdbcBatch.insert(connection, SqlRegistry.Transfers.INSERT, transfers, batchSize, this::bindInsert, Transfer::setTransferId);
+            logger.info("Batch inserted {} transfers", inserted);
+            return inserted;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error batch inserting transfers", e);
+        }
+    }
+
+    private void bindInsert(PreparedStatement preparedStatement, Transfer transfer) throws SQLException {
+        preparedStatement.setLong(1, transfer.getFromAccount().getAccountId());
+        preparedStatement.setLong(2, transfer.getToAccount().getAccountId());
+        preparedStatement.setBigDecimal(3, transfer.getAmount());
+        preparedStatement.setTimestamp(4, Timestamp.valueOf(transfer.getTimestamp()));
+    }
+
     @Override
     public Optional<Transfer> getTransferById(long transferId) {
         try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
@@ -93,12 +190,34 @@ public class TransferDAOImpl implements TransferDAO {
 
     @Override
     public Optional<Transfer> getTransferById(long transferId, Connection connection) {
-        String sql = "SELECT * FROM transfers WHERE transfer_id = ?";
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+        return getTransferById(transferId, FetchPlan.JOINED, connection);
+    }
+
+    @Override
+    public Optional<Transfer> getTransferById(long transferId, FetchPlan fetchPlan, Connection connection) {
+        if (fetchPlan == FetchPlan.JOINED) {
+            String sql = SqlRegistry.Transfers.JOINED_BY_ID;
+            try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+                PreparedStatement preparedStatement = lease.statement();
+                preparedStatement.setLong(1, transferId);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    if (resultSet.next()) {
+                        return Optional.of(mapJoinedRowToTransfer(resultSet, new HashMap<>(), new HashMap<>()));
+                    }
+                }
+            } catch (SQLException e) {
+                throw new DataAccessException("Error fetching transfer with id " + transferId, e);
+            }
+            return Optional.empty();
+        }
+
+        String sql = SqlRegistry.Transfers.BY_ID;
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement preparedStatement = lease.statement();
             preparedStatement.setLong(1, transferId);
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 if (resultSet.next()) {
-                    return Optional.of(mapRowToTransfer(resultSet));
+                    return Optional.of(mapRowToTransfer(resultSet, connection));
                 }
             }
         } catch (SQLException e) {
@@ -109,7 +228,7 @@ public class TransferDAOImpl implements TransferDAO {
 
     @Override
     public List<Transfer> getTransfersByAccountId(long accountId) {
-        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+        try (Connection connection = DBConnectionManager.getInstance().getReadConnection()) {
             return getTransfersByAccountId(accountId, connection);
         } catch (SQLException e) {
             throw new DataAccessException("Error fetching transfers for account id " + accountId, e);
@@ -118,14 +237,40 @@ public class TransferDAOImpl implements TransferDAO {
 
     @Override
     public List<Transfer> getTransfersByAccountId(long accountId, Connection connection) {
-        String sql = "SELECT * FROM transfers WHERE from_account_id = ? OR to_account_id = ?";
+        return getTransfersByAccountId(accountId, FetchPlan.JOINED, connection);
+    }
+
+    @Override
+    public List<Transfer> getTransfersByAccountId(long accountId, FetchPlan fetchPlan, Connection connection) {
+        if (fetchPlan == FetchPlan.JOINED) {
+            String sql = SqlRegistry.Transfers.JOINED_BY_ACCOUNT;
+            List<Transfer> transfers = new ArrayList<>();
+            Map<Long, Account> accounts = new HashMap<>();
+            Map<Long, Customer> customers = new HashMap<>();
+            try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+                PreparedStatement preparedStatement = lease.statement();
+                preparedStatement.setLong(1, accountId);
+                preparedStatement.setLong(2, accountId);
+                try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        transfers.add(mapJoinedRowToTransfer(resultSet, accounts, customers));
+                    }
+                }
+            } catch (SQLException e) {
+                throw new DataAccessException("Error fetching transfers for account id " + accountId, e);
+            }
+            return transfers;
+        }
+
+        String sql = SqlRegistry.Transfers.BY_ACCOUNT;
         List<Transfer> transfers = new ArrayList<>();
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement preparedStatement = lease.statement();
             preparedStatement.setLong(1, accountId);
             preparedStatement.setLong(2, accountId);
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 while (resultSet.next()) {
-                    transfers.add(mapRowToTransfer(resultSet));
+                    transfers.add(mapRowToTransfer(resultSet, connection));
                 }
             }
         } catch (SQLException e) {
@@ -134,6 +279,144 @@ public class TransferDAOImpl implements TransferDAO {
         return transfers;
     }
 
+    @Override
+    public Page<Transfer> getTransferHistory(long accountId, String cursor, int pageSize) {
+        try (Connection connection = DBConnectionManager.getInstance().getReadConnection()) {
+            return getTransferHistory(accountId, cursor, pageSize, connection);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error fetching transfer history for account id " + accountId, e);
+        }
+    }
+
+    @Override
+    public Page<Transfer> getTransferHistory(long accountId, String cursor, int pageSize, Connection connection) {
+        Page.checkPageSize(pageSize);
+        PageCursor after = (cursor != null) ? PageCursor.decode(cursor) : null;
+
+        String sql = (after != null) ? SqlRegistry.Transfers.HISTORY_AFTER : SqlRegistry.Transfers.HISTORY_FIRST;
+
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement preparedStatement = lease.statement();
+            bindHistory(preparedStatement, accountId, after, pageSize);
+
+            List<Transfer> transfers = new ArrayList<>();
+            Map<Long, Account> accounts = new HashMap<>();
+            Map<Long, Customer> customers = new HashMap<>();
+            boolean more = false;
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    if (transfers.size() == pageSize) {
+                        more = true;
+                        break;
+                    }
+                    transfers.add(mapJoinedRowToTransfer(resultSet, accounts, customers));
+                }
+            }
+
+            String next = null;
+            if (more) {
+                Transfer last = transfers.get(transfers.size() - 1);
+                next = new PageCursor(last.getTimestamp(), last.getTransferId()).encode();
+            }
+            return new Page<>(transfers, next);
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Error fetching transfer history for account id " + accountId, e);
+        }
+    }
+
+    // Parameters of Transfers.HISTORY_* and SUMMARY_HISTORY_*: each direction's seek, then the outer limit.
+    private static void bindHistory(PreparedStatement preparedStatement, long accountId, PageCursor after, int pageSize)
+            throws SQLException {
+        int index = 1;
+        for (int i = 0; i < 2; i++) {
+            preparedStatement.setLong(index++, accountId);
+            if (after != null) {
+                Timestamp ts = Timestamp.valueOf(after.timestamp());
+                preparedStatement.setTimestamp(index++, ts);
+                preparedStatement.setTimestamp(index++, ts);
+                preparedStatement.setLong(index++, after.id());
+            }
+            preparedStatement.setInt(index++, pageSize + 1);
+        }
+        preparedStatement.setInt(index, pageSize + 1);
+    }
+
+    @Override
+    public List<TransferSummary> getTransferSummariesByAccountId(long accountId) {
+        try (Connection connection = DBConnectionManager.getInstance().getReadConnection()) {
+            return getTransferSummariesByAccountId(accountId, connection);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error fetching transfer summaries for account id " + accountId, e);
+        }
+    }
+
+    @Override
+    public List<TransferSummary> getTransferSummariesByAccountId(long accountId, Connection connection) {
+        String sql = SqlRegistry.Transfers.BY_ACCOUNT;
+        List<TransferSummary> transfers = new ArrayList<>();
+
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement preparedStatement = lease.statement();
+            preparedStatement.setLong(1, accountId);
+            preparedStatement.setLong(2, accountId);
+
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    transfers.add(EntityMappers.transferSummary(resultSet, 1));
+                }
+            }
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Error fetching transfer summaries for account id " + accountId, e);
+        }
+        return transfers;
+    }
+
+    @Override
+    public Page<TransferSummary> getTransferSummaryHistory(long accountId, String cursor, int pageSize) {
+        try (Connection connection = DBConnectionManager.getInstance().getReadConnection()) {
+            return getTransferSummaryHistory(accountId, cursor, pageSize, connection);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error fetching transfer summary history for account id " + accountId, e);
+        }
+    }
+
+    @Override
+    public Page<TransferSummary> getTransferSummaryHistory(long accountId, String cursor, int pageSize, Connection connection) {
+        Page.checkPageSize(pageSize);
+        PageCursor after = (cursor != null) ? PageCursor.decode(cursor) : null;
+
+        String sql = (after != null) ? SqlRegistry.Transfers.SUMMARY_HISTORY_AFTER : SqlRegistry.Transfers.SUMMARY_HISTORY_FIRST;
+
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement preparedStatement = lease.statement();
+            bindHistory(preparedStatement, accountId, after, pageSize);
+
+            List<TransferSummary> transfers = new ArrayList<>();
+            boolean more = false;
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                while (resultSet.next()) {
+                    if (transfers.size() == pageSize) {
+                        more = true;
+                        break;
+                    }
+                    transfers.add(EntityMappers.transferSummary(resultSet, 1));
+                }
+            }
+
+            String next = null;
+            if (more) {
+                TransferSummary last = transfers.get(transfers.size() - 1);
+                next = new PageCursor(last.timestamp(), last.transferId()).encode();
+            }
+            return new Page<>(transfers, next);
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Error fetching transfer summary history for account id " + accountId, e);
+        }
+    }
+
     @Override
     public void updateTransfer(Transfer transfer) {
         try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
@@ -145,8 +428,9 @@ public class TransferDAOImpl implements TransferDAO {
 
     @Override
     public void updateTransfer(Transfer transfer, Connection connection) {
-        String sql = "UPDATE transfers SET from_account_id = ?, to_account_id = ?, amount = ?, timestamp = ? WHERE transfer_id = ?";
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+        String sql = SqlRegistry.Transfers.UPDATE;
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement preparedStatement = lease.statement();
             preparedStatement.setLong(1, transfer.getFromAccount().getAccountId());
             preparedStatement.setLong(2, transfer.getToAccount().getAccountId());
             preparedStatement.setBigDecimal(3, transfer.getAmount());
@@ -173,8 +457,9 @@ public class TransferDAOImpl implements TransferDAO {
 
     @Override
     public void deleteTransfer(long transferId, Connection connection) {
-        String sql = "DELETE FROM transfers WHERE transfer_id = ?";
-        try (PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+        String sql = SqlRegistry.Transfers.DELETE;
+        try (Statements.Lease lease = Statements.prepare(connection, sql)) {
+            PreparedStatement preparedStatement = lease.statement();
             preparedStatement.setLong(1, transferId);
             int rowsAffected = preparedStatement.executeUpdate();
             if (rowsAffected > 0) {
@@ -1,26 +1,46 @@
 package com.corebank.dao.impl;
 
+import com.corebank.dao.IdentityMap;
 import com.corebank.dao.UserDAO;
 import com.corebank.db.DBConnectionManager;
+import com.corebank.exception.DataAccessException;
 import com.corebank.model.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
-import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 
 public class UserDAOImpl implements UserDAO {
 
     Logger logger = LoggerFactory.getLogger(UserDAOImpl.class);
 
+    private User mapRowToUser(ResultSet resultSet) throws SQLException {
+        String roleStr = resultSet.getString(1 + SqlRegistry.Users.ROLE);
+        User.Role role = null;
+        if (roleStr != null) {
+            try {
+                role = EntityMappers.ROLES.parse(roleStr);
+            } catch (IllegalArgumentException e) {
+                logger.warn("Invalid role for user_id {}: '{}'", resultSet.getLong(1 + SqlRegistry.Users.USER_ID), roleStr);
+            }
+        }
+        return EntityMappers.user(resultSet, 1, role);
+    }
+
     @Override
     public void createUser(User user) {
 
-        String sql = "INSERT INTO users (username, password_hash,role) VALUES (?,?,?)";
+        String sql = SqlRegistry.Users.INSERT;
         try (Connection connection = DBConnectionManager.getInstance().getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(sql, PreparedStatement.RETURN_GENERATED_KEYS)) {
 
@@ -51,7 +71,7 @@ public class UserDAOImpl implements UserDAO {
     @Override
     public Optional<User> getUser(long id) throws SQLException {
 
-        String sql = "SELECT user_id, username, password_hash, role, created_at FROM users WHERE user_id = ? LIMIT 1";
+        String sql = SqlRegistry.Users.BY_ID;
         if (id <= 0) {
             return Optional.empty();
         }
@@ -63,25 +83,7 @@ public class UserDAOImpl implements UserDAO {
 
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 if (resultSet.next()) {
-                    long userId = resultSet.getLong("user_id");
-                    String userName = resultSet.getString("username");
-                    String password = resultSet.getString("password_hash");
-
-                    Timestamp ts = resultSet.getTimestamp("created_at");
-                    LocalDateTime createdAt = (ts != null) ? ts.toLocalDateTime() : null;
-
-                    String roleStr = resultSet.getString("role");
-                    User.Role role = null;
-                    if (roleStr != null) {
-                        try {
-                            role = User.Role.valueOf(roleStr.trim().toUpperCase());
-                        } catch (IllegalArgumentException e) {
-
-                            logger.warn("Invalid role value for user_id {}: '{}'", userId, roleStr);
-                        }
-
-                    }
-                    User user = new User(userId, userName, password, role, createdAt);
+                    User user = mapRowToUser(resultSet);
                     return Optional.of(user);
 
                 } else {
@@ -94,36 +96,46 @@ public class UserDAOImpl implements UserDAO {
 
     }
 
+    @Override
+    public Map<Long, User> getUsersByIds(Collection<Long> ids) throws SQLException {
+
+        InList inList = SqlRegistry.Users.BY_IDS;
+        List<long[]> chunks = inList.chunks(ids);
+        if (chunks.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, User> users = new HashMap<>();
+
+        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+            for (long[] chunk : chunks) {
+                try (Statements.Lease lease = Statements.prepare(connection, inList.sql(chunk.length))) {
+                    PreparedStatement preparedStatement = lease.statement();
+                    inList.bind(preparedStatement, 1, chunk);
+
+                    try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                        while (resultSet.next()) {
+                            User user = mapRowToUser(resultSet);
+                            users.put(user.getUserId(), user);
+                        }
+                    }
+                }
+            }
+        }
+
+        return users;
+    }
+
     @Override
     public List<User> getAllUsers() throws SQLException {
 
-        String sql = "SELECT *FROM users";
+        String sql = SqlRegistry.Users.ALL;
         List<User> users = new ArrayList<>();
 
-        try (Connection connection = DBConnectionManager.getInstance().getConnection(); PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+        try (Connection connection = DBConnectionManager.getInstance().getReadConnection(); PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
 
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 while (resultSet.next()) {
-                    long userId = resultSet.getLong("user_id");
-                    String username = resultSet.getString("username");
-                    String password = resultSet.getString("password_hash");
-
-                    String roleStr = resultSet.getString("role");
-                    User.Role role = null;
-                    if (roleStr != null) {
-                        try {
-                            role = User.Role.valueOf(roleStr.trim().toUpperCase());
-                        } catch (IllegalArgumentException e) {
-
-                            logger.warn("Invalid role for user_id {}: '{}'", userId, roleStr);
-                        }
-
-                    }
-
-                    Timestamp ts = resultSet.getTimestamp("created_at");
-                    LocalDateTime createdAt = (ts != null) ? ts.toLocalDateTime() : null;
-
-                    User user = new User(userId, username, password, role, createdAt);
+                    User user = mapRowToUser(resultSet);
                     users.add(user);
 
 
@@ -138,12 +150,29 @@ public class UserDAOImpl implements UserDAO {
         return users;
     }
 
+    @Override
+    public Stream<User> streamAllUsers() {
+        try {
+            Connection connection = DBConnectionManager.getInstance().getReadConnection();
+            return ResultSetStreams.stream(connection, SqlRegistry.Users.ALL, this::mapRowToUser);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error streaming all users", e);
+        }
+    }
+
+    @Override
+    public void forEachUser(Consumer<User> action) {
+        try (Stream<User> users = streamAllUsers()) {
+            users.forEach(action);
+        }
+    }
+
     @Override
     public Optional<User> getUserByUsername(String username) throws SQLException {
 
         if (username == null || username.isBlank()) return Optional.empty();
 
-        String sql = "SELECT user_id , username, password_hash, role, created_at FROM users WHERE username = ? LIMIT 1";
+        String sql = SqlRegistry.Users.BY_USERNAME;
 
         try (Connection connection = DBConnectionManager.getInstance().getConnection(); PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
 
@@ -151,26 +180,7 @@ public class UserDAOImpl implements UserDAO {
 
             try (ResultSet resultSet = preparedStatement.executeQuery()) {
                 if (resultSet.next()) {
-                    long userId = resultSet.getLong("user_id");
-                    String userName = resultSet.getString("username");
-                    String password = resultSet.getString("password_hash");
-
-                    String roleStr = resultSet.getString("role");
-                    User.Role role = null;
-                    if (roleStr != null) {
-                        try {
-                            role = User.Role.valueOf(roleStr.trim().toUpperCase());
-                        } catch (IllegalArgumentException e) {
-                            logger.warn("Invalid role for user_name {}: '{}'", userName, roleStr);
-
-                        }
-
-
-                    }
-                    Timestamp ts = resultSet.getTimestamp("created_at");
-                    LocalDateTime createdAt = (ts != null) ? ts.toLocalDateTime() : null;
-
-                    User user = new User(userId, userName, password, role, createdAt);
+                    User user = mapRowToUser(resultSet);
                     return Optional.of(user);
                 }
                 return Optional.empty();
@@ -184,7 +194,7 @@ public class UserDAOImpl implements UserDAO {
     @Override
     public void updateUser(User user) throws SQLException {
 
-        String sql = "UPDATE users SET username = ?, password_hash = ?, role = ? WHERE user_id = ?";
+        String sql = SqlRegistry.Users.UPDATE;
 
         try (Connection connection = DBConnectionManager.getInstance().getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
@@ -208,10 +218,52 @@ public class UserDAOImpl implements UserDAO {
 
     }
 
+    @Override
+    public boolean patchUser(long userId, String userName, String passwordHash, User.Role role) throws SQLException {
+
+        List<String> assignments = new ArrayList<>(3);
+        List<String> values = new ArrayList<>(3);
+        if (userName != null) {
+            assignments.add("username = ?");
+            values.add(userName);
+        }
+        if (passwordHash != null) {
+            assignments.add("password_hash = ?");
+            values.add(passwordHash);
+        }
+        if (role != null) {
+            assignments.add("role = ?");
+            values.add(role.name());
+        }
+        if (assignments.isEmpty()) {
+            return false;
+        }
+
+        String sql = "UPDATE users SET " + String.join(", ", assignments) + " WHERE user_id = ?";
+
+        try (Connection connection = DBConnectionManager.getInstance().getConnection();
+             PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
+
+            int index = 1;
+            for (String value : values) {
+                preparedStatement.setString(index++, value);
+            }
+            preparedStatement.setLong(index, userId);
+
+            int rowsAffected = preparedStatement.executeUpdate();
+            if (rowsAffected > 0) {
+                logger.info("User {} patched ({})", userId, String.join(", ", assignments));
+                return true;
+            }
+            logger.warn("User with user_id {}, not found", userId);
+            return false;
+        }
+    }
+
     @Override
     public void deleteUser(User user) {
 
-        String sql = "DELETE FROM users WHERE user_id = ?";
+        String sql = SqlRegistry.Users.DELETE;
 
         try (Connection connection = DBConnectionManager.getInstance().getConnection();
              PreparedStatement preparedStatement = connection.prepareStatement(sql)) {
@@ -220,6 +272,7 @@ public class UserDAOImpl implements UserDAO {
 
             if (rowAffected > 0) {
                 logger.info("User with user_id {}: '{}' Deleted Successfully", user.getUserId(), user.getUserName());
+                IdentityMap.current().ifPresent(map -> map.evict(User.class, user.getUserId()));
             } else {
                 logger.warn("User with user_id {}, not found", user.getUserId());
             }
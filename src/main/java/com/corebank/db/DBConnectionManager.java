@@ -7,77 +7,303 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Locale;
 import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class DBConnectionManager {
 
-   HikariDataSource dataSource;
-   public static DBConnectionManager instance;
-   public static final Logger logger = LoggerFactory.getLogger(DBConnectionManager.class);
+    private static final String PROPERTIES_FILE = "application.properties";
 
+    private static volatile DBConnectionManager instance;
+    public static final Logger logger = LoggerFactory.getLogger(DBConnectionManager.class);
 
-   public static DBConnectionManager getInstance() {
-       if(instance == null)
-       {
-            synchronized (DBConnectionManager.class)
-            {
-                if(instance == null)
-                {
-                    instance = new DBConnectionManager();
+    private HikariDataSource dataSource;
+    private final PoolMetrics poolMetrics = new PoolMetrics();
+
+    // Optional read-only pool; null when db.replica.url is not configured and reads stay on the primary.
+    private HikariDataSource replicaDataSource;
+    private final PoolMetrics replicaPoolMetrics = new PoolMetrics();
+
+    // Read-your-writes state of the current thread, or of the request it is running (see ReadRouting).
+    private static final ThreadLocal<ReadRouting> routing = ThreadLocal.withInitial(ReadRouting::new);
+
+    // How long reads stay on the primary after a primary connection is returned: the replica lag to cover.
+    private long stickyNanos;
+
+    /**
+     * Scope returned by pinToPrimary() and attach(). Closing it ends the scope; scopes nest, and
+     * closing one more than once has no further effect.
+     */
+    public interface PrimaryScope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /**
+     * Where one thread's, or one request's, reads go once a replica is configured. They go to the
+     * primary while it is pinned, while it holds a primary connection (every transaction runs on
+     * one, so reads made during a transaction always see it), and for db.replica.stickyMillis after
+     * its last primary connection was returned, so a read right after a write is not served by a
+     * replica that has not caught up. AsyncDAOExecutor carries the submitting thread's routing over
+     * to the virtual thread running each call, so a request's async writes and reads share it too.
+     */
+    public static final class ReadRouting {
+        private final AtomicInteger pins = new AtomicInteger();
+        private final AtomicInteger openPrimaryConnections = new AtomicInteger();
+        private volatile boolean wrote;
+        private volatile long lastPrimaryReleaseNanos;
+
+        private ReadRouting() {
+        }
+
+        private void primaryReleased() {
+            lastPrimaryReleaseNanos = System.nanoTime();
+            wrote = true;
+            openPrimaryConnections.decrementAndGet();
+        }
+
+        boolean readsFromPrimary(long stickyNanos) {
+            return pins.get() > 0 || openPrimaryConnections.get() > 0
+                    || (wrote && System.nanoTime() - lastPrimaryReleaseNanos < stickyNanos);
+        }
+    }
+
+
+    public static DBConnectionManager getInstance() {
+        DBConnectionManager result = instance;
+        if (result == null) {
+            synchronized (DBConnectionManager.class) {
+                result = instance;
+                if (result == null) {
+                    result = new DBConnectionManager();
+                    instance = result;
                 }
+            }
+        }
+        return result;
+    }
 
+    private DBConnectionManager() {
+        init();
+    }
+
+    private void init() {
+        Properties properties = new Properties();
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream(PROPERTIES_FILE)) {
+            if (input == null) {
+                throw new RuntimeException(PROPERTIES_FILE + " not found in classpath");
             }
-       }
-       return instance;
-   }
-
-   private DBConnectionManager() {
-       init();
-   }
-
-  private void init(){
-       Properties properties = new Properties();
-       try(InputStream input = getClass().getClassLoader().getResourceAsStream("applcation.properties")){
-          if(input == null)
-          {
-              throw new RuntimeException("applcation.properties not found in classpath");
-          }
-          properties.load(input);
-       }
-       catch(IOException e)
-       {
-           throw new RuntimeException(e);
-       }
-
-       HikariConfig config = new HikariConfig(properties);
-       config.setJdbcUrl(properties.getProperty("db,url"));
-       config.setUsername(properties.getProperty("db,username"));
-       config.setPassword(properties.getProperty("db.password"));
-       config.setMaximumPoolSize(Integer.parseInt(properties.getProperty("db.maximumPoolSize", "10")));
-       config.setMinimumIdle(Integer.parseInt(properties.getProperty("db.minimumIdle", "2")));
-       config.setIdleTimeout(Long.parseLong(properties.getProperty("db.idleTimeout", "30000")));
-       config.setConnectionTimeout(Long.parseLong(properties.getProperty("db.connectionTimeout", "30000")));
-       config.setMaxLifetime(Long.parseLong(properties.getProperty("db.maxLifetime", "1800000")));
-
-       dataSource = new HikariDataSource(config);
-
-       logger.info("HIKARICP CONNECTION POOL ESTSABLISHED SUCCESSFULLY");
-  }
-
-  public Connection getConnection() throws SQLException{
-
-       return dataSource.getConnection();
-  }
-
-  public void shutDown()
-  {
-      if(dataSource != null && !dataSource.isClosed())
-      {
-          dataSource.close();
-          logger.info("HikariCP connection pool closed");
-      }
-  }
+            properties.load(input);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+
+        HikariConfig config = buildConfig(properties, "db.");
+        config.setPoolName("corebank-primary");
+        config.setMetricsTrackerFactory(poolMetrics);
+
+        dataSource = new HikariDataSource(config);
+        stickyNanos = TimeUnit.MILLISECONDS.toNanos(
+                Long.parseLong(resolve(properties, "db.replica.stickyMillis", "2000")));
+
+        logger.info("HikariCP connection pool established (maximumPoolSize={})", config.getMaximumPoolSize());
+
+        String replicaUrl = resolve(properties, "db.replica.url", null);
+        if (replicaUrl != null && !replicaUrl.isBlank()) {
+            HikariConfig replicaConfig = buildConfig(withDefaults(properties, "db.replica.", "db."), "db.replica.");
+            replicaConfig.setPoolName("corebank-replica");
+            replicaConfig.setReadOnly(true);
+            replicaConfig.setMetricsTrackerFactory(replicaPoolMetrics);
+            replicaDataSource = new HikariDataSource(replicaConfig);
+            logger.info("Read replica pool established (maximumPoolSize={})", replicaConfig.getMaximumPoolSize());
+        }
+
+        if (Boolean.parseBoolean(resolve(properties, "db.migrate", "true"))) {
+            SchemaMigrator migrator = new SchemaMigrator(dataSource);
+            migrator.migrate();
+            migrator.verifyIndexes();
+        }
+    }
+
+    /**
+     * Builds a pool config from the properties under the given prefix (e.g. "db.").
+     * Each key can be overridden by a JVM system property of the same name, or by an
+     * environment variable with dots turned into underscores (db.url -> DB_URL).
+     */
+    static HikariConfig buildConfig(Properties properties, String prefix) {
+        HikariConfig config = new HikariConfig();
+
+        String url = resolve(properties, prefix + "url", null);
+        if (url == null || url.isBlank()) {
+            throw new RuntimeException(prefix + "url is not configured");
+        }
+        config.setJdbcUrl(url);
+        config.setUsername(resolve(properties, prefix + "username", null));
+        config.setPassword(resolve(properties, prefix + "password", null));
+        config.setMaximumPoolSize(Integer.parseInt(resolve(properties, prefix + "maximumPoolSize", "10")));
+        config.setMinimumIdle(Integer.parseInt(resolve(properties, prefix + "minimumIdle", "2")));
+        config.setIdleTimeout(Long.parseLong(resolve(properties, prefix + "idleTimeout", "30000")));
+        config.setConnectionTimeout(Long.parseLong(resolve(properties, prefix + "connectionTimeout", "30000")));
+        config.setMaxLifetime(Long.parseLong(resolve(properties, prefix + "maxLifetime", "1800000")));
+        config.setLeakDetectionThreshold(Long.parseLong(resolve(properties, prefix + "leakDetectionThreshold", "0")));
+        config.setRegisterMbeans(Boolean.parseBoolean(resolve(properties, prefix + "registerMbeans", "false")));
+
+        // Connector/J statement caching and batching. Other drivers (H2 in tests) reject unknown settings.
+        if (url.startsWith("jdbc:mysql:")) {
+            config.addDataSourceProperty("cachePrepStmts", resolve(properties, prefix + "cachePrepStmts", "true"));
+            config.addDataSourceProperty("prepStmtCacheSize", resolve(properties, prefix + "prepStmtCacheSize", "250"));
+            config.addDataSourceProperty("prepStmtCacheSqlLimit", resolve(properties, prefix + "prepStmtCacheSqlLimit", "2048"));
+            config.addDataSourceProperty("useServerPrepStmts", resolve(properties, prefix + "useServerPrepStmts", "true"));
+            config.addDataSourceProperty("rewriteBatchedStatements", resolve(properties, prefix + "rewriteBatchedStatements", "true"));
+        }
+
+        return config;
+    }
+
+    // Replica settings fall back to the primary's (db.replica.username -> db.username, ...), except the URL.
+    private static Properties withDefaults(Properties properties, String prefix, String fallbackPrefix) {
+        Properties merged = new Properties();
+        merged.putAll(properties);
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(fallbackPrefix) && !key.startsWith(prefix)) {
+                String replicaKey = prefix + key.substring(fallbackPrefix.length());
+                if (!key.equals(fallbackPrefix + "url") && !properties.containsKey(replicaKey)) {
+                    merged.setProperty(replicaKey, properties.getProperty(key));
+                }
+            }
+        }
+        return merged;
+    }
+
+    static String resolve(Properties properties, String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = System.getenv(key.replace('.', '_').toUpperCase(Locale.ROOT));
+        }
+        if (value == null) {
+            value = properties.getProperty(key);
+        }
+        return (value != null) ? value.trim() : defaultValue;
+    }
+
+    /**
+     * Connection to the primary. With a replica configured it is counted against the current
+     * thread's ReadRouting until closed, since anything done on it may be a write.
+     */
+    public Connection getConnection() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        if (replicaDataSource == null) {
+            return connection;
+        }
+        return tracked(connection, routing.get());
+    }
+
+    /**
+     * Connection for read-only DAO methods (reports, listings, history pages). Served by the
+     * replica pool when one is configured, unless the current thread or request must read from
+     * the primary to see its own writes (see ReadRouting).
+     */
+    public Connection getReadConnection() throws SQLException {
+        // Untracked: a read on the primary must not extend the window it was routed there by.
+        if (replicaDataSource == null || routing.get().readsFromPrimary(stickyNanos)) {
+            return dataSource.getConnection();
+        }
+        return replicaDataSource.getConnection();
+    }
+
+    // Decrements the owner's open count on the first close only; every other call goes straight through.
+    private static Connection tracked(Connection connection, ReadRouting owner) {
+        owner.openPrimaryConnections.incrementAndGet();
+        AtomicBoolean closed = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "close":
+                    if (closed.compareAndSet(false, true)) {
+                        owner.primaryReleased();
+                    }
+                    break;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(connection, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return (Connection) Proxy.newProxyInstance(DBConnectionManager.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, handler);
+    }
+
+    public PrimaryScope pinToPrimary() {
+        ReadRouting current = routing.get();
+        current.pins.incrementAndGet();
+        AtomicBoolean closed = new AtomicBoolean();
+        return () -> {
+            if (closed.compareAndSet(false, true)) {
+                current.pins.decrementAndGet();
+            }
+        };
+    }
+
+    public boolean isPinnedToPrimary() {
+        return routing.get().pins.get() > 0;
+    }
+
+    public static ReadRouting currentRouting() {
+        return routing.get();
+    }
+
+    // Makes the current thread read as the given routing's thread or request does, until closed.
+    public static PrimaryScope attach(ReadRouting shared) {
+        ReadRouting previous = routing.get();
+        routing.set(shared);
+        AtomicBoolean closed = new AtomicBoolean();
+        return () -> {
+            if (closed.compareAndSet(false, true)) {
+                routing.set(previous);
+            }
+        };
+    }
+
+    public boolean hasReplica() {
+        return replicaDataSource != null;
+    }
+
+    public int getMaximumPoolSize() {
+        return dataSource.getMaximumPoolSize();
+    }
+
+    public PoolMetrics getPoolMetrics() {
+        return poolMetrics;
+    }
+
+    public PoolMetrics getReplicaPoolMetrics() {
+        return replicaPoolMetrics;
+    }
+
+    public void shutDown() {
+        if (dataSource != null && !dataSource.isClosed()) {
+            logger.info("Closing HikariCP connection pool: {}", poolMetrics);
+            dataSource.close();
+            logger.info("HikariCP connection pool closed");
+        }
+        if (replicaDataSource != null && !replicaDataSource.isClosed()) {
+            replicaDataSource.close();
+            logger.info("Read replica pool closed");
+        }
+    }
 
 }
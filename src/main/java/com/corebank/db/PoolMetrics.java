@@ -0,0 +1,121 @@
+package com.corebank.db;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hikari metrics sink kept in process: pool occupancy comes from Hikari's PoolStats,
+ * acquisition/usage timings and timeouts are accumulated here. Read it through
+ * DBConnectionManager.getPoolMetrics() to size the pool against measured load.
+ */
+public class PoolMetrics implements MetricsTrackerFactory {
+
+    private volatile PoolStats poolStats;
+    private volatile String poolName;
+
+    private final LongAdder acquisitions = new LongAdder();
+    private final LongAdder acquisitionNanos = new LongAdder();
+    private final LongAccumulator maxAcquisitionNanos = new LongAccumulator(Long::max, 0);
+    private final LongAdder usageMillis = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder connectionsCreated = new LongAdder();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolName = poolName;
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                connectionsCreated.increment();
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquisitions.increment();
+                acquisitionNanos.add(elapsedAcquiredNanos);
+                maxAcquisitionNanos.accumulate(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usageMillis.add(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public int getActiveConnections() {
+        PoolStats stats = poolStats;
+        return stats != null ? stats.getActiveConnections() : 0;
+    }
+
+    public int getIdleConnections() {
+        PoolStats stats = poolStats;
+        return stats != null ? stats.getIdleConnections() : 0;
+    }
+
+    public int getTotalConnections() {
+        PoolStats stats = poolStats;
+        return stats != null ? stats.getTotalConnections() : 0;
+    }
+
+    // Threads blocked in getConnection() waiting for a free connection
+    public int getPendingThreads() {
+        PoolStats stats = poolStats;
+        return stats != null ? stats.getPendingThreads() : 0;
+    }
+
+    public long getAcquisitionCount() {
+        return acquisitions.sum();
+    }
+
+    public double getMeanAcquisitionMillis() {
+        long count = acquisitions.sum();
+        return count == 0 ? 0.0 : (double) acquisitionNanos.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMaxAcquisitionMillis() {
+        return (double) maxAcquisitionNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMeanUsageMillis() {
+        long count = acquisitions.sum();
+        return count == 0 ? 0.0 : (double) usageMillis.sum() / count;
+    }
+
+    public long getTimeoutCount() {
+        return timeouts.sum();
+    }
+
+    public long getConnectionsCreated() {
+        return connectionsCreated.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "PoolMetrics{" +
+                "pool=" + poolName +
+                ", active=" + getActiveConnections() +
+                ", idle=" + getIdleConnections() +
+                ", pending=" + getPendingThreads() +
+                ", acquisitions=" + getAcquisitionCount() +
+                ", meanAcquisitionMs=" + String.format("%.3f", getMeanAcquisitionMillis()) +
+                ", maxAcquisitionMs=" + String.format("%.3f", getMaxAcquisitionMillis()) +
+                ", timeouts=" + getTimeoutCount() +
+                '}';
+    }
+}
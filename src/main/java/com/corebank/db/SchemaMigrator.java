@@ -0,0 +1,206 @@
+package com.corebank.db;
+
+import com.corebank.exception.DataAccessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Applies the versioned scripts under db/migration (listed in migrations.txt) that are not yet
+ * recorded in schema_version, each in its own transaction, then checks that every index the
+ * DAO queries rely on exists.
+ */
+public class SchemaMigrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaMigrator.class);
+
+    private static final String LOCATION = "db/migration/";
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+    // table -> indexes the DAO access paths depend on (see V3__query_indexes.sql, V4__ledger.sql, V5__balance_stripes.sql and V7__ledger_posted_index.sql)
+    static final Map<String, List<String>> REQUIRED_INDEXES = Map.of(
+            "accounts", List.of("idx_accounts_customer", "idx_accounts_stripes"),
+            "transactions", List.of("idx_transactions_account_ts"),
+            "transfers", List.of("idx_transfers_from_ts", "idx_transfers_to_ts"),
+            "alerts", List.of("idx_alerts_account", "idx_alerts_user", "idx_alerts_status"),
+            "loans", List.of("idx_loans_customer", "idx_loans_status"),
+            "customers", List.of("uq_customers_email", "idx_customers_first_name"),
+            "users", List.of("uq_users_username"),
+            "ledger_entries", List.of("idx_ledger_entries_account", "uq_ledger_entries_source"),
+            "ledger_snapshots", List.of("idx_ledger_snapshots_entry")
+    );
+
+    private final DataSource dataSource;
+
+    public SchemaMigrator(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public void migrate() {
+        try (Connection connection = dataSource.getConnection()) {
+            ensureVersionTable(connection);
+            Set<Integer> applied = appliedVersions(connection);
+
+            int count = 0;
+            for (String script : listScripts()) {
+                Matcher matcher = SCRIPT_NAME.matcher(script);
+                if (!matcher.matches()) {
+                    throw new DataAccessException("Invalid migration script name: " + script);
+                }
+                int version = Integer.parseInt(matcher.group(1));
+                if (applied.contains(version)) {
+                    continue;
+                }
+                apply(connection, version, matcher.group(2).replace('_', ' '), readResource(LOCATION + script));
+                count++;
+            }
+            logger.info("Schema is up to date ({} migration(s) applied)", count);
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Error migrating database schema", e);
+        }
+    }
+
+    public void verifyIndexes() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            List<String> missing = new ArrayList<>();
+            for (Map.Entry<String, List<String>> entry : REQUIRED_INDEXES.entrySet()) {
+                Set<String> present = indexNames(metaData, entry.getKey());
+                for (String index : entry.getValue()) {
+                    if (!present.contains(index.toLowerCase(Locale.ROOT))) {
+                        missing.add(entry.getKey() + "." + index);
+                    }
+                }
+            }
+            if (!missing.isEmpty()) {
+                throw new DataAccessException("Missing indexes required by DAO queries: " + missing);
+            }
+            logger.info("Verified {} table(s) have their query indexes", REQUIRED_INDEXES.size());
+
+        } catch (SQLException e) {
+            throw new DataAccessException("Error verifying schema indexes", e);
+        }
+    }
+
+    private void ensureVersionTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                    "version INT PRIMARY KEY, " +
+                    "description VARCHAR(200) NOT NULL, " +
+                    "applied_at TIMESTAMP NOT NULL)");
+        }
+    }
+
+    private Set<Integer> appliedVersions(Connection connection) throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT version FROM schema_version")) {
+            while (resultSet.next()) {
+                versions.add(resultSet.getInt(1));
+            }
+        }
+        return versions;
+    }
+
+    // MySQL commits DDL implicitly, so a failed script can be half applied; it is not recorded and will be retried.
+    private void apply(Connection connection, int version, String description, String script) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : splitStatements(script)) {
+                statement.execute(sql);
+            }
+            try (PreparedStatement record = connection.prepareStatement(
+                    "INSERT INTO schema_version (version, description, applied_at) VALUES (?,?,?)")) {
+                record.setInt(1, version);
+                record.setString(2, description);
+                record.setTimestamp(3, new Timestamp(System.currentTimeMillis()));
+                record.executeUpdate();
+            }
+            connection.commit();
+            logger.info("Applied schema migration V{} ({})", version, description);
+        } catch (SQLException e) {
+            connection.rollback();
+            throw new SQLException("Migration V" + version + " failed: " + e.getMessage(), e.getSQLState(), e.getErrorCode(), e);
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    static List<String> splitStatements(String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (String line : script.split("\\R")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("--")) {
+                continue;
+            }
+            current.append(line).append('\n');
+            if (trimmed.endsWith(";")) {
+                String sql = current.toString().trim();
+                statements.add(sql.substring(0, sql.length() - 1));
+                current.setLength(0);
+            }
+        }
+        if (!current.toString().isBlank()) {
+            statements.add(current.toString().trim());
+        }
+        return statements;
+    }
+
+    private static Set<String> indexNames(DatabaseMetaData metaData, String table) throws SQLException {
+        Set<String> names = new HashSet<>();
+        // Identifier case differs between databases (H2 upper-cases unquoted names), so try both.
+        for (String candidate : new String[]{table, table.toUpperCase(Locale.ROOT)}) {
+            try (ResultSet resultSet = metaData.getIndexInfo(null, null, candidate, false, true)) {
+                while (resultSet.next()) {
+                    String name = resultSet.getString("INDEX_NAME");
+                    if (name != null) {
+                        names.add(name.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+        }
+        return names;
+    }
+
+    private List<String> listScripts() {
+        List<String> scripts = new ArrayList<>();
+        for (String line : readResource(LOCATION + "migrations.txt").split("\\R")) {
+            String trimmed = line.trim();
+            if (!trimmed.isEmpty() && !trimmed.startsWith("#")) {
+                scripts.add(trimmed);
+            }
+        }
+        return scripts;
+    }
+
+    private String readResource(String path) {
+        try (InputStream input = getClass().getClassLoader().getResourceAsStream(path)) {
+            if (input == null) {
+                throw new DataAccessException(path + " not found in classpath");
+            }
+            StringBuilder content = new StringBuilder();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    content.append(line).append('\n');
+                }
+            }
+            return content.toString();
+        } catch (IOException e) {
+            throw new DataAccessException("Error reading " + path, e);
+        }
+    }
+}
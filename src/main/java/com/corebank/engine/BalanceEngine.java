@@ -0,0 +1,756 @@
+package com.corebank.engine;
+
+import com.corebank.dao.AccountDAO;
+import com.corebank.dao.CommitHooks;
+import com.corebank.dao.JournalCheckpointDAO;
+import com.corebank.dao.LedgerDAO;
+import com.corebank.dao.TransactionDAO;
+import com.corebank.dao.TransferDAO;
+import com.corebank.dao.impl.AccountDAOImpl;
+import com.corebank.dao.impl.JournalCheckpointDAOImpl;
+import com.corebank.dao.impl.LedgerDAOImpl;
+import com.corebank.dao.impl.TransactionDAOImpl;
+import com.corebank.dao.impl.TransferDAOImpl;
+import com.corebank.db.DBConnectionManager;
+import com.corebank.exception.DataAccessException;
+import com.corebank.exception.NotFoundException;
+import com.corebank.exception.ValidationException;
+import com.corebank.model.Account;
+import com.corebank.model.Money;
+import com.corebank.model.Transaction;
+import com.corebank.model.Transfer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.LinkedTransferQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind posting path for the busiest accounts. Deposits, withdrawals and transfers are
+ * applied to balances held in memory (minor units, in a primitive long map) by a single apply
+ * thread, made durable in a memory-mapped local journal (PostingJournal) with one force per group
+ * of requests, and acknowledged; a flusher thread then writes them to the transactions, transfers,
+ * ledger and accounts tables in batches, one database transaction per batch. A database outage
+ * therefore delays the flush instead of failing postings: they queue in the journal and the flusher
+ * retries until the database is back.
+ * <pre>
+ * BalanceEngine engine = new BalanceEngine("settlement", Path.of("/var/lib/corebank"));
+ * engine.deposit(accountId, 1_250).join();            // 12.50, durable when the future completes
+ * boolean done = engine.withdraw(accountId, Money.of(new BigDecimal("5.00"))).join();
+ * Money balance = engine.balanceOf(accountId).join();
+ * </pre>
+ * Each batch also advances the journal's checkpoint in journal_checkpoints, in the same database
+ * transaction. On start the engine replays the journal entries above the checkpoint into the
+ * database before accepting requests, so a crash loses no acknowledged posting and applies none
+ * twice.
+ * <p>
+ * An account's balance and status are read from the database the first time the engine sees it
+ * and kept from then on; deposits, withdrawals and transfers touching an account that was not
+ * ACTIVE then are refused, as LedgerServiceImpl and TransferServiceImpl refuse them. The read runs
+ * on a loader thread: requests touching that account wait for it, requests for accounts already
+ * loaded carry on. While an engine is running, post to its accounts only through it, and run one
+ * engine per set of accounts: withdrawals are checked against the in-memory balance and status
+ * only. Amounts are whole minor units of Money.DEFAULT_CURRENCY; a balance in the database with
+ * digits below that unit fails the requests for its account.
+ * <p>
+ * A posting whose account has been deleted stops the flusher, which keeps retrying, rather than
+ * being dropped; nothing after it reaches the database until the account is back.
+ */
+public class BalanceEngine implements AutoCloseable {
+
+    public static final int DEFAULT_MAX_GROUP_SIZE = 512;
+    public static final int DEFAULT_MAX_PENDING = 65_536;
+
+    private static final int MAX_FLUSH_SIZE = 5_000;
+    private static final int LOADER_THREADS = 4;
+    private static final long POLL_MILLIS = 50;
+    private static final long RETRY_MILLIS = 1_000;
+    private static final long MISSING = Long.MIN_VALUE;
+    // Result of a rejected withdrawal; never a real balance.
+    private static final long REJECTED = Long.MIN_VALUE;
+    // Result of a request left waiting for its account's balance to load; completed later.
+    private static final long PARKED = Long.MIN_VALUE + 1;
+
+    // LOADED is internal: a balance read by the loader, handed to the apply thread through the queue
+    // with the status the account had (null if the load failed).
+    private enum Kind { DEPOSIT, WITHDRAWAL, TRANSFER, BALANCE, LOADED }
+
+    private record Request(Kind kind, long accountId, long toAccountId, long amount, CompletableFuture<Long> result,
+                           Account.Status status) {
+
+        Request(Kind kind, long accountId, long toAccountId, long amount, CompletableFuture<Long> result) {
+            this(kind, accountId, toAccountId, amount, result, null);
+        }
+    }
+
+    private final String name;
+    private final PostingJournal journal;
+    private final AccountDAO accountDAO;
+    private final TransactionDAO transactionDAO;
+    private final TransferDAO transferDAO;
+    private final LedgerDAO ledgerDAO;
+    private final JournalCheckpointDAO checkpointDAO;
+    private final int maxGroupSize;
+    private final int maxPending;
+    private final Logger logger = LoggerFactory.getLogger(BalanceEngine.class);
+
+    private final LinkedTransferQueue<Request> requests = new LinkedTransferQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final BlockingQueue<List<Posting>> unflushed = new LinkedBlockingQueue<>();
+
+    // Apply thread only.
+    private final LongLongHashMap balances = new LongLongHashMap(1024);
+    // Loaded accounts that were not ACTIVE; nothing is posted to them.
+    private final Set<Long> inactive = new HashSet<>();
+    // Accounts whose balance is loading.
+    private final Set<Long> loading = new HashSet<>();
+    // Requests waiting for a load, in arrival order, and how many of them touch each account: a later
+    // request for such an account waits behind them even if its own balance is already loaded.
+    private final List<Request> parked = new ArrayList<>();
+    private final Map<Long, Integer> held = new HashMap<>();
+    // Parked requests handed back to the group by loaded(); apply runs them without parking them again.
+    private final Set<Request> released = Collections.newSetFromMap(new IdentityHashMap<>());
+    private long nextSequence;
+
+    private volatile long journaledSequence;
+    private volatile long flushedSequence;
+    private volatile boolean closed;
+    private final Thread applier;
+    private final Thread flusher;
+    private final ExecutorService loader;
+
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder groups = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+
+    public BalanceEngine(String name, Path journalDirectory) throws IOException {
+        this(name, journalDirectory, new AccountDAOImpl(), new TransactionDAOImpl(), new TransferDAOImpl(),
+                new LedgerDAOImpl(), new JournalCheckpointDAOImpl(), DEFAULT_MAX_GROUP_SIZE, DEFAULT_MAX_PENDING);
+    }
+
+    public BalanceEngine(String name, Path journalDirectory, AccountDAO accountDAO, TransactionDAO transactionDAO,
+                         TransferDAO transferDAO, LedgerDAO ledgerDAO, JournalCheckpointDAO checkpointDAO,
+                         int maxGroupSize, int maxPending)
+            throws IOException {
+        if (maxGroupSize <= 0 || maxPending <= 0) {
+            throw new IllegalArgumentException("maxGroupSize and maxPending must be greater than zero");
+        }
+        this.name = name;
+        this.accountDAO = accountDAO;
+        this.transactionDAO = transactionDAO;
+        this.transferDAO = transferDAO;
+        this.ledgerDAO = ledgerDAO;
+        this.checkpointDAO = checkpointDAO;
+        this.maxGroupSize = maxGroupSize;
+        this.maxPending = maxPending;
+        this.journal = new PostingJournal(journalDirectory, name);
+
+        try {
+            recover();
+        } catch (IOException | RuntimeException e) {
+            journal.close();
+            throw e;
+        }
+
+        this.loader = Executors.newFixedThreadPool(LOADER_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "balance-engine-" + name + "-load");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.applier = new Thread(this::applyLoop, "balance-engine-" + name);
+        this.flusher = new Thread(this::flushLoop, "balance-engine-" + name + "-flush");
+        applier.setDaemon(true);
+        flusher.setDaemon(true);
+        applier.start();
+        flusher.start();
+    }
+
+    // Writes journal entries the database has not seen yet.
+    private void recover() throws IOException {
+        long checkpoint;
+        try {
+            checkpoint = checkpointDAO.getLastSequence(name);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error reading checkpoint of journal " + name, e);
+        }
+        List<Posting> replay = journal.readAfter(checkpoint);
+        for (int from = 0; from < replay.size(); from += MAX_FLUSH_SIZE) {
+            flush(replay.subList(from, Math.min(from + MAX_FLUSH_SIZE, replay.size())));
+        }
+        if (!replay.isEmpty()) {
+            logger.info("Balance engine {} replayed {} journaled posting(s) into the database", name, replay.size());
+        }
+        flushedSequence = Math.max(checkpoint, journal.lastSequence());
+        journaledSequence = flushedSequence;
+        nextSequence = flushedSequence + 1;
+        journal.startAt(nextSequence);
+        journal.deleteThrough(flushedSequence);
+    }
+
+    // Completes with the new balance once the deposit is journaled.
+    public CompletableFuture<Long> deposit(long accountId, long amount) {
+        requireAccountId(accountId);
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Deposit amount must be greater than zero");
+        }
+        return submit(Kind.DEPOSIT, accountId, 0, amount);
+    }
+
+    // Completes with false instead of overdrawing, true once the withdrawal is journaled.
+    public CompletableFuture<Boolean> withdraw(long accountId, long amount) {
+        requireAccountId(accountId);
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Withdrawal amount must be greater than zero");
+        }
+        return submit(Kind.WITHDRAWAL, accountId, 0, amount).thenApply(balance -> balance != REJECTED);
+    }
+
+    // Completes with false if the from account would be overdrawn, true once the transfer is journaled.
+    public CompletableFuture<Boolean> transfer(long fromAccountId, long toAccountId, long amount) {
+        requireAccountId(fromAccountId);
+        requireAccountId(toAccountId);
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Transfer amount must be greater than zero");
+        }
+        if (fromAccountId == toAccountId) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+        return submit(Kind.TRANSFER, fromAccountId, toAccountId, amount).thenApply(balance -> balance != REJECTED);
+    }
+
+    // Includes every posting acknowledged before it, flushed to the database or not.
+    public CompletableFuture<Long> balance(long accountId) {
+        requireAccountId(accountId);
+        return submit(Kind.BALANCE, accountId, 0, 0);
+    }
+
+    // Account ids start at 1; the balance map cannot hold anything else.
+    private static void requireAccountId(long accountId) {
+        if (accountId <= 0) {
+            throw new IllegalArgumentException("Account id must be greater than zero");
+        }
+    }
+
+    // The Money forms of the calls above; amounts must be in Money.DEFAULT_CURRENCY.
+    public CompletableFuture<Money> deposit(long accountId, Money amount) {
+        return deposit(accountId, minorUnits(amount)).thenApply(BalanceEngine::money);
+    }
+
+    public CompletableFuture<Boolean> withdraw(long accountId, Money amount) {
+        return withdraw(accountId, minorUnits(amount));
+    }
+
+    public CompletableFuture<Boolean> transfer(long fromAccountId, long toAccountId, Money amount) {
+        return transfer(fromAccountId, toAccountId, minorUnits(amount));
+    }
+
+    public CompletableFuture<Money> balanceOf(long accountId) {
+        return balance(accountId).thenApply(BalanceEngine::money);
+    }
+
+    private static long minorUnits(Money amount) {
+        if (!amount.currency().equals(Money.DEFAULT_CURRENCY)) {
+            throw new IllegalArgumentException("BalanceEngine posts " + Money.DEFAULT_CURRENCY + ", not " + amount.currency());
+        }
+        return amount.minorUnits();
+    }
+
+    private static Money money(long minorUnits) {
+        return Money.ofMinor(minorUnits, Money.DEFAULT_CURRENCY);
+    }
+
+    private CompletableFuture<Long> submit(Kind kind, long accountId, long toAccountId, long amount) {
+        if (closed) {
+            throw new IllegalStateException("BalanceEngine " + name + " is closed");
+        }
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            throw new IllegalStateException("BalanceEngine " + name + " has " + maxPending + " requests pending");
+        }
+        CompletableFuture<Long> result = new CompletableFuture<>();
+        requests.add(new Request(kind, accountId, toAccountId, amount, result));
+        return result;
+    }
+
+    private void applyLoop() {
+        List<Request> group = new ArrayList<>(maxGroupSize);
+        long[] results = new long[maxGroupSize];
+        Throwable[] errors = new Throwable[maxGroupSize];
+        List<Posting> postings = new ArrayList<>(maxGroupSize);
+
+        while (true) {
+            Request first;
+            try {
+                first = requests.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (first == null) {
+                // Parked requests are still owed an answer by their loads.
+                if (closed && parked.isEmpty()) {
+                    break;
+                }
+                continue;
+            }
+            group.add(first);
+            requests.drainTo(group, maxGroupSize - 1);
+            pending.addAndGet(-group.size());
+
+            long now = System.currentTimeMillis();
+            long groupStart = nextSequence;
+            // A LOADED request inserts the requests it releases right after itself, so the group can grow.
+            for (int i = 0; i < group.size(); i++) {
+                if (i == results.length) {
+                    results = Arrays.copyOf(results, 2 * results.length);
+                    errors = Arrays.copyOf(errors, 2 * errors.length);
+                }
+                errors[i] = null;
+                try {
+                    results[i] = (group.get(i).kind() == Kind.LOADED)
+                            ? loaded(group.get(i), group, i)
+                            : apply(group.get(i), now, postings);
+                } catch (RuntimeException e) {
+                    errors[i] = e;
+                }
+            }
+
+            if (!postings.isEmpty()) {
+                try {
+                    for (Posting posting : postings) {
+                        journal.append(posting);
+                    }
+                    journal.sync();
+                } catch (IOException | UncheckedIOException e) {
+                    // Memory and journal can no longer be trusted to agree: stop.
+                    logger.error("Balance engine {} could not write its journal, stopping: {}", name, e.getMessage(), e);
+                    closed = true;
+                    RuntimeException error = discardGroup(groupStart - 1, e);
+                    for (int i = 0; i < group.size(); i++) {
+                        if (results[i] != PARKED || errors[i] != null) {
+                            group.get(i).result().completeExceptionally(error);
+                        }
+                    }
+                    break;
+                }
+                journaledSequence = nextSequence - 1;
+                unflushed.add(List.copyOf(postings));
+                applied.add(postings.size());
+            }
+            groups.increment();
+
+            for (int i = 0; i < group.size(); i++) {
+                if (errors[i] != null) {
+                    group.get(i).result().completeExceptionally(errors[i]);
+                } else if (results[i] != PARKED) {
+                    group.get(i).result().complete(results[i]);
+                }
+            }
+            group.clear();
+            postings.clear();
+            deleteFlushedSegments();
+        }
+
+        // Anything that raced close() past the closed check, and requests whose balance never arrived.
+        IllegalStateException closedError = new IllegalStateException("BalanceEngine " + name + " is closed");
+        Request left;
+        while ((left = requests.poll()) != null) {
+            if (left.kind() != Kind.LOADED) {
+                left.result().completeExceptionally(closedError);
+            }
+        }
+        parked.forEach(request -> request.result().completeExceptionally(closedError));
+        parked.clear();
+    }
+
+    // The group's records may be partly on disk. Cut them off so a restart does not replay postings whose
+    // futures failed; if even that fails, the caller is told the outcome is unknown until the next start.
+    private RuntimeException discardGroup(long lastGood, Exception cause) {
+        IOException ioCause = (cause instanceof UncheckedIOException unchecked) ? unchecked.getCause() : (IOException) cause;
+        try {
+            journal.truncateAfter(lastGood);
+            return new UncheckedIOException("Balance engine journal write failed; the request was not applied", ioCause);
+        } catch (IOException | UncheckedIOException e) {
+            logger.error("Balance engine {} could not truncate its journal after sequence {}: {}", name, lastGood, e.getMessage(), e);
+            ioCause.addSuppressed(e);
+            return new UncheckedIOException("Balance engine journal write failed; the request may still be applied "
+                    + "when engine " + name + " restarts and replays its journal", ioCause);
+        }
+    }
+
+    // Returns the balance after the request, or PARKED if an account it touches is still loading or
+    // held by an earlier parked request. A posting it accepts is added to postings only once the
+    // balances are updated, so a request that throws leaves nothing to journal.
+    private long apply(Request request, long now, List<Posting> postings) {
+        if (!released.remove(request) && mustWait(request)) {
+            park(request);
+            return PARKED;
+        }
+        long balance = balances.get(request.accountId(), MISSING);
+        long toBalance = (request.kind() == Kind.TRANSFER) ? balances.get(request.toAccountId(), MISSING) : 0;
+        if (request.kind() != Kind.BALANCE) {
+            requireActive(request.accountId());
+        }
+        if (request.kind() == Kind.TRANSFER) {
+            requireActive(request.toAccountId());
+        }
+        switch (request.kind()) {
+            case BALANCE:
+                return balance;
+            case WITHDRAWAL:
+                if (balance < request.amount()) {
+                    rejected.increment();
+                    return REJECTED;
+                }
+                balance -= request.amount();
+                balances.put(request.accountId(), balance);
+                postings.add(Posting.withdrawal(nextSequence++, request.accountId(), request.amount(), now));
+                break;
+            case TRANSFER:
+                if (balance < request.amount()) {
+                    rejected.increment();
+                    return REJECTED;
+                }
+                long toBalanceAfter = Math.addExact(toBalance, request.amount());
+                balance -= request.amount();
+                balances.put(request.accountId(), balance);
+                balances.put(request.toAccountId(), toBalanceAfter);
+                postings.add(Posting.transfer(nextSequence++, request.accountId(), request.toAccountId(),
+                        request.amount(), now));
+                break;
+            default:
+                balance = Math.addExact(balance, request.amount());
+                balances.put(request.accountId(), balance);
+                postings.add(Posting.deposit(nextSequence++, request.accountId(), request.amount(), now));
+                break;
+        }
+        return balance;
+    }
+
+    // As LedgerServiceImpl and TransferServiceImpl check it, against the status read with the balance; the
+    // future fails with the ValidationException.
+    private void requireActive(long accountId) {
+        if (inactive.contains(accountId)) {
+            throw new CompletionException(new ValidationException("Account " + accountId + " is not active"));
+        }
+    }
+
+    private boolean mustWait(Request request) {
+        return mustWait(request.accountId()) || (request.kind() == Kind.TRANSFER && mustWait(request.toAccountId()));
+    }
+
+    private boolean mustWait(long accountId) {
+        return balances.get(accountId, MISSING) == MISSING || held.containsKey(accountId);
+    }
+
+    // Queues the request behind the loads it needs, starting any that are not already running.
+    private void park(Request request) {
+        parked.add(request);
+        hold(request.accountId(), 1);
+        if (request.kind() == Kind.TRANSFER) {
+            hold(request.toAccountId(), 1);
+        }
+    }
+
+    private void hold(long accountId, int delta) {
+        held.merge(accountId, delta, (count, change) -> (count + change == 0) ? null : count + change);
+        if (delta > 0 && balances.get(accountId, MISSING) == MISSING && loading.add(accountId)) {
+            CompletableFuture<Account> load = CompletableFuture.supplyAsync(() -> loadAccount(accountId), loader);
+            load.whenComplete((account, error) -> {
+                CompletableFuture<Long> balance = load.thenApply(loaded -> toMinorUnits(loaded.getBalance()));
+                pending.incrementAndGet();
+                requests.add(new Request(Kind.LOADED, accountId, 0, 0, balance, (account != null) ? account.getStatus() : null));
+            });
+        }
+    }
+
+    // Loader thread. From the primary: a replica may not have the last flush yet.
+    private Account loadAccount(long accountId) {
+        try (DBConnectionManager.PrimaryScope ignored = DBConnectionManager.getInstance().pinToPrimary()) {
+            Account account = accountDAO.getAccountById(accountId).orElse(null);
+            if (account == null) {
+                throw new CompletionException(new NotFoundException("Account not found: " + accountId));
+            }
+            return account;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error loading account with accountId " + accountId, e);
+        }
+    }
+
+    // Installs a loaded balance and puts the parked requests that can now run back into the group right
+    // after the LOADED request, ahead of anything that arrived later. Parked requests are scanned in
+    // arrival order and one still waiting keeps every later request touching its accounts parked too,
+    // so a transfer waiting for one account is not overtaken on the other. A failed load fails the
+    // requests touching its account instead.
+    private long loaded(Request request, List<Request> group, int at) {
+        long accountId = request.accountId();
+        loading.remove(accountId);
+        Throwable failure = null;
+        try {
+            balances.put(accountId, request.result().join());
+            if (request.status() != Account.Status.ACTIVE) {
+                inactive.add(accountId);
+            }
+        } catch (CompletionException e) {
+            failure = (e.getCause() != null) ? e.getCause() : e;
+        }
+
+        List<Request> ready = new ArrayList<>();
+        Set<Long> blocked = new HashSet<>();
+        for (Iterator<Request> waiting = parked.iterator(); waiting.hasNext(); ) {
+            Request next = waiting.next();
+            boolean transfer = next.kind() == Kind.TRANSFER;
+            boolean failed = failure != null && (next.accountId() == accountId || (transfer && next.toAccountId() == accountId));
+            if (!failed && (isBlocked(next.accountId(), blocked) || (transfer && isBlocked(next.toAccountId(), blocked)))) {
+                blocked.add(next.accountId());
+                if (transfer) {
+                    blocked.add(next.toAccountId());
+                }
+                continue;
+            }
+            waiting.remove();
+            hold(next.accountId(), -1);
+            if (transfer) {
+                hold(next.toAccountId(), -1);
+            }
+            if (failed) {
+                next.result().completeExceptionally(failure);
+            } else {
+                released.add(next);
+                ready.add(next);
+            }
+        }
+        group.addAll(at + 1, ready);
+        return PARKED;
+    }
+
+    private boolean isBlocked(long accountId, Set<Long> blocked) {
+        return balances.get(accountId, MISSING) == MISSING || blocked.contains(accountId);
+    }
+
+    private void deleteFlushedSegments() {
+        if (journal.segmentCount() > 1) {
+            try {
+                journal.deleteThrough(flushedSequence);
+            } catch (IOException e) {
+                logger.warn("Balance engine {} could not delete flushed journal segments: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    private void flushLoop() {
+        List<Posting> batch = new ArrayList<>();
+        while (true) {
+            List<Posting> group;
+            try {
+                group = unflushed.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (group == null) {
+                if (closed && !applier.isAlive()) {
+                    return;
+                }
+                continue;
+            }
+            batch.addAll(group);
+            while (batch.size() < MAX_FLUSH_SIZE && (group = unflushed.poll()) != null) {
+                batch.addAll(group);
+            }
+            if (!flushWithRetry(batch)) {
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    // Retries until the batch is written; gives up only on close, leaving it to the journal replay.
+    private boolean flushWithRetry(List<Posting> batch) {
+        while (true) {
+            try {
+                flush(batch);
+                return true;
+            } catch (RuntimeException e) {
+                logger.error("Balance engine {} could not flush {} posting(s), retrying: {}",
+                        name, batch.size(), e.getMessage(), e);
+            }
+            if (closed && !applier.isAlive()) {
+                return false;
+            }
+            try {
+                Thread.sleep(RETRY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    // One database transaction: the transaction and transfer rows, their ledger postings, one balance update per
+    // account and the checkpoint. A transfer is written as TransferServiceImpl writes it: the transfer, its ledger
+    // posting and a withdrawal and deposit transaction for its two legs.
+    private void flush(List<Posting> postings) {
+        if (postings.isEmpty()) {
+            return;
+        }
+        Set<Long> accountIds = new LinkedHashSet<>();
+        for (Posting posting : postings) {
+            accountIds.add(posting.accountId());
+            if (posting.type() == Posting.Type.TRANSFER) {
+                accountIds.add(posting.toAccountId());
+            }
+        }
+        long last = postings.get(postings.size() - 1).sequence();
+
+        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                Map<Long, Account> accounts = accountDAO.getAccountsByIds(accountIds, connection);
+                List<Transaction> transactions = new ArrayList<>(postings.size());
+                List<Transaction> legs = new ArrayList<>();
+                List<Transfer> transfers = new ArrayList<>();
+                // Sorted, so concurrent writers lock account rows in the same order.
+                Map<Long, Long> deltas = new TreeMap<>();
+                for (Posting posting : postings) {
+                    Account account = accounts.get(posting.accountId());
+                    Account toAccount = (posting.type() == Posting.Type.TRANSFER) ? accounts.get(posting.toAccountId()) : account;
+                    if (account == null || toAccount == null) {
+                        // Failing keeps the checkpoint before this posting, so it is retried, not lost.
+                        long missing = (account == null) ? posting.accountId() : posting.toAccountId();
+                        throw new DataAccessException("Balance engine " + name + " cannot flush posting "
+                                + posting.sequence() + ": account " + missing + " no longer exists");
+                    }
+                    BigDecimal amount = fromMinorUnits(posting.amount());
+                    LocalDateTime postedAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(posting.postedAt()), ZoneId.systemDefault());
+                    switch (posting.type()) {
+                        case DEPOSIT:
+                            transactions.add(new Transaction(account, Transaction.Type.DEPOSIT, amount, postedAt));
+                            deltas.merge(posting.accountId(), posting.amount(), Long::sum);
+                            break;
+                        case WITHDRAWAL:
+                            transactions.add(new Transaction(account, Transaction.Type.WITHDRAWAL, amount, postedAt));
+                            deltas.merge(posting.accountId(), -posting.amount(), Long::sum);
+                            break;
+                        default:
+                            transfers.add(new Transfer(account, toAccount, amount, postedAt));
+                            legs.add(new Transaction(account, Transaction.Type.WITHDRAWAL, amount, postedAt));
+                            legs.add(new Transaction(toAccount, Transaction.Type.DEPOSIT, amount, postedAt));
+                            deltas.merge(posting.accountId(), -posting.amount(), Long::sum);
+                            deltas.merge(posting.toAccountId(), posting.amount(), Long::sum);
+                            break;
+                    }
+                }
+
+                transactionDAO.createTransactions(transactions, connection);
+                ledgerDAO.postTransactions(transactions, connection);
+                transferDAO.createTransfers(transfers, connection);
+                ledgerDAO.postTransfers(transfers, connection);
+                transactionDAO.createTransactions(legs, connection);
+                for (Map.Entry<Long, Long> delta : deltas.entrySet()) {
+                    if (delta.getValue() != 0) {
+                        accountDAO.adjustBalance(delta.getKey(), fromMinorUnits(delta.getValue()), connection);
+                    }
+                }
+                checkpointDAO.setLastSequence(name, last, connection);
+                connection.commit();
+
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                CommitHooks.completed(connection);
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error flushing balance engine " + name, e);
+        }
+        flushedSequence = last;
+        flushes.increment();
+    }
+
+    // Money's exact conversion: the DECIMAL(19, 4) columns can hold digits the engine's longs cannot.
+    public static long toMinorUnits(BigDecimal amount) {
+        try {
+            return Money.toMinorUnitsExact(amount, Money.DEFAULT_CURRENCY);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount " + amount + " is not a whole number of minor units", e);
+        }
+    }
+
+    public static BigDecimal fromMinorUnits(long amount) {
+        return money(amount).toBigDecimal();
+    }
+
+    public long getAppliedCount() {
+        return applied.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    // Average number of postings per journal fsync.
+    public double getMeanGroupSize() {
+        long count = groups.sum();
+        return count == 0 ? 0.0 : (double) applied.sum() / count;
+    }
+
+    public long getFlushCount() {
+        return flushes.sum();
+    }
+
+    // Postings acknowledged but not yet in the database.
+    public long getUnflushedCount() {
+        return journaledSequence - flushedSequence;
+    }
+
+    // Stops accepting requests, applies and journals what is queued, and waits for it to reach the database.
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            applier.join();
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        loader.shutdownNow();
+        deleteFlushedSegments();
+        journal.close();
+        logger.info("Balance engine {} closed after {} posting(s) in {} group(s)", name, applied.sum(), groups.sum());
+    }
+}
@@ -0,0 +1,86 @@
+package com.corebank.engine;
+
+/**
+ * Open-addressing map from positive long keys to long values, with no boxing and no per-entry
+ * objects: keys and values sit in two parallel arrays, probed linearly. Key 0 marks a free slot, so
+ * only ids greater than zero can be stored. Not thread-safe; BalanceEngine confines it to its apply
+ * thread.
+ */
+final class LongLongHashMap {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+    private int resizeAt;
+
+    LongLongHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    // missing for a key that cannot be stored, rather than whatever a free slot holds.
+    long get(long key, long missing) {
+        if (key <= 0) {
+            return missing;
+        }
+        int slot = find(key);
+        return keys[slot] == key ? values[slot] : missing;
+    }
+
+    void put(long key, long value) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("key must be greater than zero");
+        }
+        int slot = find(key);
+        if (keys[slot] == key) {
+            values[slot] = value;
+            return;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length << 1);
+        }
+    }
+
+    // Slot holding the key, or the free slot where it would go.
+    private int find(long key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = find(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    // Account ids are sequential; spread them so neighbours do not cluster in one probe run.
+    private static int mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,23 @@
+package com.corebank.engine;
+
+/**
+ * One deposit, withdrawal or transfer accepted by the BalanceEngine, as journaled. The amount is in
+ * minor units (cents) and postedAt in epoch milliseconds; sequence numbers are assigned in apply
+ * order. toAccountId is only set for a transfer, whose accountId is the account debited.
+ */
+record Posting(long sequence, Type type, long accountId, long toAccountId, long amount, long postedAt) {
+
+    enum Type { DEPOSIT, WITHDRAWAL, TRANSFER }
+
+    static Posting deposit(long sequence, long accountId, long amount, long postedAt) {
+        return new Posting(sequence, Type.DEPOSIT, accountId, 0, amount, postedAt);
+    }
+
+    static Posting withdrawal(long sequence, long accountId, long amount, long postedAt) {
+        return new Posting(sequence, Type.WITHDRAWAL, accountId, 0, amount, postedAt);
+    }
+
+    static Posting transfer(long sequence, long fromAccountId, long toAccountId, long amount, long postedAt) {
+        return new Posting(sequence, Type.TRANSFER, fromAccountId, toAccountId, amount, postedAt);
+    }
+}
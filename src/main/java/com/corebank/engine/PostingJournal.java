@@ -0,0 +1,312 @@
+package com.corebank.engine;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Local write-ahead journal of BalanceEngine postings, kept in memory-mapped segment files.
+ * append() copies a record into the mapped active segment; sync() forces the bytes written since
+ * the last sync to disk, once per group of postings. When a record does not fit, the segment is
+ * forced and a new one is started; segments whose postings are all in the database are deleted by
+ * {@link #deleteThrough(long)}.
+ * <p>
+ * Segment files are named {@code <name>-<first sequence, 20 digits>.journal} and hold records of
+ * <pre>
+ * int length | int CRC32C of payload | payload
+ * </pre>
+ * where the payload is the posting's type byte followed by varint-encoded sequence, account id(s),
+ * amount and postedAt, so a typical deposit takes under 30 bytes. A zero length ends a segment.
+ * Reading stops at the first record that is cut short, fails its CRC or is out of sequence, which
+ * is where a crash mid-append leaves the tail.
+ * <p>
+ * Only the engine's apply thread may call append, sync and deleteThrough.
+ */
+final class PostingJournal implements AutoCloseable {
+
+    static final int DEFAULT_SEGMENT_BYTES = Integer.getInteger("corebank.engine.segmentBytes", 64 << 20);
+
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    // Type byte plus five varints of at most 10 bytes.
+    private static final int MAX_PAYLOAD_BYTES = 1 + 5 * 10;
+    private static final Posting.Type[] TYPES = Posting.Type.values();
+
+    private record Segment(Path file, long firstSequence) {
+    }
+
+    private final Path directory;
+    private final String name;
+    private final int segmentBytes;
+    private final List<Segment> segments = new ArrayList<>();
+    private final ByteBuffer payload = ByteBuffer.allocate(MAX_PAYLOAD_BYTES);
+    private final CRC32C crc = new CRC32C();
+
+    private MappedByteBuffer active;
+    private int synced;
+    private long lastSequence;
+
+    PostingJournal(Path directory, String name) throws IOException {
+        this(directory, name, DEFAULT_SEGMENT_BYTES);
+    }
+
+    PostingJournal(Path directory, String name, int segmentBytes) throws IOException {
+        if (segmentBytes < HEADER_BYTES + MAX_PAYLOAD_BYTES + Integer.BYTES) {
+            throw new IllegalArgumentException("segmentBytes is too small for a record");
+        }
+        this.directory = directory;
+        this.name = name;
+        this.segmentBytes = segmentBytes;
+        Files.createDirectories(directory);
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, name + "-*.journal")) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                String sequence = fileName.substring(name.length() + 1, fileName.length() - ".journal".length());
+                segments.add(new Segment(file, Long.parseLong(sequence)));
+            }
+        }
+        segments.sort((a, b) -> Long.compare(a.firstSequence(), b.firstSequence()));
+
+        if (segments.isEmpty()) {
+            startSegment(1);
+        } else {
+            // Scanning the last segment finds where appending resumes and the last sequence written.
+            Segment last = segments.get(segments.size() - 1);
+            active = map(last.file(), FileChannel.MapMode.READ_WRITE);
+            lastSequence = last.firstSequence() - 1;
+            scan(active, last.firstSequence(), posting -> lastSequence = posting.sequence());
+            synced = active.position();
+            if (active.remaining() >= Integer.BYTES) {
+                active.putInt(active.position(), 0);
+            }
+        }
+    }
+
+    // Sequence number of the last record written, or 0 if there has never been one.
+    long lastSequence() {
+        return lastSequence;
+    }
+
+    // Continues numbering at sequence when the journal is behind it, e.g. after its directory was emptied.
+    void startAt(long sequence) throws IOException {
+        if (sequence > lastSequence + 1) {
+            roll(sequence);
+            lastSequence = sequence - 1;
+        }
+    }
+
+    void append(Posting posting) throws IOException {
+        if (posting.sequence() != lastSequence + 1) {
+            throw new IllegalArgumentException("Posting " + posting.sequence() + " does not follow " + lastSequence);
+        }
+        encode(posting);
+        if (active.remaining() < HEADER_BYTES + payload.remaining() + Integer.BYTES) {
+            roll(posting.sequence());
+        }
+        crc.reset();
+        crc.update(payload.duplicate());
+        active.putInt(payload.remaining()).putInt((int) crc.getValue()).put(payload);
+        // End marker; overwritten by the next append.
+        active.putInt(active.position(), 0);
+        lastSequence = posting.sequence();
+    }
+
+    // Durable once this returns.
+    void sync() {
+        int end = active.position();
+        if (end > synced) {
+            active.force(synced, end - synced + Integer.BYTES);
+            synced = end;
+        }
+    }
+
+    private void roll(long firstSequence) throws IOException {
+        active.force();
+        startSegment(firstSequence);
+    }
+
+    private void startSegment(long firstSequence) throws IOException {
+        Path file = directory.resolve(String.format("%s-%020d.journal", name, firstSequence));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            active = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+            // Mapping sized the file; forcing the mapped pages later does not cover its length.
+            channel.force(true);
+        }
+        forceDirectory();
+        segments.add(new Segment(file, firstSequence));
+        synced = 0;
+    }
+
+    // Creating or deleting a segment changes only the directory until the directory itself is forced:
+    // without this, a crash could lose a new segment holding synced records, or bring back a deleted one.
+    private void forceDirectory() throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    // Records with a sequence number above afterSequence, oldest first.
+    List<Posting> readAfter(long afterSequence) throws IOException {
+        List<Posting> postings = new ArrayList<>();
+        for (int i = 0; i < segments.size(); i++) {
+            Segment segment = segments.get(i);
+            boolean covered = i + 1 < segments.size() && segments.get(i + 1).firstSequence() <= afterSequence + 1;
+            if (covered) {
+                continue;
+            }
+            MappedByteBuffer buffer = map(segment.file(), FileChannel.MapMode.READ_ONLY);
+            scan(buffer, segment.firstSequence(), posting -> {
+                if (posting.sequence() > afterSequence) {
+                    postings.add(posting);
+                }
+            });
+        }
+        return postings;
+    }
+
+    // Cuts the journal back so it ends after sequence, forced to disk, for a group whose write failed:
+    // its records may be partly on disk, and a restart must not replay postings reported as failed.
+    void truncateAfter(long sequence) throws IOException {
+        while (segments.size() > 1 && segments.get(segments.size() - 1).firstSequence() > sequence) {
+            Files.deleteIfExists(segments.remove(segments.size() - 1).file());
+        }
+        forceDirectory();
+        Segment last = segments.get(segments.size() - 1);
+        MappedByteBuffer buffer = map(last.file(), FileChannel.MapMode.READ_WRITE);
+        int[] end = {0};
+        long[] kept = {last.firstSequence() - 1};
+        scan(buffer, last.firstSequence(), posting -> {
+            if (posting.sequence() <= sequence) {
+                end[0] = buffer.position();
+                kept[0] = posting.sequence();
+            }
+        });
+        if (buffer.capacity() - end[0] >= Integer.BYTES) {
+            buffer.putInt(end[0], 0);
+        }
+        buffer.force();
+        active = buffer;
+        active.position(end[0]);
+        synced = end[0];
+        lastSequence = kept[0];
+    }
+
+    // Deletes the segments, other than the active one, holding only postings up to sequence.
+    void deleteThrough(long sequence) throws IOException {
+        boolean deleted = false;
+        while (segments.size() > 1 && segments.get(1).firstSequence() <= sequence + 1) {
+            deleted |= Files.deleteIfExists(segments.remove(0).file());
+        }
+        if (deleted) {
+            forceDirectory();
+        }
+    }
+
+    int segmentCount() {
+        return segments.size();
+    }
+
+    // Leaves the buffer positioned after the last valid record.
+    private void scan(ByteBuffer buffer, long firstSequence, Consumer<Posting> consumer) {
+        long expected = firstSequence;
+        while (buffer.remaining() >= HEADER_BYTES) {
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if (length <= 0 || length > MAX_PAYLOAD_BYTES || length > buffer.remaining()) {
+                buffer.position(start);
+                return;
+            }
+            ByteBuffer record = buffer.slice(buffer.position(), length);
+            crc.reset();
+            crc.update(record.duplicate());
+            Posting posting = ((int) crc.getValue() == checksum) ? decode(record) : null;
+            if (posting == null || posting.sequence() != expected) {
+                buffer.position(start);
+                return;
+            }
+            buffer.position(buffer.position() + length);
+            consumer.accept(posting);
+            expected++;
+        }
+    }
+
+    private void encode(Posting posting) {
+        payload.clear();
+        payload.put((byte) posting.type().ordinal());
+        putVarLong(payload, posting.sequence());
+        putVarLong(payload, posting.accountId());
+        if (posting.type() == Posting.Type.TRANSFER) {
+            putVarLong(payload, posting.toAccountId());
+        }
+        putVarLong(payload, posting.amount());
+        putVarLong(payload, posting.postedAt());
+        payload.flip();
+    }
+
+    // Null for a payload that does not decode, e.g. an unknown type.
+    private static Posting decode(ByteBuffer record) {
+        try {
+            int type = record.get();
+            if (type < 0 || type >= TYPES.length) {
+                return null;
+            }
+            long sequence = getVarLong(record);
+            long accountId = getVarLong(record);
+            long toAccountId = (TYPES[type] == Posting.Type.TRANSFER) ? getVarLong(record) : 0;
+            long amount = getVarLong(record);
+            long postedAt = getVarLong(record);
+            return new Posting(sequence, TYPES[type], accountId, toAccountId, amount, postedAt);
+        } catch (BufferUnderflowException e) {
+            return null;
+        }
+    }
+
+    // Unsigned LEB128: seven bits per byte, high bit set on all but the last.
+    private static void putVarLong(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static long getVarLong(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new BufferUnderflowException();
+    }
+
+    private static MappedByteBuffer map(Path file, FileChannel.MapMode mode) throws IOException {
+        StandardOpenOption[] options = (mode == FileChannel.MapMode.READ_ONLY)
+                ? new StandardOpenOption[]{StandardOpenOption.READ}
+                : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (FileChannel channel = FileChannel.open(file, options)) {
+            return channel.map(mode, 0, channel.size());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (active != null) {
+            active.force();
+        }
+    }
+}
@@ -20,6 +20,8 @@ public class Account {
     private BigDecimal balance;
     private Status status;
     private LocalDateTime createdAt;
+    private long version;
+    private int balanceStripes;
 
     public Account( Customer customer, AccountType accountType, BigDecimal balance, Status status, LocalDateTime createdAt) {
         this.customer = customer;
@@ -35,6 +37,14 @@ public class Account {
         this.accountId = accountId;
     }
 
+    // Copies the customer too, so the copy shares no mutable state with the original.
+    public Account(Account other) {
+        this(other.accountId, other.customer == null ? null : new Customer(other.customer), other.accountType,
+                other.balance, other.status, other.createdAt);
+        this.version = other.version;
+        this.balanceStripes = other.balanceStripes;
+    }
+
     public long getAccountId() {
         return accountId;
     }
@@ -75,6 +85,28 @@ public class Account {
         this.status = status;
     }
 
+    // Incremented by every balance write; used for optimistic compare-and-set updates.
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    // Number of sub-balance rows deposits are spread over; 0 for an ordinary account.
+    public int getBalanceStripes() {
+        return balanceStripes;
+    }
+
+    public void setBalanceStripes(int balanceStripes) {
+        this.balanceStripes = balanceStripes;
+    }
+
+    public boolean isStriped() {
+        return balanceStripes > 0;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -92,6 +124,8 @@ public class Account {
                 ", balance=" + balance +
                 ", status=" + status +
                 ", createdAt=" + createdAt +
+                ", version=" + version +
+                ", balanceStripes=" + balanceStripes +
                 '}';
     }
 }
@@ -0,0 +1,11 @@
+package com.corebank.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Flat, read-only view of an account row for listings: the customer is referenced by id only,
+ * so reading one never loads the customers table.
+ */
+public record AccountSummary(long accountId, long customerId, Account.AccountType accountType,
+                             BigDecimal balance, Account.Status status) {
+}
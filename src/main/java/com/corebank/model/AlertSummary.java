@@ -0,0 +1,11 @@
+package com.corebank.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat, read-only view of an alert row for dashboards: account and user are referenced by id only
+ * (userId is null when the alert is not assigned), so reading one never loads a parent table.
+ */
+public record AlertSummary(long alertId, long accountId, Long userId, String type, String message,
+                           Alert.Status status, LocalDateTime createdAt) {
+}
@@ -31,6 +31,11 @@ public class Customer {
         this.customerId = customerId;
     }
 
+    public Customer(Customer other) {
+        this(other.customerId, other.firstName, other.lastName, other.birthDate, other.email, other.phone,
+                other.address, other.createdAt);
+    }
+
     public long getCustomerId() {
         return customerId;
     }
@@ -0,0 +1,13 @@
+package com.corebank.model;
+
+import java.math.BigDecimal;
+
+/**
+ * An account whose accounts.balance differs from the balance derived from the ledger.
+ */
+public record LedgerDiscrepancy(long accountId, BigDecimal accountBalance, BigDecimal ledgerBalance) {
+
+    public BigDecimal difference() {
+        return accountBalance.subtract(ledgerBalance);
+    }
+}
@@ -0,0 +1,17 @@
+package com.corebank.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One side of a double-entry posting. A debit has a negative amount, a credit a positive one;
+ * the two entries of a posting share source and sourceId and sum to zero.
+ */
+public record LedgerEntry(long entryId, long accountId, BigDecimal amount, Source source, long sourceId,
+                          LocalDateTime postedAt) {
+
+    // Counterparty of money entering or leaving the bank (deposits, withdrawals, opening balances).
+    public static final long EXTERNAL_ACCOUNT_ID = 0;
+
+    public enum Source { OPENING, TRANSFER, DEPOSIT, WITHDRAWAL }
+}
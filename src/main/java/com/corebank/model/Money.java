@@ -0,0 +1,174 @@
+package com.corebank.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * An amount as a whole number of the currency's minor units (cents for USD, yen for JPY), so adding,
+ * comparing and accruing interest are long arithmetic rather than BigDecimal objects. Every operation
+ * throws ArithmeticException on overflow instead of wrapping, and anything that has to drop digits
+ * rounds half-even (banker's rounding). Amounts in different currencies never mix: arithmetic and
+ * compareTo throw IllegalArgumentException.
+ * <p>
+ * The static minor-unit methods do the same math on bare longs, for loops that keep a running total
+ * in a local and should not create a Money per step.
+ */
+public record Money(long minorUnits, Currency currency) implements Comparable<Money> {
+
+    // The columns carry no currency; amounts read from them are in this one.
+    public static final Currency DEFAULT_CURRENCY =
+            Currency.getInstance(System.getProperty("corebank.currency", "USD"));
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L
+    };
+
+    public Money {
+        Objects.requireNonNull(currency, "currency");
+        if (currency.getDefaultFractionDigits() < 0) {
+            throw new IllegalArgumentException("Currency " + currency + " has no minor unit");
+        }
+    }
+
+    public static Money zero(Currency currency) {
+        return new Money(0, currency);
+    }
+
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    public static Money of(BigDecimal amount) {
+        return of(amount, DEFAULT_CURRENCY);
+    }
+
+    // Rounds half-even to the currency's minor unit.
+    public static Money of(BigDecimal amount, Currency currency) {
+        return new Money(toMinorUnits(amount, currency), currency);
+    }
+
+    public static long toMinorUnits(BigDecimal amount, Currency currency) {
+        return amount.setScale(currency.getDefaultFractionDigits(), RoundingMode.HALF_EVEN)
+                .unscaledValue().longValueExact();
+    }
+
+    // Throws ArithmeticException instead of rounding if amount has digits below the minor unit.
+    public static long toMinorUnitsExact(BigDecimal amount, Currency currency) {
+        return amount.setScale(currency.getDefaultFractionDigits(), RoundingMode.UNNECESSARY)
+                .unscaledValue().longValueExact();
+    }
+
+    public int scale() {
+        return currency.getDefaultFractionDigits();
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scale());
+    }
+
+    public Money plus(Money other) {
+        return new Money(Math.addExact(minorUnits, sameCurrency(other).minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        return new Money(Math.subtractExact(minorUnits, sameCurrency(other).minorUnits), currency);
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits), currency);
+    }
+
+    public Money times(long factor) {
+        return new Money(Math.multiplyExact(minorUnits, factor), currency);
+    }
+
+    /**
+     * This amount times numerator / denominator, rounded half-even to the minor unit. A rate is passed
+     * as a fraction: 5.25% a year accrued for one day is {@code times(525, 10_000 * 365)}.
+     */
+    public Money times(long numerator, long denominator) {
+        return new Money(multiply(minorUnits, numerator, denominator), currency);
+    }
+
+    // Converts the rate to a fraction on every call; hoist it with rateNumerator/rateDenominator in loops.
+    public Money times(BigDecimal rate) {
+        return times(rateNumerator(rate), rateDenominator(rate));
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(minorUnits, sameCurrency(other).minorUnits);
+    }
+
+    private Money sameCurrency(Money other) {
+        if (!currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Cannot combine " + currency + " with " + other.currency);
+        }
+        return other;
+    }
+
+    /**
+     * minorUnits * numerator / denominator rounded half-even, throwing ArithmeticException if the
+     * product does not fit in a long.
+     */
+    public static long multiply(long minorUnits, long numerator, long denominator) {
+        if (denominator == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        long product = Math.multiplyExact(minorUnits, numerator);
+        if (denominator < 0) {
+            product = Math.negateExact(product);
+            denominator = Math.negateExact(denominator);
+        }
+        long quotient = product / denominator;
+        long remainder = Math.abs(product % denominator);
+        if (remainder == 0) {
+            return quotient;
+        }
+        // Compares remainder with denominator / 2 without doubling it.
+        int half = Long.compare(remainder, denominator - remainder);
+        if (half > 0 || (half == 0 && (quotient & 1) != 0)) {
+            quotient += (product < 0) ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    // The rate's digits as a long, e.g. 525 for 0.0525; pairs with rateDenominator.
+    public static long rateNumerator(BigDecimal rate) {
+        return normalize(rate).unscaledValue().longValueExact();
+    }
+
+    // 10^scale of the rate, e.g. 10_000 for 0.0525.
+    public static long rateDenominator(BigDecimal rate) {
+        int scale = normalize(rate).scale();
+        if (scale >= POWERS_OF_TEN.length) {
+            throw new ArithmeticException("Rate " + rate + " has more than " + (POWERS_OF_TEN.length - 1) + " decimal places");
+        }
+        return POWERS_OF_TEN[scale];
+    }
+
+    private static BigDecimal normalize(BigDecimal rate) {
+        BigDecimal stripped = rate.stripTrailingZeros();
+        return stripped.scale() < 0 ? stripped.setScale(0, RoundingMode.UNNECESSARY) : stripped;
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency.getCurrencyCode();
+    }
+}
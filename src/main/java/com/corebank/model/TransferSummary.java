@@ -0,0 +1,12 @@
+package com.corebank.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat, read-only view of a transfer row for statements and reports: both accounts are referenced
+ * by id only, so reading one never loads accounts or customers.
+ */
+public record TransferSummary(long transferId, long fromAccountId, long toAccountId, BigDecimal amount,
+                              LocalDateTime timestamp) {
+}
@@ -0,0 +1,34 @@
+package com.corebank.model;
+
+/**
+ * Partial update of a user: only the fields that are set (non-null) are written.
+ * The password is plaintext; it is hashed by the service only when present.
+ */
+public class UserPatch {
+
+    private String userName;
+    private String password;
+    private User.Role role;
+
+    public String getUserName() { return userName; }
+    public void setUserName(String userName) { this.userName = userName; }
+
+    public String getPassword() { return password; }
+    public void setPassword(String password) { this.password = password; }
+
+    public User.Role getRole() { return role; }
+    public void setRole(User.Role role) { this.role = role; }
+
+    public boolean isEmpty() {
+        return userName == null && password == null && role == null;
+    }
+
+    @Override
+    public String toString() {
+        return "UserPatch{" +
+                "userName=" + userName +
+                ", password=" + (password != null ? "[changed]" : null) +
+                ", role=" + role +
+                '}';
+    }
+}
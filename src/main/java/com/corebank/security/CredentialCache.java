@@ -0,0 +1,72 @@
+package com.corebank.security;
+
+import com.corebank.dao.cache.CacheStats;
+import com.corebank.dao.cache.LruCache;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Short-lived record of credentials that recently passed BCrypt, so repeated logins with the same
+ * password skip the hash. Entries are keyed by HMAC-SHA256(username, password, stored hash) under a
+ * random per-process key: plaintext passwords are never held, and a changed password hash simply
+ * stops matching. Values are the username, so a user's entries can be dropped on demand.
+ */
+public class CredentialCache {
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final LruCache<String, String> verified;
+    private final ThreadLocal<Mac> macs;
+
+    public CredentialCache(int maximumSize, long ttl, TimeUnit unit) {
+        this.verified = new LruCache<>(maximumSize, ttl, unit);
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        SecretKeySpec key = new SecretKeySpec(secret, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(ALGORITHM + " is not available", e);
+            }
+        });
+    }
+
+    public boolean isVerified(String username, String password, String storedHash) {
+        return verified.getIfPresent(key(username, password, storedHash)).isPresent();
+    }
+
+    public void markVerified(String username, String password, String storedHash) {
+        verified.put(key(username, password, storedHash), username);
+    }
+
+    public void invalidateUser(String username) {
+        verified.invalidateIf(username::equals);
+    }
+
+    public void invalidateAll() {
+        verified.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return verified.stats();
+    }
+
+    private String key(String username, String password, String storedHash) {
+        Mac mac = macs.get();
+        // NUL separators keep ("ab", "c") and ("a", "bc") apart.
+        mac.update(username.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        mac.update(password.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return Base64.getEncoder().encodeToString(mac.doFinal(storedHash.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,180 @@
+package com.corebank.security;
+
+import org.mindrot.jbcrypt.BCrypt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BCrypt hashing and verification on a dedicated, bounded pool so a burst of logins queues
+ * behind a fixed number of hashing threads instead of occupying every request thread's core.
+ * When the queue is full, calls fail fast with RejectedExecutionException.
+ *
+ * Defaults come from system properties: corebank.bcrypt.cost (10), corebank.bcrypt.threads
+ * (available processors) and corebank.bcrypt.queueCapacity (256).
+ */
+public class PasswordHasher implements AutoCloseable {
+
+    public static final int MIN_COST = 4;
+    public static final int MAX_COST = 31;
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHasher.class);
+
+    private static volatile PasswordHasher shared;
+
+    private final int cost;
+    private final ThreadPoolExecutor executor;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder hashes = new LongAdder();
+    private final LongAdder verifyNanos = new LongAdder();
+    private final LongAdder verifications = new LongAdder();
+
+    public PasswordHasher(int cost, int threads, int queueCapacity) {
+        if (cost < MIN_COST || cost > MAX_COST) {
+            throw new IllegalArgumentException("BCrypt cost must be between " + MIN_COST + " and " + MAX_COST);
+        }
+        if (threads <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("threads and queueCapacity must be greater than zero");
+        }
+        this.cost = cost;
+        AtomicInteger sequence = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "bcrypt-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory,
+                (task, pool) -> {
+                    rejected.increment();
+                    throw new RejectedExecutionException("Password hashing queue is full (" + queueCapacity + ")");
+                });
+    }
+
+    // Process-wide instance used by UserServiceImpl(UserDAO), so every service shares one hashing pool.
+    public static PasswordHasher shared() {
+        PasswordHasher result = shared;
+        if (result == null) {
+            synchronized (PasswordHasher.class) {
+                result = shared;
+                if (result == null) {
+                    result = new PasswordHasher(
+                            Integer.getInteger("corebank.bcrypt.cost", 10),
+                            Integer.getInteger("corebank.bcrypt.threads", Runtime.getRuntime().availableProcessors()),
+                            Integer.getInteger("corebank.bcrypt.queueCapacity", 256));
+                    logger.info("Password hasher started (cost={}, threads={})", result.cost, result.executor.getMaximumPoolSize());
+                    shared = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    public CompletableFuture<String> hashAsync(String password) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            String hash = BCrypt.hashpw(password, BCrypt.gensalt(cost));
+            hashNanos.add(System.nanoTime() - start);
+            hashes.increment();
+            return hash;
+        }, executor);
+    }
+
+    public CompletableFuture<Boolean> verifyAsync(String password, String hash) {
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            boolean matches = BCrypt.checkpw(password, hash);
+            verifyNanos.add(System.nanoTime() - start);
+            verifications.increment();
+            return matches;
+        }, executor);
+    }
+
+    public String hash(String password) {
+        return await(hashAsync(password));
+    }
+
+    public boolean verify(String password, String hash) {
+        return await(verifyAsync(password, hash));
+    }
+
+    // True when the stored hash was made with a different cost than the configured one.
+    public boolean needsRehash(String hash) {
+        return costOf(hash) != cost;
+    }
+
+    // "$2a$10$<salt+hash>" -> 10; -1 if the string is not a BCrypt hash.
+    static int costOf(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$' || hash.charAt(3) != '$' || hash.charAt(6) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hash.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public double getMeanHashMillis() {
+        long count = hashes.sum();
+        return count == 0 ? 0.0 : (double) hashNanos.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMeanVerifyMillis() {
+        long count = verifications.sum();
+        return count == 0 ? 0.0 : (double) verifyNanos.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return "PasswordHasher{" +
+                "cost=" + cost +
+                ", active=" + getActiveCount() +
+                ", queued=" + getQueueDepth() +
+                ", rejected=" + getRejectedCount() +
+                ", meanVerifyMs=" + String.format("%.3f", getMeanVerifyMillis()) +
+                '}';
+    }
+}
@@ -0,0 +1,12 @@
+package com.corebank.security;
+
+import com.corebank.model.User;
+
+import java.time.Instant;
+
+/**
+ * A validated session. token is what the client should send next time: the same token, or a
+ * re-issued one with a later expiry when validation slid the idle window forward.
+ */
+public record Session(long sessionId, long userId, User.Role role, Instant startedAt, Instant expiresAt, String token) {
+}
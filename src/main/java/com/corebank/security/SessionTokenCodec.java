@@ -0,0 +1,100 @@
+package com.corebank.security;
+
+import com.corebank.model.User;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Encodes sessions as base64url(payload) "." base64url(HMAC-SHA256(payload)). The payload is a version
+ * byte, session id, user id, session start and expiry (epoch millis), then the role name in ASCII. The
+ * role goes by name so reordering or adding User.Role constants cannot change what an issued token means.
+ * Parsing never touches the database; a bad signature or layout, or an unknown role, yields Optional.empty().
+ */
+public class SessionTokenCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final byte VERSION = 2;
+    private static final int FIXED_LENGTH = 1 + 4 * Long.BYTES;
+    private static final int MAX_ROLE_LENGTH = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ThreadLocal<Mac> macs;
+
+    public SessionTokenCodec(byte[] secret) {
+        if (secret == null || secret.length < 32) {
+            throw new IllegalArgumentException("Session signing key must be at least 32 bytes");
+        }
+        SecretKeySpec key = new SecretKeySpec(secret.clone(), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(key);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(ALGORITHM + " is not available", e);
+            }
+        });
+    }
+
+    public String encode(long sessionId, long userId, User.Role role, Instant startedAt, Instant expiresAt) {
+        byte[] roleName = role.name().getBytes(StandardCharsets.US_ASCII);
+        byte[] payload = ByteBuffer.allocate(FIXED_LENGTH + roleName.length)
+                .put(VERSION)
+                .putLong(sessionId)
+                .putLong(userId)
+                .putLong(startedAt.toEpochMilli())
+                .putLong(expiresAt.toEpochMilli())
+                .put(roleName)
+                .array();
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(macs.get().doFinal(payload));
+    }
+
+    // The returned Session carries the token as given; expiry and revocation are the caller's checks.
+    public Optional<Session> decode(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        if (payload.length <= FIXED_LENGTH || payload.length > FIXED_LENGTH + MAX_ROLE_LENGTH
+                || !MessageDigest.isEqual(signature, macs.get().doFinal(payload))) {
+            return Optional.empty();
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        if (buffer.get() != VERSION) {
+            return Optional.empty();
+        }
+        long sessionId = buffer.getLong();
+        long userId = buffer.getLong();
+        Instant startedAt = Instant.ofEpochMilli(buffer.getLong());
+        Instant expiresAt = Instant.ofEpochMilli(buffer.getLong());
+        User.Role role;
+        try {
+            role = User.Role.valueOf(new String(payload, FIXED_LENGTH, payload.length - FIXED_LENGTH, StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            // Signed by us, but for a role that no longer exists.
+            return Optional.empty();
+        }
+        return Optional.of(new Session(sessionId, userId, role, startedAt, expiresAt, token));
+    }
+}
@@ -0,0 +1,31 @@
+package com.corebank.service;
+
+import com.corebank.exception.DataAccessException;
+import com.corebank.exception.NotFoundException;
+import com.corebank.exception.ValidationException;
+import com.corebank.model.Account;
+import com.corebank.model.LedgerDiscrepancy;
+import com.corebank.model.Transaction;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Balance-changing operations outside transfers. Each writes accounts.balance, its source row and
+ * the matching ledger posting in one database transaction.
+ */
+public interface LedgerService {
+
+    // Creates the account and posts its opening balance.
+    Account openAccount(Account account) throws ValidationException, DataAccessException;
+
+    Transaction deposit(long accountId, BigDecimal amount) throws ValidationException, NotFoundException, DataAccessException;
+
+    Transaction withdraw(long accountId, BigDecimal amount) throws ValidationException, NotFoundException, DataAccessException;
+
+    // Derived from the latest snapshot plus the entries since; does not read accounts.balance.
+    BigDecimal getLedgerBalance(long accountId) throws DataAccessException;
+
+    // Snapshots the committed entries, then lists accounts whose accounts.balance disagrees with the ledger.
+    List<LedgerDiscrepancy> reconcile() throws DataAccessException;
+}
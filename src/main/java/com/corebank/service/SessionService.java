@@ -0,0 +1,20 @@
+package com.corebank.service;
+
+import com.corebank.exception.AuthenticationException;
+import com.corebank.exception.DataAccessException;
+import com.corebank.exception.ValidationException;
+import com.corebank.security.Session;
+
+public interface SessionService {
+
+    // Authenticates once with UserService and returns a signed session token.
+    Session login(String username, String password) throws AuthenticationException, DataAccessException, ValidationException;
+
+    // Signature, expiry and revocation checks only; no database access. May return a re-issued token.
+    Session validate(String token) throws AuthenticationException;
+
+    void logout(String token);
+
+    // Ends every session of the user started before now.
+    void revokeUser(long userId);
+}
@@ -0,0 +1,14 @@
+package com.corebank.service;
+
+import com.corebank.exception.DataAccessException;
+import com.corebank.exception.NotFoundException;
+import com.corebank.exception.ValidationException;
+import com.corebank.model.Transfer;
+
+import java.math.BigDecimal;
+
+public interface TransferService {
+
+    Transfer transfer(long fromAccountId, long toAccountId, BigDecimal amount) throws ValidationException, NotFoundException, DataAccessException;
+
+}
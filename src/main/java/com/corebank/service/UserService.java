@@ -2,9 +2,11 @@ package com.corebank.service;
 
 import com.corebank.exception.*;
 import com.corebank.model.User;
+import com.corebank.model.UserPatch;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.LongConsumer;
 
 public interface UserService {
 
@@ -12,9 +14,15 @@ public interface UserService {
     User getUserById(long id) throws NotFoundException, DataAccessException, ValidationException;
     User getUserByUsername(String username) throws NotFoundException, DataAccessException, ValidationException;
     List<User> getAllUsers() throws DataAccessException;
+    // Replaces every field; the password is plaintext and always hashed. Use patchUser to change only some fields.
     User updateUser(User user) throws NotFoundException, DataAccessException, ValidationException,DuplicateUserException;
+    // Updates only the fields set on the patch; the password is hashed only if it is part of the patch.
+    User patchUser(long userId, UserPatch patch) throws NotFoundException, DataAccessException, ValidationException, DuplicateUserException;
     void deleteUser(long userId) throws NotFoundException, DataAccessException, ValidationException, DuplicateUserException;
     User authenticate(String username, String password) throws AuthenticationException, DataAccessException, ValidationException;
     void changePassword(long userId, String oldPassword, String newPassword) throws NotFoundException, ValidationException, DataAccessException;
 
+    // Called with the user id after a password, username or role change and after deleteUser.
+    void addInvalidationListener(LongConsumer listener);
+
 }
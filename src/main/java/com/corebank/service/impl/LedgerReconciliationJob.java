@@ -0,0 +1,79 @@
+package com.corebank.service.impl;
+
+import com.corebank.model.LedgerDiscrepancy;
+import com.corebank.service.LedgerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs LedgerService.reconcile() on a fixed delay: each run snapshots committed ledger entries, so
+ * balance reads stay short, and reports accounts whose balance column has drifted from the ledger
+ * (for example a balance written through AccountDAO directly, bypassing the ledger).
+ */
+public class LedgerReconciliationJob implements AutoCloseable {
+
+    private final LedgerService ledgerService;
+    private final ScheduledExecutorService scheduler;
+    private final List<Consumer<List<LedgerDiscrepancy>>> listeners = new CopyOnWriteArrayList<>();
+    private final Logger logger = LoggerFactory.getLogger(LedgerReconciliationJob.class);
+
+    private volatile List<LedgerDiscrepancy> lastDiscrepancies = List.of();
+
+    public LedgerReconciliationJob(LedgerService ledgerService, Duration interval) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("interval must be greater than zero");
+        }
+        this.ledgerService = ledgerService;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ledger-reconciliation");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runSafely, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Called after every run with the discrepancies found (possibly none).
+    public void addListener(Consumer<List<LedgerDiscrepancy>> listener) {
+        listeners.add(listener);
+    }
+
+    public List<LedgerDiscrepancy> getLastDiscrepancies() {
+        return lastDiscrepancies;
+    }
+
+    public List<LedgerDiscrepancy> runOnce() {
+        List<LedgerDiscrepancy> discrepancies = List.copyOf(ledgerService.reconcile());
+        lastDiscrepancies = discrepancies;
+        for (Consumer<List<LedgerDiscrepancy>> listener : listeners) {
+            listener.accept(discrepancies);
+        }
+        return discrepancies;
+    }
+
+    // A failed run must not cancel the schedule.
+    private void runSafely() {
+        try {
+            List<LedgerDiscrepancy> discrepancies = runOnce();
+            if (discrepancies.isEmpty()) {
+                logger.debug("Ledger reconciliation found no discrepancies");
+            } else {
+                logger.warn("Ledger reconciliation found {} account(s) out of balance", discrepancies.size());
+            }
+        } catch (RuntimeException e) {
+            logger.error("Ledger reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,155 @@
+package com.corebank.service.impl;
+
+import com.corebank.dao.AccountDAO;
+import com.corebank.dao.CommitHooks;
+import com.corebank.dao.LedgerDAO;
+import com.corebank.dao.TransactionDAO;
+import com.corebank.db.DBConnectionManager;
+import com.corebank.exception.DataAccessException;
+import com.corebank.exception.NotFoundException;
+import com.corebank.exception.ValidationException;
+import com.corebank.model.Account;
+import com.corebank.model.LedgerDiscrepancy;
+import com.corebank.model.Transaction;
+import com.corebank.service.LedgerService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class LedgerServiceImpl implements LedgerService {
+
+    private final AccountDAO accountDAO;
+    private final TransactionDAO transactionDAO;
+    private final LedgerDAO ledgerDAO;
+    private final Logger logger = LoggerFactory.getLogger(LedgerServiceImpl.class);
+
+    public LedgerServiceImpl(AccountDAO accountDAO, TransactionDAO transactionDAO, LedgerDAO ledgerDAO) {
+        this.accountDAO = accountDAO;
+        this.transactionDAO = transactionDAO;
+        this.ledgerDAO = ledgerDAO;
+    }
+
+    @Override
+    public Account openAccount(Account account) throws ValidationException, DataAccessException {
+        if (account == null || account.getCustomer() == null) {
+            throw new ValidationException("Account and customer cannot be null");
+        }
+        if (account.getBalance() == null || account.getBalance().signum() < 0) {
+            throw new ValidationException("Opening balance cannot be negative");
+        }
+        try (DBConnectionManager.PrimaryScope ignored = DBConnectionManager.getInstance().pinToPrimary();
+             Connection connection = DBConnectionManager.getInstance().getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                accountDAO.addAccount(account, connection);
+                ledgerDAO.postOpeningBalance(account, connection);
+                connection.commit();
+                return account;
+            } catch (SQLException | RuntimeException e) {
+                rollbackQuietly(connection);
+                throw e;
+            } finally {
+                CommitHooks.completed(connection);
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error opening account for customer " + account.getCustomer().getCustomerId(), e);
+        }
+    }
+
+    @Override
+    public Transaction deposit(long accountId, BigDecimal amount)
+            throws ValidationException, NotFoundException, DataAccessException {
+        return post(accountId, Transaction.Type.DEPOSIT, amount);
+    }
+
+    @Override
+    public Transaction withdraw(long accountId, BigDecimal amount)
+            throws ValidationException, NotFoundException, DataAccessException {
+        return post(accountId, Transaction.Type.WITHDRAWAL, amount);
+    }
+
+    private Transaction post(long accountId, Transaction.Type type, BigDecimal amount)
+            throws ValidationException, NotFoundException {
+        if (accountId <= 0) {
+            throw new ValidationException("Account id must be greater than zero");
+        }
+        if (amount == null || amount.signum() <= 0) {
+            throw new ValidationException("Amount must be greater than zero");
+        }
+        try (DBConnectionManager.PrimaryScope ignored = DBConnectionManager.getInstance().pinToPrimary();
+             Connection connection = DBConnectionManager.getInstance().getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                Account account = accountDAO.getAccountById(accountId, connection)
+                        .orElseThrow(() -> new NotFoundException("Account with id " + accountId + " not found"));
+                if (account.getStatus() != Account.Status.ACTIVE) {
+                    throw new ValidationException("Account " + accountId + " is not active");
+                }
+
+                if (type == Transaction.Type.DEPOSIT) {
+                    accountDAO.deposit(accountId, amount, connection);
+                } else if (!accountDAO.withdraw(accountId, amount, connection)) {
+                    throw new ValidationException("Insufficient funds in account " + accountId);
+                }
+
+                Transaction transaction = new Transaction(account, type, amount, LocalDateTime.now());
+                transactionDAO.createTransaction(transaction, connection);
+                ledgerDAO.postTransaction(transaction, connection);
+
+                connection.commit();
+                logger.info("{} {} of {} on account {} committed", type, transaction.getTransactionId(), amount, accountId);
+                return transaction;
+
+            } catch (SQLException | RuntimeException | ValidationException | NotFoundException e) {
+                rollbackQuietly(connection);
+                throw e;
+            } finally {
+                CommitHooks.completed(connection);
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessException("Error posting " + type + " on account " + accountId, e);
+        }
+    }
+
+    @Override
+    public BigDecimal getLedgerBalance(long accountId) throws DataAccessException {
+        try {
+            return ledgerDAO.getBalance(accountId);
+        } catch (SQLException e) {
+            throw new DataAccessException("Error reading ledger balance for account id " + accountId, e);
+        }
+    }
+
+    @Override
+    public List<LedgerDiscrepancy> reconcile() throws DataAccessException {
+        try {
+            ledgerDAO.takeSnapshot();
+            List<LedgerDiscrepancy> discrepancies = ledgerDAO.findDiscrepancies();
+            for (LedgerDiscrepancy discrepancy : discrepancies) {
+                logger.warn("Account {} balance {} does not match ledger balance {} (difference {})",
+                        discrepancy.accountId(), discrepancy.accountBalance(), discrepancy.ledgerBalance(),
+                        discrepancy.difference());
+            }
+            return discrepancies;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error reconciling accounts against the ledger", e);
+        }
+    }
+
+    private void rollbackQuietly(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            logger.error("Rollback failed: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.corebank.service.impl;
+
+import com.corebank.exception.AuthenticationException;
+import com.corebank.exception.DataAccessException;
+import com.corebank.exception.ValidationException;
+import com.corebank.model.User;
+import com.corebank.security.Session;
+import com.corebank.security.SessionTokenCodec;
+import com.corebank.service.SessionService;
+import com.corebank.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Stateless HMAC session tokens on top of UserService.authenticate, so BCrypt runs once per login
+ * instead of once per request. A session expires after idleTimeout without use, and never outlives
+ * maxLifetime from login. validate() re-issues the token once less than half of the idle window
+ * remains (sliding expiry).
+ *
+ * Revocations are kept in memory: logout revokes one session id, and a password, username or role
+ * change or deleteUser (via UserService invalidation listeners) revokes every session the user
+ * started before that moment. Entries are dropped once the sessions they cover must have expired.
+ * With several application nodes, each node only knows its own revocations.
+ */
+public class SessionServiceImpl implements SessionService {
+
+    private static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(30);
+    private static final Duration DEFAULT_MAX_LIFETIME = Duration.ofHours(12);
+    private static final int PURGE_THRESHOLD = 10_000;
+    // Session ids name the session in logout and revocation, so they must not be predictable.
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final UserService userService;
+    private final SessionTokenCodec codec;
+    private final Duration idleTimeout;
+    private final Duration maxLifetime;
+    private final Clock clock;
+    private final Logger logger = LoggerFactory.getLogger(SessionServiceImpl.class);
+
+    // session id -> latest instant the session could still be valid (its start + maxLifetime)
+    private final Map<Long, Instant> revokedSessions = new ConcurrentHashMap<>();
+    // user id -> sessions started at or before this instant are revoked
+    private final Map<Long, Instant> revokedUsers = new ConcurrentHashMap<>();
+
+    // Signing key from corebank.session.secret (base64, at least 32 bytes), or a random per-process key.
+    public SessionServiceImpl(UserService userService) {
+        this(userService, signingKey(), DEFAULT_IDLE_TIMEOUT, DEFAULT_MAX_LIFETIME, Clock.systemUTC());
+    }
+
+    public SessionServiceImpl(UserService userService, byte[] secret, Duration idleTimeout, Duration maxLifetime, Clock clock) {
+        if (idleTimeout.isNegative() || idleTimeout.isZero() || maxLifetime.compareTo(idleTimeout) < 0) {
+            throw new IllegalArgumentException("idleTimeout must be positive and no longer than maxLifetime");
+        }
+        this.userService = userService;
+        this.codec = new SessionTokenCodec(secret);
+        this.idleTimeout = idleTimeout;
+        this.maxLifetime = maxLifetime;
+        this.clock = clock;
+        userService.addInvalidationListener(this::revokeUser);
+    }
+
+    private static byte[] signingKey() {
+        String configured = System.getProperty("corebank.session.secret");
+        if (configured != null && !configured.isBlank()) {
+            return Base64.getDecoder().decode(configured.trim());
+        }
+        LoggerFactory.getLogger(SessionServiceImpl.class)
+                .warn("corebank.session.secret not set; using a random key, sessions will not survive a restart");
+        byte[] secret = new byte[32];
+        RANDOM.nextBytes(secret);
+        return secret;
+    }
+
+    @Override
+    public Session login(String username, String password) throws AuthenticationException, DataAccessException, ValidationException {
+        User user = userService.authenticate(username, password);
+        if (user.getRole() == null) {
+            throw new AuthenticationException("User " + user.getUserId() + " has no role");
+        }
+        Instant now = clock.instant();
+        long sessionId = RANDOM.nextLong();
+        Instant expiresAt = now.plus(idleTimeout);
+        String token = codec.encode(sessionId, user.getUserId(), user.getRole(), now, expiresAt);
+        logger.info("Session started for user {}", user.getUserId());
+        return new Session(sessionId, user.getUserId(), user.getRole(), now, expiresAt, token);
+    }
+
+    @Override
+    public Session validate(String token) throws AuthenticationException {
+        Session session = codec.decode(token)
+                .orElseThrow(() -> new AuthenticationException("Invalid session token"));
+
+        Instant now = clock.instant();
+        Instant hardLimit = session.startedAt().plus(maxLifetime);
+        if (!now.isBefore(session.expiresAt()) || !now.isBefore(hardLimit)) {
+            throw new AuthenticationException("Session expired");
+        }
+        if (revokedSessions.containsKey(session.sessionId())) {
+            throw new AuthenticationException("Session revoked");
+        }
+        Instant revokedBefore = revokedUsers.get(session.userId());
+        if (revokedBefore != null && !session.startedAt().isAfter(revokedBefore)) {
+            throw new AuthenticationException("Session revoked");
+        }
+
+        // Slide the idle window once it is half used, capped by the session's absolute lifetime.
+        if (Duration.between(now, session.expiresAt()).compareTo(idleTimeout.dividedBy(2)) < 0) {
+            Instant expiresAt = now.plus(idleTimeout);
+            if (expiresAt.isAfter(hardLimit)) {
+                expiresAt = hardLimit;
+            }
+            if (expiresAt.isAfter(session.expiresAt())) {
+                String renewed = codec.encode(session.sessionId(), session.userId(), session.role(), session.startedAt(), expiresAt);
+                return new Session(session.sessionId(), session.userId(), session.role(), session.startedAt(), expiresAt, renewed);
+            }
+        }
+        return session;
+    }
+
+    @Override
+    public void logout(String token) {
+        codec.decode(token).ifPresent(session -> {
+            revokedSessions.put(session.sessionId(), session.startedAt().plus(maxLifetime));
+            purgeIfLarge();
+        });
+    }
+
+    @Override
+    public void revokeUser(long userId) {
+        revokedUsers.put(userId, clock.instant());
+        purgeIfLarge();
+        logger.info("All sessions of user {} revoked", userId);
+    }
+
+    private void purgeIfLarge() {
+        if (revokedSessions.size() + revokedUsers.size() < PURGE_THRESHOLD) {
+            return;
+        }
+        Instant now = clock.instant();
+        revokedSessions.values().removeIf(validUntil -> validUntil.isBefore(now));
+        // A user revocation matters only while sessions started before it can still be alive.
+        Instant oldestLiveStart = now.minus(maxLifetime);
+        revokedUsers.values().removeIf(revokedAt -> revokedAt.isBefore(oldestLiveStart));
+    }
+
+    public int getRevocationCount() {
+        return revokedSessions.size() + revokedUsers.size();
+    }
+}
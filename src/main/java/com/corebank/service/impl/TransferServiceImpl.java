@@ -0,0 +1,196 @@
+package com.corebank.service.impl;
+
+import com.corebank.dao.AccountDAO;
+import com.corebank.dao.CommitHooks;
+import com.corebank.dao.LedgerDAO;
+import com.corebank.dao.StatementCache;
+import com.corebank.dao.TransactionDAO;
+import com.corebank.dao.TransferDAO;
+import com.corebank.dao.impl.LedgerDAOImpl;
+import com.corebank.db.DBConnectionManager;
+import com.corebank.exception.DataAccessException;
+import com.corebank.exception.NotFoundException;
+import com.corebank.exception.ValidationException;
+import com.corebank.model.Account;
+import com.corebank.model.Transaction;
+import com.corebank.model.Transfer;
+import com.corebank.service.TransferService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Moves money between two accounts in a single database transaction:
+ * both rows are locked in ascending account_id order (so two opposite transfers
+ * can never wait on each other), balances are adjusted with relative deltas,
+ * and the transfer plus one WITHDRAWAL and one DEPOSIT transaction are written, together with
+ * the transfer's ledger posting (the two transactions are its legs and are not posted again).
+ * Deadlocks and lock wait timeouts roll back and are retried with a short backoff.
+ */
+public class TransferServiceImpl implements TransferService {
+
+    private static final int DEFAULT_MAX_ATTEMPTS = 5;
+    private static final long BASE_BACKOFF_MILLIS = 10;
+
+    // 40001: serialization failure / deadlock (MySQL, H2), 40P01: deadlock (PostgreSQL), HYT00: lock timeout (H2)
+    private static final Set<String> RETRYABLE_SQL_STATES = Set.of("40001", "40P01", "HYT00");
+    // MySQL 1213: deadlock found, 1205: lock wait timeout exceeded (reported with SQLState HY000)
+    private static final Set<Integer> RETRYABLE_ERROR_CODES = Set.of(1213, 1205);
+
+    private final AccountDAO accountDAO;
+    private final TransferDAO transferDAO;
+    private final TransactionDAO transactionDAO;
+    private final LedgerDAO ledgerDAO;
+    private final int maxAttempts;
+    private final Logger logger = LoggerFactory.getLogger(TransferServiceImpl.class);
+
+    public TransferServiceImpl(AccountDAO accountDAO, TransferDAO transferDAO, TransactionDAO transactionDAO) {
+        this(accountDAO, transferDAO, transactionDAO, DEFAULT_MAX_ATTEMPTS);
+    }
+
+    public TransferServiceImpl(AccountDAO accountDAO, TransferDAO transferDAO, TransactionDAO transactionDAO, int maxAttempts) {
+        this(accountDAO, transferDAO, transactionDAO, new LedgerDAOImpl(), maxAttempts);
+    }
+
+    public TransferServiceImpl(AccountDAO accountDAO, TransferDAO transferDAO, TransactionDAO transactionDAO,
+                               LedgerDAO ledgerDAO, int maxAttempts) {
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("maxAttempts must be greater than zero");
+        }
+        this.accountDAO = accountDAO;
+        this.transferDAO = transferDAO;
+        this.transactionDAO = transactionDAO;
+        this.ledgerDAO = ledgerDAO;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    public Transfer transfer(long fromAccountId, long toAccountId, BigDecimal amount)
+            throws ValidationException, NotFoundException, DataAccessException {
+
+        if (fromAccountId <= 0 || toAccountId <= 0) {
+            throw new ValidationException("Account ids must be greater than zero");
+        }
+        if (fromAccountId == toAccountId) {
+            throw new ValidationException("Cannot transfer to the same account");
+        }
+        if (amount == null || amount.signum() <= 0) {
+            throw new ValidationException("Transfer amount must be greater than zero");
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return executeOnce(fromAccountId, toAccountId, amount);
+            } catch (SQLException | DataAccessException e) {
+                if (!isRetryable(e) || attempt >= maxAttempts) {
+                    if (e instanceof DataAccessException dae) {
+                        throw dae;
+                    }
+                    throw new DataAccessException("Error executing transfer from account " + fromAccountId
+                            + " to account " + toAccountId, e);
+                }
+                logger.warn("Transfer from {} to {} hit lock contention (attempt {}/{}), retrying",
+                        fromAccountId, toAccountId, attempt, maxAttempts);
+                backoff(attempt);
+            }
+        }
+    }
+
+    private Transfer executeOnce(long fromAccountId, long toAccountId, BigDecimal amount)
+            throws SQLException, ValidationException, NotFoundException {
+
+        // Anything read while the transfer is open must see its writes, so keep this thread off the replica.
+        // Each statement runs twice (one per account), so the cache saves three prepares per transfer.
+        try (DBConnectionManager.PrimaryScope ignored = DBConnectionManager.getInstance().pinToPrimary();
+             Connection connection = DBConnectionManager.getInstance().getConnection();
+             StatementCache statements = StatementCache.open(connection)) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                // Always lock the lower id first so concurrent transfers acquire locks in the same order.
+                long firstId = Math.min(fromAccountId, toAccountId);
+                long secondId = Math.max(fromAccountId, toAccountId);
+                Account first = lock(firstId, connection);
+                Account second = lock(secondId, connection);
+
+                Account fromAccount = (first.getAccountId() == fromAccountId) ? first : second;
+                Account toAccount = (first.getAccountId() == fromAccountId) ? second : first;
+
+                if (fromAccount.getStatus() != Account.Status.ACTIVE || toAccount.getStatus() != Account.Status.ACTIVE) {
+                    throw new ValidationException("Both accounts must be active to transfer funds");
+                }
+                if (fromAccount.getBalance().compareTo(amount) < 0) {
+                    throw new ValidationException("Insufficient funds in account " + fromAccountId);
+                }
+
+                accountDAO.adjustBalance(fromAccountId, amount.negate(), connection);
+                accountDAO.adjustBalance(toAccountId, amount, connection);
+
+                LocalDateTime now = LocalDateTime.now();
+                Transfer transfer = new Transfer(fromAccount, toAccount, amount, now);
+                transferDAO.createTransfer(transfer, connection);
+                ledgerDAO.postTransfer(transfer, connection);
+                transactionDAO.createTransaction(new Transaction(fromAccount, Transaction.Type.WITHDRAWAL, amount, now), connection);
+                transactionDAO.createTransaction(new Transaction(toAccount, Transaction.Type.DEPOSIT, amount, now), connection);
+
+                connection.commit();
+
+                fromAccount.setBalance(fromAccount.getBalance().subtract(amount));
+                toAccount.setBalance(toAccount.getBalance().add(amount));
+                logger.info("Transfer {} of {} from account {} to account {} committed",
+                        transfer.getTransferId(), amount, fromAccountId, toAccountId);
+                return transfer;
+
+            } catch (SQLException | RuntimeException | ValidationException | NotFoundException e) {
+                rollbackQuietly(connection);
+                throw e;
+            } finally {
+                CommitHooks.completed(connection);
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private Account lock(long accountId, Connection connection) throws SQLException, NotFoundException {
+        return accountDAO.getAccountByIdForUpdate(accountId, connection)
+                .orElseThrow(() -> new NotFoundException("Account with id " + accountId + " not found"));
+    }
+
+    private void rollbackQuietly(Connection connection) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            logger.error("Rollback failed: {}", e.getMessage(), e);
+        }
+    }
+
+    static boolean isRetryable(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof SQLException sqlException) {
+                for (SQLException s = sqlException; s != null; s = s.getNextException()) {
+                    if ((s.getSQLState() != null && RETRYABLE_SQL_STATES.contains(s.getSQLState()))
+                            || RETRYABLE_ERROR_CODES.contains(s.getErrorCode())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = BASE_BACKOFF_MILLIS << Math.min(attempt, 6);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(BASE_BACKOFF_MILLIS, ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataAccessException("Interrupted while retrying transfer", e);
+        }
+    }
+}
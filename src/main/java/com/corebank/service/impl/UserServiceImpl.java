@@ -3,9 +3,11 @@ package com.corebank.service.impl;
 import com.corebank.dao.UserDAO;
 import com.corebank.exception.*;
 import com.corebank.model.User;
+import com.corebank.model.UserPatch;
+import com.corebank.security.CredentialCache;
+import com.corebank.security.PasswordHasher;
 import com.corebank.service.UserService;
 import lombok.extern.slf4j.Slf4j;
-import org.mindrot.jbcrypt.BCrypt;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,16 +15,42 @@ import javax.swing.plaf.OptionPaneUI;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
 
 
 @Slf4j
 public class UserServiceImpl implements UserService {
 
    private final UserDAO userDAO;
+   private final PasswordHasher passwordHasher;
+   private final CredentialCache credentialCache;
+   private final List<LongConsumer> invalidationListeners = new CopyOnWriteArrayList<>();
    Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
 
     public UserServiceImpl(UserDAO userDAO) {
+        this(userDAO, PasswordHasher.shared(), new CredentialCache(10_000, 5, TimeUnit.MINUTES));
+    }
+
+    public UserServiceImpl(UserDAO userDAO, PasswordHasher passwordHasher, CredentialCache credentialCache) {
         this.userDAO = userDAO;
+        this.passwordHasher = passwordHasher;
+        this.credentialCache = credentialCache;
+    }
+
+    @Override
+    public void addInvalidationListener(LongConsumer listener) {
+        invalidationListeners.add(listener);
+    }
+
+    // Credentials or role changed, or the user is gone: forget verified logins and tell listeners (sessions).
+    private void invalidate(long userId, String userName) {
+        credentialCache.invalidateUser(userName);
+        for (LongConsumer listener : invalidationListeners) {
+            listener.accept(userId);
+        }
     }
 
     @Override
@@ -54,7 +82,7 @@ public class UserServiceImpl implements UserService {
                 throw new DuplicateUserException("Username "+user.getUserName()+" is already taken");
             }
 
-            String hashedPassword = BCrypt.hashpw(user.getPassword(), BCrypt.gensalt());
+            String hashedPassword = passwordHasher.hash(user.getPassword());
             user.setPassword(hashedPassword);
 
             userDAO.createUser(user);
@@ -172,10 +200,11 @@ public class UserServiceImpl implements UserService {
                throw new DuplicateUserException("Username "+user.getUserName()+" is already taken");
             }
 
-            String hashedPassword = BCrypt.hashpw(user.getPassword(), BCrypt.gensalt());
+            String hashedPassword = passwordHasher.hash(user.getPassword());
             user.setPassword(hashedPassword);
 
             userDAO.updateUser(user);
+            invalidate(user.getUserId(), userExists.get().getUserName());
 
             return user;
 
@@ -189,6 +218,70 @@ public class UserServiceImpl implements UserService {
 
     }
 
+    @Override
+    public User patchUser(long userId, UserPatch patch) throws NotFoundException, DataAccessException, ValidationException, DuplicateUserException {
+
+        if (userId <= 0) {
+            throw new ValidationException("UserId cannot be zero or less than zero");
+        }
+        if (patch == null) {
+            throw new ValidationException("Patch cannot be null");
+        }
+        if (patch.getUserName() != null && patch.getUserName().isBlank()) {
+            throw new ValidationException("UserName cannot be empty");
+        }
+        if (patch.getPassword() != null && patch.getPassword().isBlank()) {
+            throw new ValidationException("Password cannot be empty");
+        }
+
+        try {
+            Optional<User> userExists = userDAO.getUser(userId);
+            if (userExists.isEmpty()) {
+                throw new NotFoundException("User with id " + userId + " not found");
+            }
+            User user = userExists.get();
+            String previousUserName = user.getUserName();
+
+            String userName = (patch.getUserName() != null && !patch.getUserName().equals(user.getUserName()))
+                    ? patch.getUserName() : null;
+            User.Role role = (patch.getRole() != null && patch.getRole() != user.getRole()) ? patch.getRole() : null;
+
+            if (userName != null) {
+                Optional<User> userNameExists = userDAO.getUserByUsername(userName);
+                if (userNameExists.isPresent() && userNameExists.get().getUserId() != userId) {
+                    throw new DuplicateUserException("Username " + userName + " is already taken");
+                }
+            }
+
+            String passwordHash = (patch.getPassword() != null) ? passwordHasher.hash(patch.getPassword()) : null;
+
+            if (userName == null && passwordHash == null && role == null) {
+                return user;
+            }
+
+            userDAO.patchUser(userId, userName, passwordHash, role);
+
+            if (userName != null) {
+                user.setUserName(userName);
+            }
+            if (passwordHash != null) {
+                user.setPassword(passwordHash);
+            }
+            if (role != null) {
+                user.setRole(role);
+            }
+            invalidate(userId, previousUserName);
+            return user;
+
+        } catch (NotFoundException | DuplicateUserException e) {
+            throw e;
+        } catch (SQLException e) {
+            throw new DataAccessException("Error accessing database while patching user", e);
+        } catch (Exception e) {
+            throw new DataAccessException("Unexpected error while patching user", e);
+        }
+    }
+
     @Override
     public void deleteUser(long userId) throws NotFoundException, DataAccessException,ValidationException,DuplicateUserException {
 
@@ -204,6 +297,7 @@ public class UserServiceImpl implements UserService {
                 logger.warn("User with id " + userId + " not found");
             }
             userDAO.deleteUser(userExists.get());
+            invalidate(userId, userExists.get().getUserName());
             logger.info("User with id {} and username '{}' deleted successfully",
                     userExists.get().getUserId(), userExists.get().getUserName());
 
@@ -236,13 +330,32 @@ public class UserServiceImpl implements UserService {
             }
 
             User user = optionalUser.get();
+            String storedHash = user.getPassword();
+
+            // Same username, password and stored hash verified moments ago: skip BCrypt.
+            if (credentialCache.isVerified(username, password, storedHash)) {
+                return user;
+            }
 
-            if (!BCrypt.checkpw(password, user.getPassword())) {
+            if (!passwordHasher.verify(password, storedHash)) {
                 throw new AuthenticationException("Invalid username or password");
             }
 
+            // The work factor was changed since this hash was made: upgrade it while we have the plaintext.
+            if (passwordHasher.needsRehash(storedHash)) {
+                String rehashed = passwordHasher.hash(password);
+                userDAO.patchUser(user.getUserId(), null, rehashed, null);
+                user.setPassword(rehashed);
+                logger.info("Rehashed password for user {} at cost {}", user.getUserId(), passwordHasher.getCost());
+            }
+
+            credentialCache.markVerified(username, password, user.getPassword());
             return user;
 
+        } catch (AuthenticationException e) {
+            throw e;
+        } catch (RejectedExecutionException e) {
+            throw new AuthenticationException("Too many concurrent sign-ins, please retry", e);
         } catch (SQLException e) {
             throw new DataAccessException("Error accessing database while authenticating user", e);
         } catch (Exception e) {
@@ -273,16 +386,16 @@ public class UserServiceImpl implements UserService {
 
             User user = optionalUser.get();
 
-            if (!BCrypt.checkpw(oldPassword, user.getPassword())) {
+            if (!passwordHasher.verify(oldPassword, user.getPassword())) {
                 throw new ValidationException("Old password is incorrect");
             }
 
 
 
-            String hashedPassword = BCrypt.hashpw(newPassword, BCrypt.gensalt());
+            String hashedPassword = passwordHasher.hash(newPassword);
+            userDAO.patchUser(userId, null, hashedPassword, null);
             user.setPassword(hashedPassword);
-
-            userDAO.updateUser(user);
+            invalidate(userId, user.getUserName());
 
         } catch (SQLException e) {
             throw new DataAccessException("Error accessing database while changing password", e);
@@ -0,0 +1,73 @@
+-- Baseline tables as the DAOs read and write them.
+-- Column types are portable between MySQL 8 and H2 in MySQL mode.
+
+CREATE TABLE IF NOT EXISTS customers (
+    customer_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    first_name  VARCHAR(100) NOT NULL,
+    last_name   VARCHAR(100) NOT NULL,
+    dob         DATE,
+    email       VARCHAR(255),
+    phone       VARCHAR(32),
+    address     VARCHAR(255),
+    created_at  TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    user_id       BIGINT AUTO_INCREMENT PRIMARY KEY,
+    username      VARCHAR(100) NOT NULL,
+    password_hash VARCHAR(100) NOT NULL,
+    role          VARCHAR(20),
+    created_at    TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS accounts (
+    account_id   BIGINT AUTO_INCREMENT PRIMARY KEY,
+    customer_id  BIGINT NOT NULL,
+    account_type VARCHAR(20) NOT NULL,
+    balance      DECIMAL(19, 4) NOT NULL DEFAULT 0,
+    status       VARCHAR(20) NOT NULL,
+    created_at   TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_accounts_customer FOREIGN KEY (customer_id) REFERENCES customers (customer_id)
+);
+
+CREATE TABLE IF NOT EXISTS transactions (
+    transaction_id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    account_id     BIGINT NOT NULL,
+    type           VARCHAR(20) NOT NULL,
+    amount         DECIMAL(19, 4) NOT NULL,
+    timestamp      TIMESTAMP NOT NULL,
+    CONSTRAINT fk_transactions_account FOREIGN KEY (account_id) REFERENCES accounts (account_id)
+);
+
+CREATE TABLE IF NOT EXISTS transfers (
+    transfer_id     BIGINT AUTO_INCREMENT PRIMARY KEY,
+    from_account_id BIGINT NOT NULL,
+    to_account_id   BIGINT NOT NULL,
+    amount          DECIMAL(19, 4) NOT NULL,
+    timestamp       TIMESTAMP NOT NULL,
+    CONSTRAINT fk_transfers_from_account FOREIGN KEY (from_account_id) REFERENCES accounts (account_id),
+    CONSTRAINT fk_transfers_to_account FOREIGN KEY (to_account_id) REFERENCES accounts (account_id)
+);
+
+CREATE TABLE IF NOT EXISTS alerts (
+    alert_id   BIGINT AUTO_INCREMENT PRIMARY KEY,
+    account_id BIGINT NOT NULL,
+    user_id    BIGINT,
+    type       VARCHAR(50),
+    message    VARCHAR(1000),
+    status     VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    created_at TIMESTAMP,
+    CONSTRAINT fk_alerts_account FOREIGN KEY (account_id) REFERENCES accounts (account_id),
+    CONSTRAINT fk_alerts_user FOREIGN KEY (user_id) REFERENCES users (user_id)
+);
+
+CREATE TABLE IF NOT EXISTS loans (
+    loan_id       BIGINT AUTO_INCREMENT PRIMARY KEY,
+    customer_id   BIGINT NOT NULL,
+    amount        DECIMAL(19, 4) NOT NULL,
+    interest_rate DECIMAL(7, 4) NOT NULL,
+    start_date    DATE,
+    end_date      DATE,
+    status        VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    CONSTRAINT fk_loans_customer FOREIGN KEY (customer_id) REFERENCES customers (customer_id)
+);
@@ -0,0 +1,2 @@
+-- Optimistic concurrency column used by AccountDAO.compareAndSetBalance; bumped by every balance write.
+ALTER TABLE accounts ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
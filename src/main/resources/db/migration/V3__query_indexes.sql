@@ -0,0 +1,27 @@
+-- One index per DAO access path. Index names are checked at startup by SchemaMigrator.verifyIndexes.
+
+-- AccountDAO.getAccountsByCustomerId
+CREATE INDEX idx_accounts_customer ON accounts (customer_id);
+
+-- TransactionDAO.getTransactionsByAccountId / getTransactionHistory: seek + ordered scan, no filesort
+CREATE INDEX idx_transactions_account_ts ON transactions (account_id, timestamp, transaction_id);
+
+-- TransferDAO.getTransfersByAccountId / getTransferHistory: one index per direction of the OR / UNION
+CREATE INDEX idx_transfers_from_ts ON transfers (from_account_id, timestamp, transfer_id);
+CREATE INDEX idx_transfers_to_ts ON transfers (to_account_id, timestamp, transfer_id);
+
+-- AlertDAO.getAlertsByAccountId / getAlertsByUserId / getAlertsByStatus
+CREATE INDEX idx_alerts_account ON alerts (account_id);
+CREATE INDEX idx_alerts_user ON alerts (user_id);
+CREATE INDEX idx_alerts_status ON alerts (status, alert_id);
+
+-- LoanDAO.getLoansByCustomer / getLoansByStatus
+CREATE INDEX idx_loans_customer ON loans (customer_id);
+CREATE INDEX idx_loans_status ON loans (status, loan_id);
+
+-- CustomerDAO.getCustomerByEmail (equality) and getCustomerByName (first_name LIKE 'prefix%')
+CREATE UNIQUE INDEX uq_customers_email ON customers (email);
+CREATE INDEX idx_customers_first_name ON customers (first_name);
+
+-- UserDAO.getUserByUsername; also enforces what UserServiceImpl checks before insert
+CREATE UNIQUE INDEX uq_users_username ON users (username);
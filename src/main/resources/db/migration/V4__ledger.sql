@@ -0,0 +1,38 @@
+-- Append-only double-entry ledger kept alongside accounts.balance (see LedgerDAO).
+-- Rows are only ever inserted: every posting is one debit (negative amount) and one credit
+-- (positive amount) of the same size, so the amounts of a posting, and of the whole table, sum to zero.
+-- account_id 0 is the external account on the other side of deposits, withdrawals and opening balances;
+-- it has no accounts row, so there is no foreign key.
+CREATE TABLE IF NOT EXISTS ledger_entries (
+    entry_id    BIGINT AUTO_INCREMENT PRIMARY KEY,
+    account_id  BIGINT NOT NULL,
+    amount      DECIMAL(19, 4) NOT NULL,
+    source_type VARCHAR(20) NOT NULL,
+    source_id   BIGINT NOT NULL,
+    posted_at   TIMESTAMP NOT NULL
+);
+
+-- LedgerDAO.getBalance and reconciliation: seek the account, sum the entries after its snapshot from the index alone
+CREATE INDEX idx_ledger_entries_account ON ledger_entries (account_id, entry_id, amount);
+-- LedgerDAO.takeSnapshot: oldest entry that has not settled yet
+CREATE INDEX idx_ledger_entries_posted ON ledger_entries (posted_at, entry_id);
+-- A source event (transfer, transaction, opening balance) is posted to each account at most once
+CREATE UNIQUE INDEX uq_ledger_entries_source ON ledger_entries (source_type, source_id, account_id);
+
+-- Balance of an account as of entry_id (all of its entries <= entry_id), written by LedgerDAO.takeSnapshot.
+CREATE TABLE IF NOT EXISTS ledger_snapshots (
+    account_id BIGINT NOT NULL,
+    entry_id   BIGINT NOT NULL,
+    balance    DECIMAL(19, 4) NOT NULL,
+    taken_at   TIMESTAMP NOT NULL,
+    PRIMARY KEY (account_id, entry_id)
+);
+
+-- LedgerDAO.takeSnapshot: entry covered by the previous run
+CREATE INDEX idx_ledger_snapshots_entry ON ledger_snapshots (entry_id);
+
+-- Opening balances for accounts that exist before the ledger, against the external account.
+INSERT INTO ledger_entries (account_id, amount, source_type, source_id, posted_at)
+SELECT account_id, balance, 'OPENING', account_id, CURRENT_TIMESTAMP FROM accounts WHERE balance <> 0;
+INSERT INTO ledger_entries (account_id, amount, source_type, source_id, posted_at)
+SELECT 0, -balance, 'OPENING', account_id, CURRENT_TIMESTAMP FROM accounts WHERE balance <> 0;
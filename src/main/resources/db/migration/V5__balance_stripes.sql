@@ -0,0 +1,18 @@
+-- Sub-balance striping for hot accounts (see AccountDAO.setBalanceStripes).
+-- A striped account's balance is accounts.balance plus the balances of its stripe rows, and its version is
+-- accounts.version plus the stripe versions. Deposits add to one stripe row, so concurrent deposits to the
+-- same account lock different rows instead of queueing on the accounts row.
+-- balance_stripes is the number of stripe rows; 0 means the account is not striped.
+ALTER TABLE accounts ADD COLUMN balance_stripes INT NOT NULL DEFAULT 0;
+
+CREATE TABLE IF NOT EXISTS account_balance_stripes (
+    account_id BIGINT NOT NULL,
+    stripe     INT NOT NULL,
+    balance    DECIMAL(19, 4) NOT NULL DEFAULT 0,
+    version    BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (account_id, stripe),
+    CONSTRAINT fk_account_balance_stripes_account FOREIGN KEY (account_id) REFERENCES accounts (account_id) ON DELETE CASCADE
+);
+
+-- Striped account ids, reloaded periodically by every AccountDAOImpl
+CREATE INDEX idx_accounts_stripes ON accounts (balance_stripes);
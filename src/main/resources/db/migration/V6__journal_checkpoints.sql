@@ -0,0 +1,8 @@
+-- Highest journal sequence number whose postings are in the database, per write-behind journal
+-- (see BalanceEngine). Advanced in the same transaction as the rows it covers, so after a crash
+-- exactly the journal entries above it are replayed.
+CREATE TABLE IF NOT EXISTS journal_checkpoints (
+    journal       VARCHAR(100) PRIMARY KEY,
+    last_sequence BIGINT NOT NULL,
+    updated_at    TIMESTAMP NOT NULL
+);
@@ -0,0 +1,3 @@
+-- LedgerDAO.takeSnapshot now cuts snapshots by entry id rather than by posted_at, so nothing reads
+-- this index any more; drop it to save the extra write on every posting.
+DROP INDEX idx_ledger_entries_posted ON ledger_entries;
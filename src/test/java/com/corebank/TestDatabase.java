@@ -0,0 +1,75 @@
+package com.corebank;
+
+import com.corebank.dao.impl.AccountDAOImpl;
+import com.corebank.dao.impl.CustomerDAOImpl;
+import com.corebank.db.DBConnectionManager;
+import com.corebank.model.Account;
+import com.corebank.model.Customer;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Points DBConnectionManager at an in-memory H2 database in MySQL mode (through the db.* system
+ * property overrides), like the benchmarks' BenchmarkDatabase. All test classes in a JVM share the
+ * database, so each test seeds its own customers and accounts rather than truncating.
+ */
+public final class TestDatabase {
+
+    public static final String URL =
+            "jdbc:h2:mem:corebank_test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000";
+
+    public static final int POOL_SIZE = 4;
+
+    private static final AtomicInteger customers = new AtomicInteger();
+    private static boolean started;
+
+    private TestDatabase() {
+    }
+
+    public static synchronized DBConnectionManager start() {
+        if (!started) {
+            System.setProperty("db.url", URL);
+            System.setProperty("db.username", "sa");
+            System.setProperty("db.password", "");
+            // Fewer connections than the concurrent tests run threads: a call that borrows a second
+            // connection while holding one starves the pool and fails on the connection timeout.
+            System.setProperty("db.maximumPoolSize", String.valueOf(POOL_SIZE));
+            System.setProperty("db.minimumIdle", "2");
+            started = true;
+        }
+        return DBConnectionManager.getInstance();
+    }
+
+    public static Customer customer() {
+        int n = customers.incrementAndGet();
+        Customer customer = new Customer("First" + n, "Last" + n, LocalDate.of(1980, 1, 1).plusDays(n),
+                "customer" + n + "@test.local", "+200000" + n, n + " Test Street", LocalDateTime.now());
+        return new CustomerDAOImpl().registerCustomer(customer);
+    }
+
+    public static Account account(BigDecimal balance) throws SQLException {
+        Account account = new Account(customer(), Account.AccountType.CHECKING, balance, Account.Status.ACTIVE, LocalDateTime.now());
+        new AccountDAOImpl().addAccount(account);
+        return account;
+    }
+
+    // Single-value query, e.g. a COUNT or SUM; null for no row.
+    public static BigDecimal queryDecimal(String sql, Object... parameters) throws SQLException {
+        try (Connection connection = DBConnectionManager.getInstance().getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                statement.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() ? rs.getBigDecimal(1) : null;
+            }
+        }
+    }
+}
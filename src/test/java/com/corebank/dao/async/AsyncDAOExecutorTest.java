@@ -0,0 +1,71 @@
+package com.corebank.dao.async;
+
+import com.corebank.TestDatabase;
+import com.corebank.dao.impl.AlertDAOImpl;
+import com.corebank.dao.impl.LoanDAOImpl;
+import com.corebank.dao.impl.TransactionDAOImpl;
+import com.corebank.model.Account;
+import com.corebank.model.Alert;
+import com.corebank.model.Loan;
+import com.corebank.model.Transaction;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AsyncDAOExecutorTest {
+
+    private static final int CALLS = 8 * TestDatabase.POOL_SIZE;
+
+    @BeforeAll
+    static void startDatabase() {
+        TestDatabase.start();
+    }
+
+    // The default executor hands out a permit per pooled connection, so every permit holder must map
+    // its rows, parents included, on the one connection it borrowed. A mapper that borrowed a second
+    // connection would leave all of them waiting and the calls would fail on the connection timeout.
+    @Test
+    void readsWithParentsCompleteWithAPermitPerConnection() throws Exception {
+        Account account = TestDatabase.account(new BigDecimal("100.00"));
+        long accountId = account.getAccountId();
+        long customerId = account.getCustomer().getCustomerId();
+        AlertDAOImpl alertDAO = new AlertDAOImpl();
+        LoanDAOImpl loanDAO = new LoanDAOImpl();
+        TransactionDAOImpl transactionDAO = new TransactionDAOImpl();
+        alertDAO.createAlert(new Alert(account, null, "LOW_BALANCE", "Balance below threshold",
+                Alert.Status.PENDING, LocalDateTime.now()));
+        loanDAO.addLoan(new Loan(account.getCustomer(), new BigDecimal("500.00"), new BigDecimal("0.0500"),
+                LocalDate.now(), LocalDate.now().plusYears(1), Loan.Status.PENDING));
+        transactionDAO.createTransaction(new Transaction(account, Transaction.Type.DEPOSIT,
+                new BigDecimal("10.00"), LocalDateTime.now()));
+
+        try (AsyncDAOExecutor executor = new AsyncDAOExecutor()) {
+            assertEquals(TestDatabase.POOL_SIZE, executor.getMaxConcurrency());
+            AsyncAlertDAO alerts = new AsyncAlertDAOImpl(alertDAO, executor);
+            AsyncLoanDAO loans = new AsyncLoanDAOImpl(loanDAO, executor);
+            AsyncTransactionDAO transactions = new AsyncTransactionDAOImpl(transactionDAO, executor);
+
+            List<CompletableFuture<Long>> customerIds = new ArrayList<>();
+            for (int i = 0; i < CALLS; i++) {
+                customerIds.add(alerts.getAlertsByAccountId(accountId)
+                        .thenApply(found -> found.get(0).getAccount().getCustomer().getCustomerId()));
+                customerIds.add(loans.getLoansByCustomer(customerId)
+                        .thenApply(found -> found.get(0).getCustomer().getCustomerId()));
+                customerIds.add(transactions.getTransactionsByAccountId(accountId)
+                        .thenApply(found -> found.get(0).getAccount().getCustomer().getCustomerId()));
+            }
+            for (CompletableFuture<Long> found : customerIds) {
+                assertEquals(customerId, found.get(1, TimeUnit.MINUTES));
+            }
+        }
+    }
+}
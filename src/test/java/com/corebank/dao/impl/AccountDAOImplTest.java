@@ -0,0 +1,54 @@
+package com.corebank.dao.impl;
+
+import com.corebank.TestDatabase;
+import com.corebank.db.DBConnectionManager;
+import com.corebank.model.Account;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AccountDAOImplTest {
+
+    private final AccountDAOImpl accountDAO = new AccountDAOImpl();
+
+    @BeforeAll
+    static void startDatabase() {
+        TestDatabase.start();
+    }
+
+    // Credits land on the stripes, so every read path has to add them to the accounts row: the plain reads
+    // in their own statement, the locking read on the same connection after taking the row.
+    @Test
+    void everyReadOfAStripedAccountIncludesItsStripes() throws Exception {
+        Account account = TestDatabase.account(new BigDecimal("100.00"));
+        long accountId = account.getAccountId();
+        accountDAO.setBalanceStripes(accountId, 4);
+        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+            for (int i = 0; i < 8; i++) {
+                accountDAO.adjustBalance(accountId, new BigDecimal("2.50"), connection);
+            }
+        }
+        assertEquals(0, new BigDecimal("20.00").compareTo(TestDatabase.queryDecimal(
+                "SELECT SUM(balance) FROM account_balance_stripes WHERE account_id = ?", accountId)));
+        BigDecimal expected = new BigDecimal("120.00");
+
+        Account read = accountDAO.getAccountById(accountId).orElseThrow();
+        assertEquals(0, expected.compareTo(read.getBalance()));
+        assertEquals(0, expected.compareTo(accountDAO.getAccountsByIds(List.of(accountId)).get(accountId).getBalance()));
+        assertEquals(0, expected.compareTo(
+                accountDAO.getAccountsByCustomerId(account.getCustomer().getCustomerId()).get(0).getBalance()));
+
+        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+            connection.setAutoCommit(false);
+            Account locked = accountDAO.getAccountByIdForUpdate(accountId, connection).orElseThrow();
+            connection.rollback();
+            assertEquals(0, expected.compareTo(locked.getBalance()));
+            assertEquals(read.getVersion(), locked.getVersion());
+        }
+    }
+}
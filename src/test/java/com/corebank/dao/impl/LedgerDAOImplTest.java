@@ -0,0 +1,87 @@
+package com.corebank.dao.impl;
+
+import com.corebank.TestDatabase;
+import com.corebank.db.DBConnectionManager;
+import com.corebank.model.Account;
+import com.corebank.model.LedgerEntry;
+import com.corebank.model.Transaction;
+import com.corebank.service.impl.LedgerServiceImpl;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LedgerDAOImplTest {
+
+    private final AccountDAOImpl accountDAO = new AccountDAOImpl();
+    // Three ids per window, so one run spans several snapshot transactions.
+    private final LedgerDAOImpl ledgerDAO = new LedgerDAOImpl(3);
+    private final LedgerServiceImpl ledgerService = new LedgerServiceImpl(accountDAO, new TransactionDAOImpl(), ledgerDAO);
+
+    @BeforeAll
+    static void startDatabase() {
+        TestDatabase.start();
+    }
+
+    @Test
+    void windowedSnapshotsBuildOnEachOtherAndStopBelowTheNewestEntry() throws Exception {
+        long a = open("100.00");
+        long b = open("200.00");
+        for (int i = 0; i < 4; i++) {
+            ledgerService.deposit(a, new BigDecimal("10.00"));
+            ledgerService.deposit(b, new BigDecimal("1.00"));
+        }
+
+        assertTrue(ledgerDAO.takeSnapshot() > 0);
+        BigDecimal snapshots = TestDatabase.queryDecimal("SELECT COUNT(*) FROM ledger_snapshots WHERE account_id = ?", a);
+        assertTrue(snapshots.intValue() > 1, "snapshots of " + a + ": " + snapshots);
+        BigDecimal newestEntry = TestDatabase.queryDecimal("SELECT MAX(entry_id) FROM ledger_entries");
+        BigDecimal newestSnapshot = TestDatabase.queryDecimal("SELECT MAX(entry_id) FROM ledger_snapshots");
+        assertTrue(newestSnapshot.compareTo(newestEntry) < 0, "snapshot at " + newestSnapshot + " of " + newestEntry);
+
+        assertEquals(0, new BigDecimal("140.00").compareTo(ledgerDAO.getBalance(a)));
+        assertEquals(0, new BigDecimal("204.00").compareTo(ledgerDAO.getBalance(b)));
+
+        // A second run picks up the entry the first left behind, plus the new ones.
+        ledgerService.deposit(b, new BigDecimal("1.00"));
+        ledgerDAO.takeSnapshot();
+        assertEquals(0, new BigDecimal("140.00").compareTo(ledgerDAO.getBalance(a)));
+        assertEquals(0, new BigDecimal("205.00").compareTo(ledgerDAO.getBalance(b)));
+    }
+
+    @Test
+    void batchedPostingsWriteADebitAndACreditPerSource() throws Exception {
+        Account account = accountDAO.getAccountById(open("0.00")).orElseThrow();
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            transactions.add(new Transaction(account, Transaction.Type.DEPOSIT, new BigDecimal(i + ".00"), LocalDateTime.now()));
+        }
+        transactions.add(new Transaction(account, Transaction.Type.WITHDRAWAL, new BigDecimal("2.50"), LocalDateTime.now()));
+        try (Connection connection = DBConnectionManager.getInstance().getConnection()) {
+            new TransactionDAOImpl().createTransactions(transactions, connection);
+            ledgerDAO.postTransactions(transactions, connection);
+        }
+
+        for (Transaction transaction : transactions) {
+            LedgerEntry.Source source = (transaction.getType() == Transaction.Type.DEPOSIT)
+                    ? LedgerEntry.Source.DEPOSIT : LedgerEntry.Source.WITHDRAWAL;
+            List<LedgerEntry> entries = ledgerDAO.getEntries(source, transaction.getTransactionId());
+            assertEquals(2, entries.size(), "entries of " + transaction.getTransactionId());
+            assertEquals(0, entries.get(0).amount().add(entries.get(1).amount()).signum());
+        }
+        assertEquals(0, new BigDecimal("3.50").compareTo(ledgerDAO.getBalance(account.getAccountId())));
+    }
+
+    private long open(String balance) throws Exception {
+        Account account = new Account(TestDatabase.customer(), Account.AccountType.CHECKING, new BigDecimal(balance),
+                Account.Status.ACTIVE, LocalDateTime.now());
+        return ledgerService.openAccount(account).getAccountId();
+    }
+}
@@ -0,0 +1,110 @@
+package com.corebank.db;
+
+import com.corebank.exception.DataAccessException;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs the real db/migration scripts against a fresh embedded H2 database per test.
+class SchemaMigratorTest {
+
+    private static final AtomicInteger databases = new AtomicInteger();
+
+    private JdbcDataSource dataSource;
+    private SchemaMigrator migrator;
+
+    @BeforeEach
+    void createDatabase() {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:migrator_" + databases.incrementAndGet() +
+                ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        dataSource.setPassword("");
+        migrator = new SchemaMigrator(dataSource);
+    }
+
+    @Test
+    void everyRequiredIndexExistsAfterMigrating() throws SQLException {
+        migrator.migrate();
+
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (Map.Entry<String, List<String>> entry : SchemaMigrator.REQUIRED_INDEXES.entrySet()) {
+                Set<String> present = indexNames(metaData, entry.getKey());
+                for (String index : entry.getValue()) {
+                    assertTrue(present.contains(index), entry.getKey() + "." + index + " is missing; found " + present);
+                }
+            }
+        }
+        migrator.verifyIndexes();
+    }
+
+    @Test
+    void migratingTwiceAppliesEachScriptOnce() throws SQLException {
+        migrator.migrate();
+        migrator.migrate();
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*), COUNT(DISTINCT version) FROM schema_version")) {
+            rs.next();
+            assertEquals(rs.getInt(2), rs.getInt(1));
+            assertEquals(scriptCount(), rs.getLong(1));
+        }
+    }
+
+    @Test
+    void verifyIndexesFailsWhenAnIndexIsMissing() throws SQLException {
+        migrator.migrate();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            // Not one H2 could be using for a foreign key, which it would refuse to drop.
+            statement.execute("DROP INDEX idx_alerts_status");
+        }
+
+        DataAccessException failure = assertThrows(DataAccessException.class, migrator::verifyIndexes);
+        assertTrue(failure.getMessage().contains("alerts.idx_alerts_status"), failure.getMessage());
+    }
+
+    private static long scriptCount() {
+        try (InputStream input = SchemaMigratorTest.class.getClassLoader().getResourceAsStream("db/migration/migrations.txt")) {
+            String listing = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+            return listing.lines().map(String::trim).filter(line -> line.endsWith(".sql")).count();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Set<String> indexNames(DatabaseMetaData metaData, String table) throws SQLException {
+        Set<String> names = new HashSet<>();
+        try (ResultSet rs = metaData.getIndexInfo(null, null, table, false, true)) {
+            while (rs.next()) {
+                String name = rs.getString("INDEX_NAME");
+                if (name != null) {
+                    names.add(name.toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return names;
+    }
+}
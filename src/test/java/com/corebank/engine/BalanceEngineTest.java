@@ -0,0 +1,195 @@
+package com.corebank.engine;
+
+import com.corebank.TestDatabase;
+import com.corebank.dao.JournalCheckpointDAO;
+import com.corebank.dao.impl.AccountDAOImpl;
+import com.corebank.dao.impl.JournalCheckpointDAOImpl;
+import com.corebank.dao.impl.LedgerDAOImpl;
+import com.corebank.dao.impl.TransactionDAOImpl;
+import com.corebank.dao.impl.TransferDAOImpl;
+import com.corebank.exception.ValidationException;
+import com.corebank.model.Account;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BalanceEngineTest {
+
+    // Checkpoints are kept per engine name in the shared database.
+    private static final AtomicInteger engines = new AtomicInteger();
+
+    private final AccountDAOImpl accountDAO = new AccountDAOImpl();
+
+    @TempDir
+    Path directory;
+
+    @BeforeAll
+    static void startDatabase() {
+        TestDatabase.start();
+    }
+
+    // The first engine journals and acknowledges postings it cannot flush, as during a database outage,
+    // and stops with them in its journal. The next start replays them; the one after replays nothing.
+    @Test
+    void restartReplaysUnflushedPostingsExactlyOnce() throws Exception {
+        long a = TestDatabase.account(new BigDecimal("100.00")).getAccountId();
+        long b = TestDatabase.account(new BigDecimal("50.00")).getAccountId();
+        String name = name();
+
+        try (BalanceEngine down = new BalanceEngine(name, directory, accountDAO, new TransactionDAOImpl(),
+                new TransferDAOImpl(), new LedgerDAOImpl(), new UnwritableCheckpoints(),
+                BalanceEngine.DEFAULT_MAX_GROUP_SIZE, BalanceEngine.DEFAULT_MAX_PENDING)) {
+            assertEquals(11_000, down.deposit(a, 1_000).join());
+            assertTrue(down.withdraw(a, 250).join());
+            assertTrue(down.transfer(a, b, 500).join());
+            assertEquals(3, down.getUnflushedCount());
+        }
+        assertBalance(a, "100.00");
+        assertBalance(b, "50.00");
+
+        try (BalanceEngine up = new BalanceEngine(name, directory)) {
+            assertEquals(0, up.getUnflushedCount());
+        }
+        assertBalance(a, "102.50");
+        assertBalance(b, "55.00");
+        assertRows(a, 3, 3);
+
+        try (BalanceEngine again = new BalanceEngine(name, directory)) {
+            assertEquals(10_250, again.balance(a).join());
+            assertEquals(5_500, again.balance(b).join());
+        }
+        assertBalance(a, "102.50");
+        assertRows(a, 3, 3);
+    }
+
+    // Requests for an account that is still loading wait for it in arrival order, so the withdrawal
+    // sees the deposit queued before it. a's load is held back until c's is done: the transfer then
+    // waits for a, and the later balance read of c must wait behind it rather than overtake it.
+    @Test
+    void requestsParkedOnALoadRunInArrivalOrder() throws Exception {
+        long a = TestDatabase.account(new BigDecimal("100.00")).getAccountId();
+        long c = TestDatabase.account(BigDecimal.ZERO).getAccountId();
+        CountDownLatch loadA = new CountDownLatch(1);
+        AccountDAOImpl slowLoads = new AccountDAOImpl() {
+            @Override
+            public Optional<Account> getAccountById(long accountId) {
+                if (accountId == a) {
+                    try {
+                        loadA.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return super.getAccountById(accountId);
+            }
+        };
+
+        try (BalanceEngine engine = new BalanceEngine(name(), directory, slowLoads, new TransactionDAOImpl(),
+                new TransferDAOImpl(), new LedgerDAOImpl(), new JournalCheckpointDAOImpl(),
+                BalanceEngine.DEFAULT_MAX_GROUP_SIZE, BalanceEngine.DEFAULT_MAX_PENDING)) {
+            CompletableFuture<Long> deposit = engine.deposit(a, 10_000);
+            CompletableFuture<Boolean> withdrawal = engine.withdraw(a, 15_000);
+            CompletableFuture<Long> balance = engine.balance(a);
+            CompletableFuture<Boolean> transfer = engine.transfer(a, c, 5_000);
+            CompletableFuture<Long> toBalance = engine.balance(c);
+
+            Thread.sleep(200);
+            assertFalse(toBalance.isDone(), "balance of c overtook the transfer into it");
+            loadA.countDown();
+
+            assertEquals(20_000, deposit.join());
+            assertTrue(withdrawal.join());
+            assertEquals(5_000, balance.join());
+            assertTrue(transfer.join());
+            assertEquals(5_000, toBalance.join());
+            assertEquals(0, engine.balance(a).join());
+        }
+        assertBalance(a, "0.00");
+        assertBalance(c, "50.00");
+    }
+
+    @Test
+    void postingsToAnAccountThatIsNotActiveAreRefused() throws Exception {
+        long active = TestDatabase.account(new BigDecimal("100.00")).getAccountId();
+        Account closed = new Account(TestDatabase.customer(), Account.AccountType.CHECKING, new BigDecimal("100.00"),
+                Account.Status.INACTIVE, LocalDateTime.now());
+        accountDAO.addAccount(closed);
+        long inactive = closed.getAccountId();
+
+        try (BalanceEngine engine = new BalanceEngine(name(), directory)) {
+            assertNotActive(engine.deposit(inactive, 100));
+            assertNotActive(engine.withdraw(inactive, 100));
+            assertNotActive(engine.transfer(active, inactive, 100));
+            assertNotActive(engine.transfer(inactive, active, 100));
+            assertEquals(10_000, engine.balance(inactive).join());
+            assertEquals(10_100, engine.deposit(active, 100).join());
+        }
+        assertBalance(inactive, "100.00");
+        assertBalance(active, "101.00");
+    }
+
+    @Test
+    void accountIdsBelowOneAreRejectedBeforeTheyAreQueued() throws Exception {
+        try (BalanceEngine engine = new BalanceEngine(name(), directory)) {
+            assertThrows(IllegalArgumentException.class, () -> engine.deposit(0, 100));
+            assertThrows(IllegalArgumentException.class, () -> engine.withdraw(-1, 100));
+            assertThrows(IllegalArgumentException.class, () -> engine.transfer(0, 1, 100));
+            assertThrows(IllegalArgumentException.class, () -> engine.balance(0));
+            assertEquals(0, engine.getAppliedCount());
+        }
+    }
+
+    private static String name() {
+        return "test-" + engines.incrementAndGet();
+    }
+
+    private void assertBalance(long accountId, String expected) throws SQLException {
+        BigDecimal balance = accountDAO.getAccountById(accountId).orElseThrow().getBalance();
+        assertEquals(0, new BigDecimal(expected).compareTo(balance), "balance of " + accountId + ": " + balance);
+    }
+
+    private static void assertRows(long accountId, int transactions, int ledgerEntries) throws SQLException {
+        assertEquals(transactions, TestDatabase.queryDecimal(
+                "SELECT COUNT(*) FROM transactions WHERE account_id = ?", accountId).intValue());
+        assertEquals(ledgerEntries, TestDatabase.queryDecimal(
+                "SELECT COUNT(*) FROM ledger_entries WHERE account_id = ?", accountId).intValue());
+    }
+
+    private static void assertNotActive(CompletableFuture<?> request) {
+        CompletionException e = assertThrows(CompletionException.class, request::join);
+        assertInstanceOf(ValidationException.class, e.getCause());
+    }
+
+    // Every flush fails on the checkpoint, so the whole flush transaction rolls back.
+    private static final class UnwritableCheckpoints implements JournalCheckpointDAO {
+
+        private final JournalCheckpointDAO delegate = new JournalCheckpointDAOImpl();
+
+        @Override
+        public long getLastSequence(String journal) throws SQLException {
+            return delegate.getLastSequence(journal);
+        }
+
+        @Override
+        public void setLastSequence(String journal, long sequence, Connection connection) throws SQLException {
+            throw new SQLException("Checkpoint store unavailable");
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.corebank.engine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostingJournalTest {
+
+    private static final String NAME = "test";
+    // A handful of records per segment, so a few dozen postings roll several times.
+    private static final int SMALL_SEGMENT = 128;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void postingsSurviveAReopen() throws IOException {
+        List<Posting> written = new ArrayList<>();
+        try (PostingJournal journal = new PostingJournal(directory, NAME)) {
+            for (long sequence = 1; sequence <= 3; sequence++) {
+                written.add(append(journal, sequence));
+            }
+            written.add(appendTransfer(journal, 4));
+            journal.sync();
+        }
+
+        try (PostingJournal journal = new PostingJournal(directory, NAME)) {
+            assertEquals(4, journal.lastSequence());
+            assertEquals(written, journal.readAfter(0));
+            assertEquals(written.subList(2, 4), journal.readAfter(2));
+        }
+    }
+
+    // A crash mid-append leaves a record header whose payload never made it to disk.
+    @Test
+    void replayStopsAtATornTailAndAppendingOverwritesIt() throws IOException {
+        try (PostingJournal journal = new PostingJournal(directory, NAME)) {
+            for (long sequence = 1; sequence <= 5; sequence++) {
+                append(journal, sequence);
+            }
+            journal.sync();
+        }
+        Path segment = onlySegment();
+        int end = recordStarts(segment).get(6);
+        write(segment, end, ByteBuffer.allocate(8).putInt(20).putInt(0x5EED).flip());
+
+        try (PostingJournal journal = new PostingJournal(directory, NAME)) {
+            assertEquals(5, journal.lastSequence());
+            assertEquals(5, journal.readAfter(0).size());
+            append(journal, 6);
+            journal.sync();
+        }
+        try (PostingJournal journal = new PostingJournal(directory, NAME)) {
+            assertEquals(sequences(1, 6), sequencesOf(journal.readAfter(0)));
+        }
+    }
+
+    @Test
+    void replayStopsAtARecordThatFailsItsCrc() throws IOException {
+        try (PostingJournal journal = new PostingJournal(directory, NAME)) {
+            for (long sequence = 1; sequence <= 5; sequence++) {
+                append(journal, sequence);
+            }
+            journal.sync();
+        }
+        Path segment = onlySegment();
+        // Last payload byte of record 3: its postedAt varint.
+        int corrupt = recordStarts(segment).get(4) - 1;
+        ByteBuffer b = ByteBuffer.allocate(1);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            channel.read(b, corrupt);
+        }
+        write(segment, corrupt, ByteBuffer.allocate(1).put(0, (byte) (b.get(0) ^ 0x01)));
+
+        try (PostingJournal journal = new PostingJournal(directory, NAME)) {
+            assertEquals(2, journal.lastSequence());
+            assertEquals(sequences(1, 2), sequencesOf(journal.readAfter(0)));
+            append(journal, 3);
+            journal.sync();
+        }
+        try (PostingJournal journal = new PostingJournal(directory, NAME)) {
+            assertEquals(sequences(1, 3), sequencesOf(journal.readAfter(0)));
+        }
+    }
+
+    @Test
+    void segmentsRollAndFlushedOnesAreDeleted() throws IOException {
+        try (PostingJournal journal = new PostingJournal(directory, NAME, SMALL_SEGMENT)) {
+            for (long sequence = 1; sequence <= 40; sequence++) {
+                append(journal, sequence);
+                journal.sync();
+            }
+            int rolled = journal.segmentCount();
+            assertTrue(rolled > 3, "segments: " + rolled);
+            assertEquals(rolled, segmentFiles().size());
+            assertEquals(sequences(1, 40), sequencesOf(journal.readAfter(0)));
+
+            journal.deleteThrough(20);
+            assertTrue(journal.segmentCount() < rolled);
+            assertEquals(journal.segmentCount(), segmentFiles().size());
+            assertEquals(sequences(21, 40), sequencesOf(journal.readAfter(20)));
+            // The segment holding 21 is kept whole, so it may still start below it.
+            assertTrue(journal.readAfter(0).get(0).sequence() <= 21);
+        }
+        try (PostingJournal journal = new PostingJournal(directory, NAME, SMALL_SEGMENT)) {
+            assertEquals(40, journal.lastSequence());
+            assertEquals(sequences(21, 40), sequencesOf(journal.readAfter(20)));
+        }
+    }
+
+    // What the engine does when a group's write fails: the group's records must not come back on replay.
+    @Test
+    void truncateAfterDropsLaterRecordsAndSegments() throws IOException {
+        try (PostingJournal journal = new PostingJournal(directory, NAME, SMALL_SEGMENT)) {
+            for (long sequence = 1; sequence <= 30; sequence++) {
+                append(journal, sequence);
+            }
+            journal.sync();
+            int rolled = journal.segmentCount();
+
+            journal.truncateAfter(7);
+            assertEquals(7, journal.lastSequence());
+            assertTrue(journal.segmentCount() < rolled);
+            assertEquals(journal.segmentCount(), segmentFiles().size());
+            assertEquals(sequences(1, 7), sequencesOf(journal.readAfter(0)));
+
+            append(journal, 8);
+            journal.sync();
+        }
+        try (PostingJournal journal = new PostingJournal(directory, NAME, SMALL_SEGMENT)) {
+            assertEquals(8, journal.lastSequence());
+            assertEquals(sequences(1, 8), sequencesOf(journal.readAfter(0)));
+        }
+    }
+
+    @Test
+    void startAtContinuesNumberingInANewSegment() throws IOException {
+        try (PostingJournal journal = new PostingJournal(directory, NAME)) {
+            journal.startAt(101);
+            append(journal, 101);
+            journal.sync();
+        }
+        try (PostingJournal journal = new PostingJournal(directory, NAME)) {
+            assertEquals(101, journal.lastSequence());
+            assertEquals(List.of(101L), sequencesOf(journal.readAfter(100)));
+        }
+    }
+
+    private static Posting append(PostingJournal journal, long sequence) throws IOException {
+        Posting posting = (sequence % 2 == 0)
+                ? Posting.withdrawal(sequence, 7, 250, 1_700_000_000_000L + sequence)
+                : Posting.deposit(sequence, 7, 1_000 * sequence, 1_700_000_000_000L + sequence);
+        journal.append(posting);
+        return posting;
+    }
+
+    private static Posting appendTransfer(PostingJournal journal, long sequence) throws IOException {
+        Posting posting = Posting.transfer(sequence, 7, 8, 125, 1_700_000_000_000L + sequence);
+        journal.append(posting);
+        return posting;
+    }
+
+    private Path onlySegment() throws IOException {
+        List<Path> files = segmentFiles();
+        assertEquals(1, files.size());
+        return files.get(0);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, NAME + "-*.journal")) {
+            stream.forEach(files::add);
+        }
+        return files;
+    }
+
+    // Offset of each record by sequence (1-based), plus the offset just past the last one.
+    private static List<Integer> recordStarts(Path segment) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment));
+        List<Integer> starts = new ArrayList<>();
+        starts.add(-1);
+        while (buffer.remaining() >= 4) {
+            starts.add(buffer.position());
+            int length = buffer.getInt();
+            if (length == 0) {
+                break;
+            }
+            buffer.position(buffer.position() + Integer.BYTES + length);
+        }
+        return starts;
+    }
+
+    private static void write(Path file, int position, ByteBuffer bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(bytes, position);
+            channel.force(true);
+        }
+    }
+
+    private static List<Long> sequences(long from, long to) {
+        List<Long> sequences = new ArrayList<>();
+        for (long sequence = from; sequence <= to; sequence++) {
+            sequences.add(sequence);
+        }
+        return sequences;
+    }
+
+    private static List<Long> sequencesOf(List<Posting> postings) {
+        return postings.stream().map(Posting::sequence).toList();
+    }
+}
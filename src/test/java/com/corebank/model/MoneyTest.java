@@ -0,0 +1,49 @@
+package com.corebank.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency JPY = Currency.getInstance("JPY");
+
+    @Test
+    void exactConversionAcceptsTrailingZerosOfTheColumnScale() {
+        assertEquals(1_250, Money.toMinorUnitsExact(new BigDecimal("12.5000"), USD));
+        assertEquals(-7, Money.toMinorUnitsExact(new BigDecimal("-0.07"), USD));
+        assertEquals(1_250, Money.toMinorUnitsExact(new BigDecimal("1250.0000"), JPY));
+    }
+
+    @Test
+    void exactConversionRejectsDigitsBelowTheMinorUnit() {
+        assertThrows(ArithmeticException.class, () -> Money.toMinorUnitsExact(new BigDecimal("12.3450"), USD));
+        assertThrows(ArithmeticException.class, () -> Money.toMinorUnitsExact(new BigDecimal("0.5"), JPY));
+    }
+
+    @Test
+    void ofRoundsHalfEven() {
+        assertEquals(1_234, Money.of(new BigDecimal("12.345"), USD).minorUnits());
+        assertEquals(1_236, Money.of(new BigDecimal("12.355"), USD).minorUnits());
+    }
+
+    @Test
+    void multiplyRoundsHalfEvenInBothSigns() {
+        // 5.25% a year for one day on 10,000.00.
+        assertEquals(144, Money.multiply(1_000_000, 525, 10_000 * 365));
+        assertEquals(2, Money.multiply(5, 1, 2));
+        assertEquals(-2, Money.multiply(-5, 1, 2));
+        assertEquals(4, Money.multiply(7, 1, 2));
+        assertEquals(-4, Money.multiply(7, 1, -2));
+    }
+
+    @Test
+    void currenciesDoNotMix() {
+        assertThrows(IllegalArgumentException.class, () -> Money.ofMinor(1, USD).plus(Money.ofMinor(1, JPY)));
+    }
+}
@@ -0,0 +1,99 @@
+package com.corebank.service.impl;
+
+import com.corebank.TestDatabase;
+import com.corebank.dao.impl.AccountDAOImpl;
+import com.corebank.dao.impl.LedgerDAOImpl;
+import com.corebank.dao.impl.TransactionDAOImpl;
+import com.corebank.dao.impl.TransferDAOImpl;
+import com.corebank.model.Account;
+import com.corebank.model.LedgerDiscrepancy;
+import com.corebank.model.LedgerEntry;
+import com.corebank.model.Transaction;
+import com.corebank.model.Transfer;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LedgerServiceImplTest {
+
+    private final AccountDAOImpl accountDAO = new AccountDAOImpl();
+    private final LedgerDAOImpl ledgerDAO = new LedgerDAOImpl();
+    private final LedgerServiceImpl ledgerService = new LedgerServiceImpl(accountDAO, new TransactionDAOImpl(), ledgerDAO);
+    private final TransferServiceImpl transferService =
+            new TransferServiceImpl(accountDAO, new TransferDAOImpl(), new TransactionDAOImpl());
+
+    @BeforeAll
+    static void startDatabase() {
+        TestDatabase.start();
+    }
+
+    @Test
+    void everyPostingDebitsWhatItCredits() throws Exception {
+        long a = open("500.00");
+        long b = open("200.00");
+        Transaction deposit = ledgerService.deposit(a, new BigDecimal("50.00"));
+        Transaction withdrawal = ledgerService.withdraw(b, new BigDecimal("20.00"));
+        Transfer transfer = transferService.transfer(a, b, new BigDecimal("30.00"));
+
+        assertBalanced(LedgerEntry.Source.OPENING, a);
+        assertBalanced(LedgerEntry.Source.OPENING, b);
+        assertBalanced(LedgerEntry.Source.DEPOSIT, deposit.getTransactionId());
+        assertBalanced(LedgerEntry.Source.WITHDRAWAL, withdrawal.getTransactionId());
+        assertBalanced(LedgerEntry.Source.TRANSFER, transfer.getTransferId());
+
+        // Every posting sums to zero, so the whole table does too, whatever other tests have posted.
+        assertEquals(0, BigDecimal.ZERO.compareTo(TestDatabase.queryDecimal("SELECT SUM(amount) FROM ledger_entries")));
+
+        assertLedgerMatches(a, "520.00");
+        assertLedgerMatches(b, "210.00");
+    }
+
+    @Test
+    void reconcileReportsBalanceWrittenAroundTheLedger() throws Exception {
+        long id = open("100.00");
+        ledgerService.deposit(id, new BigDecimal("10.00"));
+        assertTrue(discrepancy(ledgerService.reconcile(), id).isEmpty(), "posted through the ledger");
+
+        accountDAO.updateBalance(id, new BigDecimal("150.00"));
+        LedgerDiscrepancy discrepancy = discrepancy(ledgerService.reconcile(), id).orElseThrow();
+        assertEquals(0, new BigDecimal("150.00").compareTo(discrepancy.accountBalance()));
+        assertEquals(0, new BigDecimal("110.00").compareTo(discrepancy.ledgerBalance()));
+        assertEquals(0, new BigDecimal("40.00").compareTo(discrepancy.difference()));
+
+        // reconcile() snapshotted the account; later entries are added on top of the snapshot.
+        ledgerService.deposit(id, new BigDecimal("5.00"));
+        assertEquals(0, new BigDecimal("115.00").compareTo(ledgerService.getLedgerBalance(id)));
+    }
+
+    private long open(String balance) throws Exception {
+        Account account = new Account(TestDatabase.customer(), Account.AccountType.CHECKING, new BigDecimal(balance),
+                Account.Status.ACTIVE, LocalDateTime.now());
+        return ledgerService.openAccount(account).getAccountId();
+    }
+
+    private void assertBalanced(LedgerEntry.Source source, long sourceId) throws Exception {
+        List<LedgerEntry> entries = ledgerDAO.getEntries(source, sourceId);
+        assertEquals(2, entries.size(), source + " " + sourceId + " entries: " + entries);
+        BigDecimal debit = entries.get(0).amount();
+        BigDecimal credit = entries.get(1).amount();
+        assertTrue(debit.signum() < 0 && credit.signum() > 0, "debit then credit: " + entries);
+        assertEquals(0, debit.add(credit).signum(), "debit and credit differ: " + entries);
+    }
+
+    private void assertLedgerMatches(long accountId, String expected) throws Exception {
+        BigDecimal balance = accountDAO.getAccountById(accountId).orElseThrow().getBalance();
+        assertEquals(0, new BigDecimal(expected).compareTo(balance), "balance of " + accountId);
+        assertEquals(0, balance.compareTo(ledgerService.getLedgerBalance(accountId)), "ledger balance of " + accountId);
+    }
+
+    private static Optional<LedgerDiscrepancy> discrepancy(List<LedgerDiscrepancy> discrepancies, long accountId) {
+        return discrepancies.stream().filter(d -> d.accountId() == accountId).findFirst();
+    }
+}
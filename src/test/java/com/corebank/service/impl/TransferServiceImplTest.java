@@ -0,0 +1,103 @@
+package com.corebank.service.impl;
+
+import com.corebank.TestDatabase;
+import com.corebank.dao.impl.AccountDAOImpl;
+import com.corebank.dao.impl.TransactionDAOImpl;
+import com.corebank.dao.impl.TransferDAOImpl;
+import com.corebank.model.Account;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TransferServiceImplTest {
+
+    // Twice the pool: each transfer must get by on the one connection it holds.
+    private static final int THREADS = 2 * TestDatabase.POOL_SIZE;
+    private static final int TRANSFERS_PER_THREAD = 50;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+
+    private final AccountDAOImpl accountDAO = new AccountDAOImpl();
+    private final TransferServiceImpl transferService =
+            new TransferServiceImpl(accountDAO, new TransferDAOImpl(), new TransactionDAOImpl());
+
+    @BeforeAll
+    static void startDatabase() {
+        TestDatabase.start();
+    }
+
+    // Half the threads move A -> B and half B -> A, so every transfer contends for the same two rows.
+    @Test
+    void opposingTransfersConserveMoneyAndAllCommit() throws Exception {
+        long a = TestDatabase.account(OPENING_BALANCE).getAccountId();
+        long b = TestDatabase.account(OPENING_BALANCE).getAccountId();
+        BigDecimal total = OPENING_BALANCE.add(OPENING_BALANCE);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<BigDecimal> badTotals = new ArrayList<>();
+        try {
+            // Samples the committed total while the transfers run; one statement sees one snapshot.
+            Future<?> sampler = pool.submit(() -> {
+                start.await();
+                while (running.get()) {
+                    BigDecimal sampled = TestDatabase.queryDecimal(
+                            "SELECT SUM(balance) FROM accounts WHERE account_id IN (?, ?)", a, b);
+                    if (sampled.compareTo(total) != 0) {
+                        badTotals.add(sampled);
+                    }
+                }
+                return null;
+            });
+
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                long from = (t % 2 == 0) ? a : b;
+                long to = (t % 2 == 0) ? b : a;
+                workers.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < TRANSFERS_PER_THREAD; i++) {
+                        transferService.transfer(from, to, BigDecimal.ONE);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+
+            // get() rethrows any transfer that failed, e.g. a deadlock that outlasted the retries.
+            for (Future<?> worker : workers) {
+                worker.get(2, TimeUnit.MINUTES);
+            }
+            running.set(false);
+            sampler.get(1, TimeUnit.MINUTES);
+        } finally {
+            running.set(false);
+            pool.shutdownNow();
+        }
+
+        assertTrue(badTotals.isEmpty(), () -> "Total balance changed mid-run: " + badTotals);
+
+        Account accountA = accountDAO.getAccountById(a).orElseThrow();
+        Account accountB = accountDAO.getAccountById(b).orElseThrow();
+        assertEquals(0, total.compareTo(accountA.getBalance().add(accountB.getBalance())), "total balance");
+        // As many transfers went each way, so both accounts are back where they started.
+        assertEquals(0, OPENING_BALANCE.compareTo(accountA.getBalance()), "balance of A");
+        assertEquals(0, OPENING_BALANCE.compareTo(accountB.getBalance()), "balance of B");
+
+        BigDecimal transfers = TestDatabase.queryDecimal("SELECT COUNT(*) FROM transfers " +
+                "WHERE (from_account_id = ? AND to_account_id = ?) OR (from_account_id = ? AND to_account_id = ?)", a, b, b, a);
+        assertEquals(THREADS * TRANSFERS_PER_THREAD, transfers.intValue(), "committed transfers");
+    }
+}